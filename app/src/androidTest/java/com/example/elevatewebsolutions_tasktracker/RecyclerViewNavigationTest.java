@@ -23,6 +23,7 @@ import com.example.elevatewebsolutions_tasktracker.database.TaskDAO;
 import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 import com.example.elevatewebsolutions_tasktracker.database.UserDAO;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
 import com.example.elevatewebsolutions_tasktracker.database.entities.User;
 
 import org.hamcrest.core.AllOf;
@@ -136,8 +137,8 @@ public final class RecyclerViewNavigationTest {
             taskDao.deleteAllTasks();
 
             // Insert two tasks for this user
-            taskDao.insert(new Task("UI Test Task 1", "from test", "To Do", user.getId()));
-            taskDao.insert(new Task("UI Test Task 2", "from test", "In Progress", user.getId()));
+            taskDao.insert(new Task("UI Test Task 1", "from test", TaskStatus.TO_DO, user.getId()));
+            taskDao.insert(new Task("UI Test Task 2", "from test", TaskStatus.IN_PROGRESS, user.getId()));
         });
         f.get();
     }
@@ -12,7 +12,8 @@ import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import com.example.elevatewebsolutions_tasktracker.R;
-import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -43,7 +44,7 @@ public class TaskAdapterTest {
     @Test
     public void bind_bindsTitleDescriptionAndStatus() {
         // Arrange
-        Task t = new Task("Title A", "Desc A", "To Do", /*userId=*/ 1);
+        TaskSummary t = new TaskSummary(1, "Title A", TaskStatus.TO_DO, /*userId=*/ 1, "Desc A", 0, 0);
         adapter.updateTasks(Collections.singletonList(t));
 
         // Create holder and bind position 0
@@ -71,10 +72,10 @@ public class TaskAdapterTest {
 
     @Test
     public void click_notifiesListenerWithCorrectTask() {
-        Task t1 = new Task("Title 1", "Desc 1", "In Progress", 1);
+        TaskSummary t1 = new TaskSummary(1, "Title 1", TaskStatus.IN_PROGRESS, 1, "Desc 1", 0, 0);
 
         // Create adapter with click listener using the atomic reference
-        AtomicReference<Task> clicked = new AtomicReference<>(null);
+        AtomicReference<TaskSummary> clicked = new AtomicReference<>(null);
         TaskAdapter.OnTaskClickListener listener = clicked::set;
         adapter = TaskAdapter.create(listener);
 
@@ -0,0 +1,243 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upgrades a database seeded with 100k tasks at every old version to the current one,
+ * checking the data that comes out and how long the upgrade takes.
+ *
+ * Schemas before version 12 were never exported, so no old version goes through
+ * helper.createDatabase. Version 5, the first shipped release, is created from the DDL Room
+ * generated for its User, Task and Comment entities, the shape a fresh install had; later
+ * versions start from it and earlier ones from the version 1 user table. The result is
+ * validated against the exported version 12 schema in app/schemas.
+ */
+@RunWith(Parameterized.class)
+public class MigrationTest {
+
+    private static final String TAG = "MigrationTest";
+    private static final String TEST_DB = "migration-test";
+    private static final int LATEST_VERSION = 12;
+
+    private static final int USER_COUNT = 1_000;
+    private static final int TASK_COUNT = 100_000;
+    // one comment for every COMMENT_EVERY tasks
+    private static final int COMMENT_EVERY = 5;
+    // every FTS_EVERY-th task title carries the word the search check looks for
+    private static final int FTS_EVERY = 1_000;
+    private static final String[] LEGACY_STATUSES = {"To Do", "In Progress", "Complete", "closed"};
+
+    private static final int BASELINE_VERSION = 5;
+    // what Room created for the version 5 entities, column order and all
+    private static final String[] BASELINE_DDL = {
+            "CREATE TABLE IF NOT EXISTS `user_table` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `username` TEXT, "
+                    + "`password` TEXT, `passwordSalt` TEXT, `title` TEXT, `isAdmin` INTEGER, `createdTimestamp` INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS `task_table` (`taskId` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `title` TEXT, "
+                    + "`description` TEXT, `status` TEXT, `assignedUserId` INTEGER NOT NULL, FOREIGN KEY(`assignedUserId`) "
+                    + "REFERENCES `user_table`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_task_table_assignedUserId` ON `task_table` (`assignedUserId`)",
+            "CREATE TABLE IF NOT EXISTS `comment_table` (`commentId` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`taskId` INTEGER NOT NULL, `authorId` INTEGER NOT NULL, `text` TEXT, `timestamp` INTEGER NOT NULL, "
+                    + "FOREIGN KEY(`taskId`) REFERENCES `task_table`(`taskId`) ON UPDATE NO ACTION ON DELETE CASCADE , "
+                    + "FOREIGN KEY(`authorId`) REFERENCES `user_table`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )",
+            "CREATE INDEX IF NOT EXISTS `index_comment_table_taskId` ON `comment_table` (`taskId`)",
+            "CREATE INDEX IF NOT EXISTS `index_comment_table_authorId` ON `comment_table` (`authorId`)"
+    };
+
+    // generous for a mid-range device, the point is to catch a migration that turns quadratic
+    private static final long MIGRATION_BUDGET_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    @Parameterized.Parameters(name = "from version {0}")
+    public static Collection<Object[]> startVersions() {
+        List<Object[]> versions = new ArrayList<>();
+        for (int version = 1; version < LATEST_VERSION; version++) {
+            versions.add(new Object[]{version});
+        }
+        return versions;
+    }
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), TaskManagerDatabase.class);
+
+    private final int startVersion;
+    private Context context;
+
+    public MigrationTest(int startVersion) {
+        this.startVersion = startVersion;
+    }
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrateSeededDatabase_keepsDataWithinBudget() {
+        createSeededDatabase();
+
+        long start = System.nanoTime();
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true,
+                TaskManagerDatabase.ALL_MIGRATIONS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Log.i(TAG, "migrated " + startVersion + " -> " + LATEST_VERSION + " in " + elapsedMillis + "ms");
+
+        // the two spellings of "dup_user" collapse into one name and one renamed account
+        assertEquals(USER_COUNT + 2, count(db, "SELECT COUNT(*) FROM user_table"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM user_table WHERE username = 'DUP_USER'"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM user_table WHERE createdTimestamp = 0"));
+
+        if (startVersion >= 3) {
+            assertEquals(TASK_COUNT, count(db, "SELECT COUNT(*) FROM task_table"));
+            assertEquals("statuses should all be integer codes",
+                    0, count(db, "SELECT COUNT(*) FROM task_table WHERE typeof(status) != 'integer'"));
+            // "Complete" and the legacy "closed" both become COMPLETE
+            assertEquals(TASK_COUNT / 2, count(db, "SELECT COUNT(*) FROM task_table WHERE status = 2"));
+            assertEquals("completed tasks should be stamped for archiving",
+                    0, count(db, "SELECT COUNT(*) FROM task_table WHERE status = 2 AND completedAt = 0"));
+            assertEquals("every task should be searchable",
+                    TASK_COUNT / FTS_EVERY, count(db, "SELECT COUNT(*) FROM task_fts WHERE task_fts MATCH 'migrated'"));
+        }
+        if (startVersion >= 5) {
+            assertEquals(TASK_COUNT / COMMENT_EVERY, count(db, "SELECT COUNT(*) FROM comment_table"));
+        }
+        try (Cursor cursor = db.query("PRAGMA foreign_key_check")) {
+            assertFalse("migrated rows should keep valid parents", cursor.moveToFirst());
+        }
+
+        assertTrue("migration from version " + startVersion + " took " + elapsedMillis + "ms",
+                elapsedMillis < MIGRATION_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates TEST_DB at startVersion and fills it in one transaction, with the column
+     * shapes that version had
+     */
+    private void createSeededDatabase() {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration
+                .builder(context)
+                .name(TEST_DB)
+                .callback(new SupportSQLiteOpenHelper.Callback(startVersion) {
+                    @Override
+                    public void onCreate(SupportSQLiteDatabase db) {
+                        int createdVersion;
+                        if (startVersion >= BASELINE_VERSION) {
+                            for (String statement : BASELINE_DDL) {
+                                db.execSQL(statement);
+                            }
+                            createdVersion = BASELINE_VERSION;
+                        } else {
+                            db.execSQL("CREATE TABLE IF NOT EXISTS `user_table` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                                    + "`username` TEXT, `password` TEXT, `title` TEXT, `isAdmin` INTEGER)");
+                            createdVersion = 1;
+                        }
+                        for (Migration migration : TaskManagerDatabase.ALL_MIGRATIONS) {
+                            if (migration.startVersion >= createdVersion && migration.endVersion <= startVersion) {
+                                migration.migrate(db);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onUpgrade(SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        SupportSQLiteOpenHelper openHelper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        SupportSQLiteDatabase db = openHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            seedUsers(db);
+            if (startVersion >= 3) {
+                seedTasks(db);
+            }
+            if (startVersion >= 5) {
+                seedComments(db);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        openHelper.close();
+    }
+
+    private void seedUsers(SupportSQLiteDatabase db) {
+        SupportSQLiteStatement insert = db.compileStatement(startVersion >= 2
+                ? "INSERT INTO user_table (username, password, title, isAdmin, passwordSalt, createdTimestamp) VALUES (?, 'hash', 'Seeded', 0, NULL, 1)"
+                : "INSERT INTO user_table (username, password, title, isAdmin) VALUES (?, 'hash', 'Seeded', 0)");
+        for (int i = 0; i < USER_COUNT; i++) {
+            insert.bindString(1, "user_" + i);
+            insert.executeInsert();
+        }
+        insert.bindString(1, "dup_user");
+        insert.executeInsert();
+        insert.bindString(1, "DUP_USER");
+        insert.executeInsert();
+    }
+
+    private void seedTasks(SupportSQLiteDatabase db) {
+        SupportSQLiteStatement insert = db.compileStatement(startVersion >= 10
+                ? "INSERT INTO task_table (title, description, status, assignedUserId, completedAt) VALUES (?, ?, ?, ?, ?)"
+                : "INSERT INTO task_table (title, description, status, assignedUserId) VALUES (?, ?, ?, ?)");
+        for (int i = 0; i < TASK_COUNT; i++) {
+            insert.bindString(1, (i % FTS_EVERY == 0 ? "Migrated task " : "Task ") + i);
+            insert.bindString(2, "Seeded at version " + startVersion);
+            String status = LEGACY_STATUSES[i % LEGACY_STATUSES.length];
+            int code = Math.min(i % LEGACY_STATUSES.length, 2);
+            if (startVersion >= 11) {
+                insert.bindLong(3, code);
+            } else {
+                insert.bindString(3, status);
+            }
+            insert.bindLong(4, 1 + (i % USER_COUNT));
+            if (startVersion >= 10) {
+                // at version 10 only the exact "Complete" spelling had been stamped
+                boolean stamped = startVersion >= 11 ? code == 2 : "Complete".equals(status);
+                insert.bindLong(5, stamped ? 1_000L + i : 0);
+            }
+            insert.executeInsert();
+        }
+    }
+
+    private void seedComments(SupportSQLiteDatabase db) {
+        SupportSQLiteStatement insert = db.compileStatement(
+                "INSERT INTO comment_table (taskId, authorId, text, timestamp) VALUES (?, ?, 'seeded comment', ?)");
+        for (int taskId = 1; taskId <= TASK_COUNT; taskId += COMMENT_EVERY) {
+            insert.bindLong(1, taskId);
+            insert.bindLong(2, 1 + (taskId % USER_COUNT));
+            insert.bindLong(3, taskId);
+            insert.executeInsert();
+        }
+    }
+
+    private static long count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+}
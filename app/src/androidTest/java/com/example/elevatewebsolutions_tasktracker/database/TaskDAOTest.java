@@ -8,6 +8,7 @@ import androidx.test.core.app.ApplicationProvider;
 import androidx.room.Room;
 
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
 import com.example.elevatewebsolutions_tasktracker.database.entities.User;
 import com.example.elevatewebsolutions_tasktracker.LiveDataTestUtil;
 
@@ -63,7 +64,7 @@ public class TaskDAOTest {
 
     @Test
     public void testInsert() throws InterruptedException {
-        Task task = new Task("Test Task", "This is a test task", "open", testUser.getId());
+        Task task = new Task("Test Task", "This is a test task", TaskStatus.TO_DO, testUser.getId());
         taskDao.insert(task);
 
         List<Task> allTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getAllTasks());
@@ -73,13 +74,13 @@ public class TaskDAOTest {
         Task insertedTask = allTasks.get(0);
         Assert.assertEquals("Test Task", insertedTask.getTitle());
         Assert.assertEquals("This is a test task", insertedTask.getDescription());
-        Assert.assertEquals("open", insertedTask.getStatus());
+        Assert.assertEquals(TaskStatus.TO_DO, insertedTask.getStatus());
         Assert.assertEquals(testUser.getId(), insertedTask.getAssignedUserId());
     }
 
     @Test
     public void testUpdate() throws InterruptedException {
-        Task task = new Task("Test Task", "This is a test task", "open", testUser.getId());
+        Task task = new Task("Test Task", "This is a test task", TaskStatus.TO_DO, testUser.getId());
         taskDao.insert(task);
 
         // get the task with generated ID
@@ -89,7 +90,7 @@ public class TaskDAOTest {
         // update task
         insertedTask.setTitle("Updated Task");
         insertedTask.setDescription("Updated description");
-        insertedTask.setStatus("closed");
+        insertedTask.setStatus(TaskStatus.COMPLETE);
         taskDao.update(insertedTask);
 
         List<Task> updatedTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getAllTasks());
@@ -97,12 +98,12 @@ public class TaskDAOTest {
 
         Assert.assertEquals("Updated Task", updatedTask.getTitle());
         Assert.assertEquals("Updated description", updatedTask.getDescription());
-        Assert.assertEquals("closed", updatedTask.getStatus());
+        Assert.assertEquals(TaskStatus.COMPLETE, updatedTask.getStatus());
     }
 
     @Test
     public void testDelete() throws InterruptedException {
-        Task task = new Task("Test Task", "This is a test task", "open", testUser.getId());
+        Task task = new Task("Test Task", "This is a test task", TaskStatus.TO_DO, testUser.getId());
         taskDao.insert(task);
 
         // get the task with generated ID
@@ -118,8 +119,8 @@ public class TaskDAOTest {
 
     @Test
     public void testDeleteAllTasks() throws InterruptedException {
-        Task task1 = new Task("Test Task 1", "This is test task 1", "open", testUser.getId());
-        Task task2 = new Task("Test Task 2", "This is test task 2", "closed", testUser.getId());
+        Task task1 = new Task("Test Task 1", "This is test task 1", TaskStatus.TO_DO, testUser.getId());
+        Task task2 = new Task("Test Task 2", "This is test task 2", TaskStatus.COMPLETE, testUser.getId());
 
         taskDao.insert(task1);
         taskDao.insert(task2);
@@ -135,8 +136,8 @@ public class TaskDAOTest {
 
     @Test
     public void testGetAllTasks() throws InterruptedException {
-        Task task1 = new Task("Test Task 1", "This is test task 1", "open", testUser.getId());
-        Task task2 = new Task("Test Task 2", "This is test task 2", "closed", testUser.getId());
+        Task task1 = new Task("Test Task 1", "This is test task 1", TaskStatus.TO_DO, testUser.getId());
+        Task task2 = new Task("Test Task 2", "This is test task 2", TaskStatus.COMPLETE, testUser.getId());
 
         taskDao.insert(task1);
         taskDao.insert(task2);
@@ -148,7 +149,7 @@ public class TaskDAOTest {
 
     @Test
     public void testGetTasksByUserId() throws InterruptedException {
-        Task task = new Task("User Task", "Task for user", "open", testUser.getId());
+        Task task = new Task("User Task", "Task for user", TaskStatus.TO_DO, testUser.getId());
         taskDao.insert(task);
 
         List<Task> userTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getTasksByUserId(testUser.getId()));
@@ -159,7 +160,7 @@ public class TaskDAOTest {
 
     @Test
     public void testGetTaskById() throws InterruptedException {
-        Task task = new Task("Test Task", "This is a test task", "open", testUser.getId());
+        Task task = new Task("Test Task", "This is a test task", TaskStatus.TO_DO, testUser.getId());
         taskDao.insert(task);
 
         // get the task with generated ID
@@ -174,18 +175,18 @@ public class TaskDAOTest {
 
     @Test
     public void testGetTasksByStatus() throws InterruptedException {
-        Task task1 = new Task("Open Task", "This is an open task", "open", testUser.getId());
-        Task task2 = new Task("Closed Task", "This is a closed task", "closed", testUser.getId());
+        Task task1 = new Task("Open Task", "This is an open task", TaskStatus.TO_DO, testUser.getId());
+        Task task2 = new Task("Closed Task", "This is a closed task", TaskStatus.COMPLETE, testUser.getId());
 
         taskDao.insert(task1);
         taskDao.insert(task2);
 
-        List<Task> openTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getTasksByStatus("open"));
+        List<Task> openTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getTasksByStatus(TaskStatus.TO_DO));
         Assert.assertNotNull("open tasks should not be null", openTasks);
         Assert.assertEquals("should have one open task", 1, openTasks.size());
         Assert.assertEquals("Open Task", openTasks.get(0).getTitle());
 
-        List<Task> closedTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getTasksByStatus("closed"));
+        List<Task> closedTasks = LiveDataTestUtil.getOrAwaitValue(taskDao.getTasksByStatus(TaskStatus.COMPLETE));
         Assert.assertNotNull("closed tasks should not be null", closedTasks);
         Assert.assertEquals("should have one closed task", 1, closedTasks.size());
         Assert.assertEquals("Closed Task", closedTasks.get(0).getTitle());
@@ -14,6 +14,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.example.elevatewebsolutions_tasktracker.auth.services.SessionManager;
+import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
 import com.example.elevatewebsolutions_tasktracker.viewmodel.TaskListViewModel;
 import com.example.elevatewebsolutions_tasktracker.viewmodel.UserViewModel;
 
@@ -55,14 +57,27 @@ public class AddTaskActivity extends AppCompatActivity {
             return;
         }
 
-        // initialize viewmodels
-        taskListViewModel = new ViewModelProvider(this).get(TaskListViewModel.class);
+        // initialize viewmodels, the task list one once the database is open
         userViewModel = new ViewModelProvider(this).get(UserViewModel.class);
 
         // setup form components
         initializeViews();
         setupStatusSpinner();
         setupClickListeners();
+
+        // saving needs the task list viewmodel, enabled once it is attached
+        saveButton.setEnabled(false);
+        TaskManagerRepository.warmUp(getApplication())
+                .thenAcceptAsync(this::onRepositoryReady, getMainExecutor());
+    }
+
+    private void onRepositoryReady(TaskManagerRepository repository) {
+        if (isDestroyed()) {
+            return;
+        }
+        taskListViewModel = new ViewModelProvider(this, TaskListViewModel.factory(getApplication(), repository))
+                .get(TaskListViewModel.class);
+        saveButton.setEnabled(true);
     }
 
     /**
@@ -80,12 +95,11 @@ public class AddTaskActivity extends AppCompatActivity {
      * setup status dropdown with basic options
      */
     private void setupStatusSpinner() {
-        // basic task statuses for mvp
-        String[] statuses = {"To Do", "In Progress", "Complete"};
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(
+        // basic task statuses for mvp, the spinner shows each enum's label
+        ArrayAdapter<TaskStatus> adapter = new ArrayAdapter<>(
             this,
             android.R.layout.simple_spinner_item,
-            statuses
+            TaskStatus.values()
         );
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         statusSpinner.setAdapter(adapter);
@@ -123,7 +137,7 @@ public class AddTaskActivity extends AppCompatActivity {
         // get form values
         String title = titleEditText.getText().toString().trim();
         String description = descriptionEditText.getText().toString().trim();
-        String status = statusSpinner.getSelectedItem().toString();
+        TaskStatus status = (TaskStatus) statusSpinner.getSelectedItem();
 
         // validate title (required field)
         if (title.isEmpty()) {
@@ -154,7 +168,7 @@ public class AddTaskActivity extends AppCompatActivity {
      * save task to database using viewmodel
      * gets current user id and creates task assigned to them
      */
-    private void saveTaskToDatabase(String title, String description, String status) {
+    private void saveTaskToDatabase(String title, String description, TaskStatus status) {
         // get current user id from session
         int currentUserId = sessionManager.getCurrentUserId();
         if (currentUserId == -1) {
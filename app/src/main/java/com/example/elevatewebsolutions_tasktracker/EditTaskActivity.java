@@ -20,6 +20,7 @@ import com.example.elevatewebsolutions_tasktracker.auth.models.UserSession;
 import com.example.elevatewebsolutions_tasktracker.auth.services.SessionManager;
 import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
 import com.example.elevatewebsolutions_tasktracker.databinding.ActivityEditTaskBinding;
 
 public class EditTaskActivity extends AppCompatActivity {
@@ -50,9 +51,22 @@ public class EditTaskActivity extends AppCompatActivity {
             //navigateToMainActivity();
         }
 
-        repository = TaskManagerRepository.getRepository(getApplication());
-
         setupStatusSpinner();
+
+        // save and delete need the repository, they are set up once the database is open
+        TaskManagerRepository.warmUp(getApplication())
+                .thenAcceptAsync(this::onRepositoryReady, getMainExecutor());
+
+        binding.cancelButton.setOnClickListener(view -> {
+            navigateToMainActivity();
+        });
+    }
+
+    private void onRepositoryReady(TaskManagerRepository ready) {
+        if (isDestroyed()) {
+            return;
+        }
+        repository = ready;
         populateEditTaskView(taskId);
 
         binding.saveButton.setOnClickListener(new View.OnClickListener() {
@@ -62,10 +76,6 @@ public class EditTaskActivity extends AppCompatActivity {
             }
         });
 
-        binding.cancelButton.setOnClickListener(view -> {
-            navigateToMainActivity();
-        });
-
         binding.deleteButton.setOnClickListener(v -> {
             repository.deleteTaskById(taskId);
         });
@@ -75,7 +85,7 @@ public class EditTaskActivity extends AppCompatActivity {
         // get form values
         String title = binding.taskTitleEditText.getText().toString().trim();
         String description = binding.taskDescriptionEditText.getText().toString().trim();
-        String status = binding.taskStatusSpinner.getSelectedItem().toString();
+        TaskStatus status = (TaskStatus) binding.taskStatusSpinner.getSelectedItem();
 
         // validate title (required field)
         if (title.isEmpty()) {
@@ -99,15 +109,20 @@ public class EditTaskActivity extends AppCompatActivity {
         }
 
         // if validation passes, proceed to update
-        repository.getTaskByTaskID(taskId).observe(this, t -> {
+        // only the fields that differ from the stored task are written, no observer involved
+        repository.modifyTask(taskId, t -> {
             t.setTitle(title);
             t.setDescription(description);
             t.setStatus(status);
-            repository.updateTask(t);
-
-            toastMaker("Task updated successfully");
+        }).whenComplete((changed, error) -> runOnUiThread(() -> {
+            if (error != null) {
+                Log.e(MainActivity.TAG, "Error updating task " + taskId, error);
+                toastMaker("Unable to update task");
+                return;
+            }
+            toastMaker(changed ? "Task updated successfully" : "No changes to save");
             navigateToMainActivity();
-        });
+        }));
     }
 
     private void deleteTask(int taskId) {
@@ -145,8 +160,8 @@ public class EditTaskActivity extends AppCompatActivity {
             Log.d("DEBUG", "Observed task: " + t);
             binding.taskTitleEditText.setText(t.getTitle());
             binding.taskDescriptionEditText.setText(t.getDescription());
-            binding.taskStatusSpinner.setSelection(t.getStatus().equals("To Do") ? 0 :
-            t.getStatus().equals("In Progress") ? 1 : 2);
+            // spinner items are TaskStatus.values(), in declaration order
+            binding.taskStatusSpinner.setSelection(t.getStatus().ordinal());
         });
     }
 
@@ -154,12 +169,11 @@ public class EditTaskActivity extends AppCompatActivity {
      * setup status dropdown with basic options
      */
     private void setupStatusSpinner() {
-        // basic task statuses for mvp
-        String[] statuses = {"To Do", "In Progress", "Complete"};
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(
+        // basic task statuses for mvp, the spinner shows each enum's label
+        ArrayAdapter<TaskStatus> adapter = new ArrayAdapter<>(
                 this,
                 android.R.layout.simple_spinner_item,
-                statuses
+                TaskStatus.values()
         );
         adapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         binding.taskStatusSpinner.setAdapter(adapter);
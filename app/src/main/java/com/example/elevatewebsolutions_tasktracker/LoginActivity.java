@@ -12,14 +12,15 @@ import com.example.elevatewebsolutions_tasktracker.auth.models.AuthenticationRes
 import com.example.elevatewebsolutions_tasktracker.auth.models.LoginRequest;
 import com.example.elevatewebsolutions_tasktracker.auth.services.SessionManager;
 import com.example.elevatewebsolutions_tasktracker.auth.validation.InputValidator;
-import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
 import com.example.elevatewebsolutions_tasktracker.databinding.ActivityLoginBinding;
 
+import java.util.concurrent.CompletableFuture;
+
 public class LoginActivity extends AppCompatActivity {
 
     private ActivityLoginBinding binding;
-    private TaskManagerRepository repository;
+    private CompletableFuture<TaskManagerRepository> repositoryReady;
     private SessionManager sessionManager;
 
     @Override
@@ -28,17 +29,11 @@ public class LoginActivity extends AppCompatActivity {
         binding = ActivityLoginBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        // Initialize repository and database early to ensure dummy users are created
-        repository = TaskManagerRepository.getRepository(getApplication());
+        // Create the repository and open the database in the background so the screen renders right away
+        // Default users are created when the database opens, login attaches once that is done
+        repositoryReady = TaskManagerRepository.warmUp(getApplication());
         sessionManager = new SessionManager(this);
 
-        // Force database initialization to ensure users exist before any login attempts
-        // This is done asynchronously but will complete before user can type and click login
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
-            // This will trigger database creation and user setup if needed
-            repository.getUserByUserName("admin"); // Dummy call to initialize DB
-        });
-
         // Check if user is already logged in
         if (sessionManager.isLoggedIn()) {
             // User already logged in, go to main activity
@@ -83,8 +78,8 @@ public class LoginActivity extends AppCompatActivity {
         // Create login request
         LoginRequest loginRequest = new LoginRequest(username, password);
 
-        // Authenticate using repository
-        repository.authenticateUser(username, password)
+        // Authenticate using repository, waits for warm-up if the user was quicker
+        repositoryReady.thenCompose(repository -> repository.authenticateUser(username, password))
             .thenAccept(result -> {
                 runOnUiThread(() -> {
                     // Reset button state
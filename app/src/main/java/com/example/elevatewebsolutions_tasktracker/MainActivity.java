@@ -28,7 +28,8 @@ import com.example.elevatewebsolutions_tasktracker.adapter.TaskAdapter;
 import com.example.elevatewebsolutions_tasktracker.auth.models.UserSession;
 import com.example.elevatewebsolutions_tasktracker.auth.services.SessionManager;
 import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
-import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 import com.example.elevatewebsolutions_tasktracker.databinding.ActivityMainBinding;
 import com.example.elevatewebsolutions_tasktracker.viewmodel.UserViewModel;
 import com.example.elevatewebsolutions_tasktracker.viewmodel.TaskListViewModel;
@@ -75,9 +76,6 @@ public class MainActivity extends AppCompatActivity {
             getSupportActionBar().setTitle("TaskTracker");
         }
 
-        // Initialize repository early to ensure database and users are created
-        TaskManagerRepository repository = TaskManagerRepository.getRepository(getApplication());
-
         // Initialize UserViewModel for authentication state management
         userViewModel = new ViewModelProvider(this).get(UserViewModel.class);
 
@@ -110,8 +108,9 @@ public class MainActivity extends AppCompatActivity {
                     " (Admin: " + currentSession.isAdmin() + ")");
         }
 
-        // Initialize RecyclerView for task list
-        initializeTaskList();
+        // Initialize RecyclerView for task list once the database is open, without waiting for it here
+        TaskManagerRepository.warmUp(getApplication())
+                .thenAcceptAsync(this::initializeTaskList, getMainExecutor());
 
         binding.user1.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -132,22 +131,39 @@ public class MainActivity extends AppCompatActivity {
         statusFilterSpinner = findViewById(R.id.statusFilterSpinner);
     }
 
-    private void initializeTaskList() {
+    private void initializeTaskList(TaskManagerRepository repository) {
+        if (isDestroyed()) {
+            return;
+        }
         tasksRecyclerView = findViewById(R.id.tasksRecyclerView);
 
         // create adapter with click listener for task interaction
         taskAdapter = new TaskAdapter(new TaskAdapter.OnTaskClickListener() {
             @Override
-            public void onTaskClick(Task task) {
+            public void onTaskClick(TaskSummary task) {
                 handleTaskClick(task);
             }
         });
 
         tasksRecyclerView.setAdapter(taskAdapter);
-        tasksRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        tasksRecyclerView.setLayoutManager(layoutManager);
+
+        // report the last visible task so the next page loads before the end is reached
+        // (also fires with dx = dy = 0 after each layout pass)
+        tasksRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible != RecyclerView.NO_POSITION && taskListViewModel != null) {
+                    taskListViewModel.onTaskVisible((int) taskAdapter.getItemId(lastVisible));
+                }
+            }
+        });
 
         // initialize TaskListViewModel
-        taskListViewModel = new ViewModelProvider(this).get(TaskListViewModel.class);
+        taskListViewModel = new ViewModelProvider(this, TaskListViewModel.factory(getApplication(), repository))
+                .get(TaskListViewModel.class);
 
         // setup search and filter components
         setupSearchAndFilter();
@@ -167,7 +183,8 @@ public class MainActivity extends AppCompatActivity {
      */
     private void setupSearchAndFilter() {
         // setup status filter spinner
-        String[] statusOptions = {"All", "To Do", "In Progress", "Complete"};
+        String[] statusOptions = {"All", TaskStatus.TO_DO.getLabel(), TaskStatus.IN_PROGRESS.getLabel(),
+                TaskStatus.COMPLETE.getLabel()};
         ArrayAdapter<String> statusAdapter = new ArrayAdapter<>(
             this,
             android.R.layout.simple_spinner_item,
@@ -180,14 +197,14 @@ public class MainActivity extends AppCompatActivity {
         statusFilterSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                String selectedStatus = statusOptions[position];
-                taskListViewModel.setStatusFilter(selectedStatus);
+                // "All" names no status, which clears the filter
+                taskListViewModel.setStatusFilter(TaskStatus.fromLabel(statusOptions[position]));
             }
 
             @Override
             public void onNothingSelected(AdapterView<?> parent) {
                 // default to "All"
-                taskListViewModel.setStatusFilter("All");
+                taskListViewModel.setStatusFilter(null);
             }
         });
 
@@ -220,11 +237,11 @@ public class MainActivity extends AppCompatActivity {
      * handle task item clicks from recyclerview
      * shows task details and prepares for future navigation to edittask
      */
-    private void handleTaskClick(Task task) {
+    private void handleTaskClick(TaskSummary task) {
         // for now, show task details in a toast
         // when isaiah completes edittaskactivity, we can navigate there
         String message = "Task: " + task.getTitle() + "\n" +
-                "Status: " + task.getStatus();
+                "Status: " + task.getStatus().getLabel();
         Toast.makeText(this, message, Toast.LENGTH_LONG).show();
 
         // TODO: navigate to EditTaskActivity when Isaiah completes it
@@ -238,10 +255,11 @@ public class MainActivity extends AppCompatActivity {
      */
     private void setupTaskListObservers() {
         // observe task list changes and update adapter
-        taskListViewModel.getUserTasks().observe(this, tasks -> {
-            android.util.Log.d(TAG, "Task list updated: " +
-                    (tasks != null ? tasks.size() + " tasks" : "null"));
-            taskAdapter.updateTasks(tasks);
+        // paged lists arrive with the rows that changed, so the adapter skips the full diff
+        taskListViewModel.getTaskListUpdates().observe(this, update -> {
+            android.util.Log.d(TAG, "Task list updated: " + update.getTasks().size() + " tasks, "
+                    + update.getChangeCount() + " changes");
+            taskAdapter.applyUpdate(update);
         });
 
         // observe loading state (for future progress indicator)
@@ -52,15 +52,16 @@ public class UserManagementActivity extends AppCompatActivity {
             userId = extras.getInt("User_Id", -1);
         }
 
-        repository = TaskManagerRepository.getRepository(getApplication());
         sessionManager = new SessionManager(this);
 
+        // the buttons need the repository, they are enabled once the database is open
+        binding.addUserButton.setEnabled(false);
+        binding.deleteUserButton.setEnabled(false);
+        TaskManagerRepository.warmUp(getApplication())
+                .thenAcceptAsync(this::onRepositoryReady, getMainExecutor());
 
         if(userId != -1) {
             // If userId is provided, we are in update mode
-            assert repository != null;
-            //get user from the repository
-            updateDisplay();
             // Set the button text and click listener for update
             binding.addUserButton.setText("Update User");
             binding.addUserButton.setOnClickListener(new View.OnClickListener() {
@@ -112,6 +113,19 @@ public class UserManagementActivity extends AppCompatActivity {
         });
     }
 
+    private void onRepositoryReady(TaskManagerRepository ready) {
+        if (isDestroyed()) {
+            return;
+        }
+        repository = ready;
+        if (userId != -1) {
+            //get user from the repository
+            updateDisplay();
+        }
+        binding.addUserButton.setEnabled(true);
+        binding.deleteUserButton.setEnabled(true);
+    }
+
     private void deleteUser(int userId) {
         try{
                 //Display a confirmation dialog before deleting the user
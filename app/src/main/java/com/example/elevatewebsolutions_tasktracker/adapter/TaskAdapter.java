@@ -1,5 +1,6 @@
 package com.example.elevatewebsolutions_tasktracker.adapter;
 
+import android.text.format.DateUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,17 +12,19 @@ import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.elevatewebsolutions_tasktracker.R;
-import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
- * RecyclerView adapter for displaying {@link Task} items.
+ * RecyclerView adapter for displaying {@link TaskSummary} items.
  *
  * <p>Uses the ViewHolder pattern and a small DiffUtil pass inside
  * {@link #updateTasks(List)} so UI updates are efficient when the list changes.
+ * {@link #applyUpdate(TaskListUpdate)} skips the diff when the update already says which
+ * rows changed.
  */
 public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder> {
 
@@ -29,11 +32,13 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
      * Click listener for task rows.
      */
     public interface OnTaskClickListener {
-        void onTaskClick(Task task);
+        void onTaskClick(TaskSummary task);
     }
 
-    private final List<Task> tasks = new ArrayList<>();
+    // never modified in place, so it can be matched against the list an update was made for
+    private List<TaskSummary> tasks = Collections.emptyList();
     private OnTaskClickListener clickListener;
+    private final Notifier notifier = new Notifier();
 
     public TaskAdapter() {
         setHasStableIds(true);
@@ -59,13 +64,30 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
      * Replace the current list with {@code newTasks} and dispatch only the minimal set of
      * notify* calls using DiffUtil.
      */
-    public void updateTasks(List<Task> newTasks) {
-        if (newTasks == null) {
-            newTasks = new ArrayList<>();
+    public void updateTasks(List<TaskSummary> newTasks) {
+        replaceTasks(newTasks != null ? new ArrayList<>(newTasks) : new ArrayList<>());
+    }
+
+    /**
+     * Shows the update's list. When it was worked out against the list shown now, its changes
+     * go straight to notifyItemRange*; otherwise the lists are diffed as in {@link #updateTasks(List)}.
+     * @param update list to show, e.g. from TaskListViewModel.getTaskListUpdates()
+     */
+    public void applyUpdate(TaskListUpdate update) {
+        if (update.getTasks() == tasks) {
+            return;
+        }
+        if (!update.appliesTo(tasks)) {
+            replaceTasks(update.getTasks());
+            return;
         }
-        final List<Task> old = new ArrayList<>(this.tasks);
+        tasks = update.getTasks();
+        update.dispatchTo(notifier);
+    }
+
+    private void replaceTasks(List<TaskSummary> newTasks) {
+        final List<TaskSummary> old = this.tasks;
 
-        List<Task> finalNewTasks = newTasks;
         DiffUtil.DiffResult diff =
                 DiffUtil.calculateDiff(
                         new DiffUtil.Callback() {
@@ -76,52 +98,25 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
 
                             @Override
                             public int getNewListSize() {
-                                return finalNewTasks.size();
+                                return newTasks.size();
                             }
 
                             @Override
                             public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
-                                return old.get(oldItemPosition).getTaskId()
-                                        == finalNewTasks.get(newItemPosition).getTaskId();
+                                return TaskSummaryDiff.areItemsTheSame(
+                                        old.get(oldItemPosition), newTasks.get(newItemPosition));
                             }
 
                             @Override
                             public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
-                                Task a = old.get(oldItemPosition);
-                                Task b = finalNewTasks.get(newItemPosition);
-                                return Objects.equals(a.getTitle(), b.getTitle())
-                                        && Objects.equals(a.getDescription(), b.getDescription())
-                                        && Objects.equals(a.getStatus(), b.getStatus())
-                                        && a.getAssignedUserId() == b.getAssignedUserId();
+                                return TaskSummaryDiff.areContentsTheSame(
+                                        old.get(oldItemPosition), newTasks.get(newItemPosition));
                             }
                         },
                         true);
 
-        this.tasks.clear();
-        this.tasks.addAll(newTasks);
-
-        diff.dispatchUpdatesTo(
-                new ListUpdateCallback() {
-                    @Override
-                    public void onInserted(int position, int count) {
-                        notifyItemRangeInserted(position, count);
-                    }
-
-                    @Override
-                    public void onRemoved(int position, int count) {
-                        notifyItemRangeRemoved(position, count);
-                    }
-
-                    @Override
-                    public void onMoved(int fromPosition, int toPosition) {
-                        notifyItemMoved(fromPosition, toPosition);
-                    }
-
-                    @Override
-                    public void onChanged(int position, int count, Object payload) {
-                        notifyItemRangeChanged(position, count, payload);
-                    }
-                });
+        this.tasks = newTasks;
+        diff.dispatchUpdatesTo(notifier);
     }
 
     @Override
@@ -161,6 +156,36 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
         return new TaskAdapter(listener);
     }
 
+    /**
+     * Turns DiffUtil results and TaskListUpdate changes into notify* calls
+     */
+    private final class Notifier implements ListUpdateCallback, TaskListUpdate.Callback {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position, count, payload);
+        }
+
+        @Override
+        public void onChanged(int position, int count) {
+            notifyItemRangeChanged(position, count);
+        }
+    }
+
     /**
      * ViewHolder that caches references to row views.
      */
@@ -168,18 +193,21 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
         private final TextView titleTextView;
         private final TextView descriptionTextView;
         private final TextView statusTextView;
+        private final TextView commentBadgeTextView;
 
         TaskViewHolder(@NonNull View itemView) {
             super(itemView);
             titleTextView = itemView.findViewById(R.id.taskTitleTextView);
             descriptionTextView = itemView.findViewById(R.id.taskDescriptionTextView);
             statusTextView = itemView.findViewById(R.id.taskStatusTextView);
+            commentBadgeTextView = itemView.findViewById(R.id.taskCommentBadgeTextView);
         }
 
-        void bind(Task task) {
+        void bind(TaskSummary task) {
             titleTextView.setText(task.getTitle());
-            descriptionTextView.setText(task.getDescription());
-            statusTextView.setText("Status: " + task.getStatus());
+            descriptionTextView.setText(task.getDescriptionPreview());
+            statusTextView.setText("Status: " + task.getStatus().getLabel());
+            bindCommentBadge(task);
 
             itemView.setOnClickListener(v -> {
                 if (clickListener != null) {
@@ -190,5 +218,20 @@ public final class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskView
             itemView.setClickable(true);
             itemView.setFocusable(true);
         }
+
+        /**
+         * Shows the comment count and when the last comment was posted, hidden when there are none
+         */
+        private void bindCommentBadge(TaskSummary task) {
+            int count = task.getCommentCount();
+            if (count == 0) {
+                commentBadgeTextView.setVisibility(View.GONE);
+                return;
+            }
+            CharSequence lastActivity = DateUtils.getRelativeTimeSpanString(
+                    task.getLastCommentTimestamp(), System.currentTimeMillis(), DateUtils.MINUTE_IN_MILLIS);
+            commentBadgeTextView.setText(count + (count == 1 ? " comment" : " comments") + " · " + lastActivity);
+            commentBadgeTextView.setVisibility(View.VISIBLE);
+        }
     }
 }
\ No newline at end of file
@@ -10,9 +10,11 @@ import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 import com.example.elevatewebsolutions_tasktracker.database.UserDAO;
 import com.example.elevatewebsolutions_tasktracker.database.entities.User;
 
+import com.example.elevatewebsolutions_tasktracker.executor.AppExecutors;
+import com.example.elevatewebsolutions_tasktracker.executor.TaskPriority;
+
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 /**
  * Core authentication service for user login and validation
@@ -22,12 +24,13 @@ public class UserAuthenticationService {
     private static final String TAG = "UserAuthService";
 
     private final UserDAO userDAO;
-    private final ExecutorService executorService;
+    // password hashing is CPU-bound and a user is waiting on it, so it runs ahead of other cpu work
+    private final Executor executorService;
 
     public UserAuthenticationService(Context context) {
         TaskManagerDatabase database = TaskManagerDatabase.getDatabase(context);
         this.userDAO = database.userDAO();
-        this.executorService = Executors.newCachedThreadPool();
+        this.executorService = AppExecutors.getInstance().cpu().withPriority(TaskPriority.UI);
     }
 
     /**
@@ -158,16 +161,6 @@ public class UserAuthenticationService {
                     );
                 }
 
-                // Check if user already exists
-                User existingUser = getUserByUsernamSync(username);
-                if (existingUser != null) {
-                    Log.w(TAG, "User already exists: " + username);
-                    return new AuthenticationResult(
-                        AuthenticationResult.AuthError.INVALID_INPUT,
-                        "Username already exists"
-                    );
-                }
-
                 // Hash password with salt
                 String[] hashAndSalt = PasswordUtils.hashPasswordWithNewSalt(password);
                 String hashedPassword = hashAndSalt[0];
@@ -177,8 +170,17 @@ public class UserAuthenticationService {
                 User newUser = new User(username, hashedPassword, title, isAdmin);
                 newUser.setPasswordSalt(salt);
 
-                // Save to database
-                userDAO.insert(newUser);
+                // Save to database; the unique username index settles concurrent sign-ups,
+                // so there is no separate existence check to race against
+                long userId = userDAO.insertIfAbsent(newUser);
+                if (userId == -1) {
+                    Log.w(TAG, "User already exists: " + username);
+                    return new AuthenticationResult(
+                        AuthenticationResult.AuthError.INVALID_INPUT,
+                        "Username already exists"
+                    );
+                }
+                newUser.setId((int) userId);
 
                 Log.i(TAG, "User created successfully: " + username +
                            " (Role: " + newUser.getUserRole().getDisplayName() + ")");
@@ -207,11 +209,8 @@ public class UserAuthenticationService {
     }
 
     /**
-     * Shutdown the executor service
+     * Nothing to release: the cpu lane is shared and lives as long as the process
      */
     public void shutdown() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
     }
 }
@@ -0,0 +1,18 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.AppMetadata;
+
+@Dao
+public interface AppMetadataDAO {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void put(AppMetadata metadata);
+
+    @Query("SELECT value FROM " + TaskManagerDatabase.METADATA_TABLE + " WHERE `key` = :key")
+    String getValue(String key);
+}
@@ -0,0 +1,67 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.ArchivedTask;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.List;
+
+@Dao
+public interface ArchiveDAO {
+
+    // Moving tasks out of task_table, one chunk at a time (see TaskArchiver).
+    // The (status, completedAt) index finds the oldest completed tasks without scanning open work.
+    @Query("SELECT taskId FROM " + TaskManagerDatabase.TASK_TABLE
+            + " WHERE status = :status AND completedAt > 0 AND completedAt < :completedBefore"
+            + " ORDER BY completedAt ASC LIMIT :limit")
+    List<Integer> getTaskIdsCompletedBefore(TaskStatus status, long completedBefore, int limit);
+
+    @Query("INSERT INTO " + TaskManagerDatabase.ARCHIVED_TASK_TABLE
+            + " (taskId, title, description, status, assignedUserId, completedAt, archivedAt)"
+            + " SELECT taskId, title, description, status, assignedUserId, completedAt, :archivedAt FROM "
+            + TaskManagerDatabase.TASK_TABLE + " WHERE taskId IN (:taskIds)")
+    void copyTasksToArchive(List<Integer> taskIds, long archivedAt);
+
+    @Query("INSERT INTO " + TaskManagerDatabase.ARCHIVED_COMMENT_TABLE
+            + " (commentId, taskId, authorId, text, timestamp)"
+            + " SELECT commentId, taskId, authorId, text, timestamp FROM "
+            + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId IN (:taskIds)")
+    void copyCommentsToArchive(List<Integer> taskIds);
+
+    @Query("DELETE FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId IN (:taskIds)")
+    int deleteActiveComments(List<Integer> taskIds);
+
+    @Query("DELETE FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE taskId IN (:taskIds)")
+    int deleteActiveTasks(List<Integer> taskIds);
+
+    @Query("SELECT * FROM " + TaskManagerDatabase.ARCHIVED_TASK_TABLE + " WHERE taskId = :taskId")
+    ArchivedTask getArchivedTaskById(int taskId);
+
+    @Query("SELECT COUNT(*) FROM " + TaskManagerDatabase.ARCHIVED_TASK_TABLE)
+    int countArchivedTasks();
+
+    // Full-text search of the archive, same ranking as TaskDAO.searchTasksForUser
+    @Query("SELECT " + TaskSummary.ARCHIVED_COLUMNS_T + " FROM " + TaskManagerDatabase.ARCHIVED_TASK_TABLE + " t"
+            + " JOIN (SELECT hitId, MIN(hitRank) AS hitRank FROM ("
+            + "SELECT rowid AS hitId, 0 AS hitRank FROM " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " MATCH :titleMatch"
+            + " UNION ALL "
+            + "SELECT rowid AS hitId, 1 AS hitRank FROM " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " MATCH :anyMatch"
+            + ") GROUP BY hitId) hits ON hits.hitId = t.taskId"
+            + " WHERE t.assignedUserId = :userId"
+            + " ORDER BY hits.hitRank ASC, t.taskId ASC LIMIT :limit")
+    LiveData<List<TaskSummary>> searchArchivedTasksForUser(int userId, String titleMatch, String anyMatch, int limit);
+
+    @Query("SELECT " + TaskSummary.ARCHIVED_COLUMNS_T + " FROM " + TaskManagerDatabase.ARCHIVED_TASK_TABLE + " t"
+            + " JOIN (SELECT hitId, MIN(hitRank) AS hitRank FROM ("
+            + "SELECT rowid AS hitId, 0 AS hitRank FROM " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " MATCH :titleMatch"
+            + " UNION ALL "
+            + "SELECT rowid AS hitId, 1 AS hitRank FROM " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.ARCHIVED_TASK_FTS_TABLE + " MATCH :anyMatch"
+            + ") GROUP BY hitId) hits ON hits.hitId = t.taskId"
+            + " WHERE t.assignedUserId = :userId AND t.status = :status"
+            + " ORDER BY hits.hitRank ASC, t.taskId ASC LIMIT :limit")
+    LiveData<List<TaskSummary>> searchArchivedTasksForUserByStatus(int userId, TaskStatus status, String titleMatch, String anyMatch, int limit);
+}
@@ -23,12 +23,39 @@ public interface CommentDAO {
     @Delete
     void delete(Comment comment);
 
+    // Bulk variants, meant to run inside one transaction (see TaskManagerRepository.insertComments)
+    @Insert
+    List<Long> insertComments(List<Comment> comments);
+
+    @Update
+    int updateComments(List<Comment> comments);
+
+    @Delete
+    int deleteComments(List<Comment> comments);
+
     @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE commentId = :commentId")
     Comment getCommentByCommentId(int commentId);
 
     @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId = :taskId ORDER BY timestamp ASC")
     LiveData<List<Comment>> getCommentsByTaskId(int taskId);
 
+    // Keyset paging through one task's thread on (taskId, timestamp, commentId). The
+    // (taskId, timestamp) index ends in the rowid, which is commentId, so every page is a
+    // bounded index range walk in either direction, with no sort and no OFFSET.
+    @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId = :taskId"
+            + " AND timestamp >= :afterTimestamp AND (timestamp > :afterTimestamp OR commentId > :afterCommentId)"
+            + " ORDER BY timestamp ASC, commentId ASC LIMIT :limit")
+    List<Comment> getCommentsNewerThan(int taskId, long afterTimestamp, int afterCommentId, int limit);
+
+    @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId = :taskId"
+            + " AND timestamp <= :beforeTimestamp AND (timestamp < :beforeTimestamp OR commentId < :beforeCommentId)"
+            + " ORDER BY timestamp DESC, commentId DESC LIMIT :limit")
+    List<Comment> getCommentsOlderThan(int taskId, long beforeTimestamp, int beforeCommentId, int limit);
+
+    // Keyset paging through every comment, newest first. commentId follows insertion order.
+    @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE commentId < :beforeCommentId ORDER BY commentId DESC LIMIT :limit")
+    List<Comment> getRecentCommentsPage(int beforeCommentId, int limit);
+
     @Query("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE authorId = :authorId ORDER BY timestamp DESC")
     LiveData<List<Comment>> getCommentsByAuthor(int authorId);
 
@@ -0,0 +1,211 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Keyset-paged view of one task's comments, oldest at the top and newest at the bottom.
+ *
+ * <p>The thread opens on its newest page and grows upwards with {@link #loadOlder()}.
+ * Comments posted afterwards are picked up by the tail: each change to comment_table reads
+ * only the rows after the newest one already seen, appends them, and emits just those rows
+ * on {@link #getNewComments()}. Edits and deletes of loaded comments are not re-read.
+ */
+public class CommentThread {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final CommentDAO commentDAO;
+    private final int taskId;
+    private final Executor executor;
+    private final int pageSize;
+    private final MutableLiveData<List<Comment>> comments = new MutableLiveData<>();
+    private final MutableLiveData<List<Comment>> newComments = new MutableLiveData<>();
+
+    // all fields below are guarded by "this"
+    private final List<Comment> loaded = new ArrayList<>();
+    private boolean started;
+    private boolean oldestReached;
+    private boolean loadingOlder;
+    private boolean loadingNewer;
+    private boolean tailAgain;
+    private boolean closed;
+    private Runnable onClose;
+
+    public CommentThread(CommentDAO commentDAO, int taskId, Executor executor, int pageSize) {
+        this.commentDAO = commentDAO;
+        this.taskId = taskId;
+        this.executor = executor;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Gets the comments loaded so far, oldest first
+     * @return a LiveData list that re-emits whenever older or newer comments are added
+     */
+    public LiveData<List<Comment>> getComments() {
+        return comments;
+    }
+
+    /**
+     * Gets the tail of the thread
+     * @return a LiveData that emits only the comments that arrived since the previous emission
+     */
+    public LiveData<List<Comment>> getNewComments() {
+        return newComments;
+    }
+
+    /**
+     * Loads the newest page if nothing has been loaded yet
+     */
+    public synchronized void loadLatest() {
+        if (started || closed) {
+            return;
+        }
+        started = true;
+        loadingNewer = true;
+        executor.execute(() -> {
+            List<Comment> rows = commentDAO.getCommentsOlderThan(taskId, Long.MAX_VALUE, Integer.MAX_VALUE, pageSize);
+            Collections.reverse(rows);
+            synchronized (CommentThread.this) {
+                loadingNewer = false;
+                if (closed) {
+                    return;
+                }
+                oldestReached = rows.size() < pageSize;
+                loaded.addAll(rows);
+                publish();
+                if (tailAgain) {
+                    tailAgain = false;
+                    readTail();
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the page before the oldest loaded comment unless the start of the thread was reached
+     */
+    public synchronized void loadOlder() {
+        if (!started || oldestReached || loadingOlder || closed) {
+            return;
+        }
+        if (loaded.isEmpty()) {
+            oldestReached = true;
+            return;
+        }
+        loadingOlder = true;
+        final Comment oldest = loaded.get(0);
+        executor.execute(() -> {
+            List<Comment> rows = commentDAO.getCommentsOlderThan(taskId, oldest.getTimestamp(), oldest.getCommentId(), pageSize);
+            Collections.reverse(rows);
+            synchronized (CommentThread.this) {
+                loadingOlder = false;
+                if (closed) {
+                    return;
+                }
+                oldestReached = rows.size() < pageSize;
+                loaded.addAll(0, rows);
+                publish();
+            }
+        });
+    }
+
+    public synchronized boolean isOldestReached() {
+        return oldestReached;
+    }
+
+    /**
+     * Called when comment_table changed. Reads only comments newer than the newest one loaded.
+     */
+    public synchronized void onCommentsChanged() {
+        if (!started || closed) {
+            return;
+        }
+        if (loadingNewer) {
+            // the running read may have missed the change, go around once more when it ends
+            tailAgain = true;
+            return;
+        }
+        readTail();
+    }
+
+    /**
+     * Stops delivering results and releases the invalidation hook
+     */
+    public void close() {
+        Runnable closeAction;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeAction = onClose;
+            onClose = null;
+        }
+        if (closeAction != null) {
+            closeAction.run();
+        }
+    }
+
+    /**
+     * Registers the action run by {@link #close()}, typically removing the invalidation observer
+     */
+    synchronized void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    /**
+     * @return number of comments currently held in memory
+     */
+    public synchronized int getLoadedCount() {
+        return loaded.size();
+    }
+
+    private void readTail() {
+        loadingNewer = true;
+        final Comment newest = loaded.isEmpty() ? null : loaded.get(loaded.size() - 1);
+        executor.execute(() -> {
+            long afterTimestamp = newest != null ? newest.getTimestamp() : Long.MIN_VALUE;
+            int afterCommentId = newest != null ? newest.getCommentId() : 0;
+            List<Comment> arrivals = new ArrayList<>();
+            List<Comment> rows;
+            do {
+                rows = commentDAO.getCommentsNewerThan(taskId, afterTimestamp, afterCommentId, pageSize);
+                if (!rows.isEmpty()) {
+                    Comment last = rows.get(rows.size() - 1);
+                    afterTimestamp = last.getTimestamp();
+                    afterCommentId = last.getCommentId();
+                    arrivals.addAll(rows);
+                }
+            } while (rows.size() == pageSize);
+
+            synchronized (CommentThread.this) {
+                loadingNewer = false;
+                if (closed) {
+                    return;
+                }
+                if (!arrivals.isEmpty()) {
+                    loaded.addAll(arrivals);
+                    newComments.postValue(Collections.unmodifiableList(arrivals));
+                    publish();
+                }
+                if (tailAgain) {
+                    tailAgain = false;
+                    readTail();
+                }
+            }
+        });
+    }
+
+    private void publish() {
+        comments.postValue(Collections.unmodifiableList(new ArrayList<>(loaded)));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.example.elevatewebsolutions_tasktracker.MainActivity;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Applies versioned seed steps once per database instead of on every open.
+ *
+ * <p>The highest applied step version is stored in app_metadata. On open the seeder reads that
+ * one row; if it is current nothing else happens. Otherwise every newer step runs in a single
+ * transaction and the stored version is bumped in that same transaction.
+ */
+public class DatabaseSeeder extends RoomDatabase.Callback {
+
+    public static final String SEED_VERSION_KEY = "seed_version";
+
+    /**
+     * One idempotent unit of seed data. Steps run on the raw database because they may run
+     * while Room is still opening it, when DAOs are not usable yet.
+     */
+    public interface SeedStep {
+        /**
+         * @return version this step belongs to, steps run in ascending version order
+         */
+        int getVersion();
+
+        void apply(SupportSQLiteDatabase db);
+    }
+
+    private final List<SeedStep> steps;
+
+    /**
+     * @param steps seed steps, in any order
+     */
+    public DatabaseSeeder(List<SeedStep> steps) {
+        List<SeedStep> sorted = new ArrayList<>(steps);
+        Collections.sort(sorted, Comparator.comparingInt(SeedStep::getVersion));
+        this.steps = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * @return the seeder used by the app: the default admin and regular user accounts
+     */
+    public static DatabaseSeeder defaultSeeder() {
+        List<SeedStep> steps = new ArrayList<>();
+        steps.add(new DefaultUsersStep());
+        return new DatabaseSeeder(steps);
+    }
+
+    @Override
+    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+        super.onOpen(db);
+        apply(db);
+    }
+
+    /**
+     * Runs any steps newer than the stored seed version on an already open database
+     * @param database database to seed
+     * @return number of steps applied
+     */
+    public int applyTo(RoomDatabase database) {
+        return apply(database.getOpenHelper().getWritableDatabase());
+    }
+
+    private int apply(SupportSQLiteDatabase db) {
+        if (steps.isEmpty()) {
+            return 0;
+        }
+        int target = steps.get(steps.size() - 1).getVersion();
+        if (readSeedVersion(db) >= target) {
+            // warm database, a single primary-key read and nothing else
+            return 0;
+        }
+
+        int applied = 0;
+        db.beginTransaction();
+        try {
+            // read again inside the transaction in case another connection seeded first
+            int current = readSeedVersion(db);
+            for (SeedStep step : steps) {
+                if (step.getVersion() > current) {
+                    step.apply(db);
+                    applied++;
+                }
+            }
+            db.execSQL("INSERT OR REPLACE INTO " + TaskManagerDatabase.METADATA_TABLE + " (`key`, `value`) VALUES (?, ?)",
+                    new Object[]{SEED_VERSION_KEY, String.valueOf(Math.max(current, target))});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Log.i(MainActivity.TAG, "Applied " + applied + " seed steps, seed version is now " + target);
+        return applied;
+    }
+
+    private static int readSeedVersion(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("SELECT `value` FROM " + TaskManagerDatabase.METADATA_TABLE + " WHERE `key` = ?",
+                new Object[]{SEED_VERSION_KEY})) {
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                try {
+                    return Integer.parseInt(cursor.getString(0));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Creates the admin/admin123 and user/user123 accounts if their usernames are free
+     */
+    static final class DefaultUsersStep implements SeedStep {
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public void apply(SupportSQLiteDatabase db) {
+            insertUserIfAbsent(db, "admin", "admin123", "Administrator", true);
+            insertUserIfAbsent(db, "user", "user123", "Regular User", false);
+        }
+
+        private static void insertUserIfAbsent(SupportSQLiteDatabase db, String username, String password,
+                                               String title, boolean isAdmin) {
+            // the unique username index skips the row if the name is taken in any case
+            db.execSQL("INSERT OR IGNORE INTO " + TaskManagerDatabase.USER_TABLE
+                            + " (username, password, passwordSalt, title, isAdmin, createdTimestamp)"
+                            + " VALUES (?, ?, NULL, ?, ?, ?)",
+                    new Object[]{username, password, title, isAdmin ? 1 : 0, System.currentTimeMillis()});
+        }
+    }
+
+    /**
+     * Bulk demo or test dataset: a number of users, each with a number of tasks.
+     * Uses one prepared statement per table, so large datasets load in a single transaction.
+     */
+    public static final class DemoDataStep implements SeedStep {
+        private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+        private final int version;
+        private final int userCount;
+        private final int tasksPerUser;
+
+        /**
+         * @param version seed version of this dataset
+         * @param userCount users to create, named demo_user_0, demo_user_1, ...
+         * @param tasksPerUser tasks assigned to each user
+         */
+        public DemoDataStep(int version, int userCount, int tasksPerUser) {
+            this.version = version;
+            this.userCount = userCount;
+            this.tasksPerUser = tasksPerUser;
+        }
+
+        @Override
+        public int getVersion() {
+            return version;
+        }
+
+        @Override
+        public void apply(SupportSQLiteDatabase db) {
+            long now = System.currentTimeMillis();
+            SupportSQLiteStatement insertUser = db.compileStatement("INSERT INTO " + TaskManagerDatabase.USER_TABLE
+                    + " (username, password, passwordSalt, title, isAdmin, createdTimestamp) VALUES (?, ?, NULL, ?, 0, ?)");
+            SupportSQLiteStatement insertTask = db.compileStatement("INSERT INTO " + TaskManagerDatabase.TASK_TABLE
+                    + " (title, description, status, assignedUserId) VALUES (?, ?, ?, ?)");
+            try {
+                for (int u = 0; u < userCount; u++) {
+                    insertUser.bindString(1, "demo_user_" + u);
+                    insertUser.bindString(2, "demo123");
+                    insertUser.bindString(3, "Demo User");
+                    insertUser.bindLong(4, now);
+                    long userId = insertUser.executeInsert();
+
+                    for (int t = 0; t < tasksPerUser; t++) {
+                        insertTask.bindString(1, "Demo task " + t);
+                        insertTask.bindString(2, "Generated for demo_user_" + u);
+                        insertTask.bindLong(3, STATUSES[t % STATUSES.length].getCode());
+                        insertTask.bindLong(4, userId);
+                        insertTask.executeInsert();
+                    }
+                }
+            } finally {
+                closeQuietly(insertUser);
+                closeQuietly(insertTask);
+            }
+        }
+
+        private static void closeQuietly(SupportSQLiteStatement statement) {
+            try {
+                statement.close();
+            } catch (Exception e) {
+                Log.w(MainActivity.TAG, "Could not close seed statement", e);
+            }
+        }
+    }
+}
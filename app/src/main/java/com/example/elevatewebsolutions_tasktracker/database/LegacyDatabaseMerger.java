@@ -0,0 +1,151 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.elevatewebsolutions_tasktracker.MainActivity;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One-time merge of the retired App_database file into TaskManager_database.
+ *
+ * <p>Older builds also opened a second Room database (AppDatabase) that mapped the same
+ * User and Task entities. On open, any rows left in that file are copied over and the
+ * file is deleted. Users are matched by username, and tasks are re-pointed at the merged
+ * user IDs. If the merge fails the file is kept and the merge is retried on the next open.
+ */
+public class LegacyDatabaseMerger extends RoomDatabase.Callback {
+
+    public static final String LEGACY_DATABASE_NAME = "App_database";
+
+    private static final String LEGACY_SCHEMA = "legacy";
+
+    private final Context context;
+    private final String legacyName;
+
+    public LegacyDatabaseMerger(Context context) {
+        this(context, LEGACY_DATABASE_NAME);
+    }
+
+    /**
+     * @param context context used to locate and delete the legacy file
+     * @param legacyName database name of the legacy file
+     */
+    LegacyDatabaseMerger(Context context, String legacyName) {
+        this.context = context.getApplicationContext();
+        this.legacyName = legacyName;
+    }
+
+    @Override
+    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+        super.onOpen(db);
+        File legacyFile = context.getDatabasePath(legacyName);
+        if (!legacyFile.exists()) {
+            return;
+        }
+        try {
+            int[] merged = merge(db, legacyFile);
+            context.deleteDatabase(legacyName);
+            Log.i(MainActivity.TAG, "Merged " + merged[0] + " users and " + merged[1]
+                    + " tasks from " + legacyName);
+        } catch (RuntimeException e) {
+            Log.e(MainActivity.TAG, "Could not merge " + legacyName + ", will retry on next open", e);
+        }
+    }
+
+    /**
+     * Copies users and tasks from the attached legacy file
+     * @return number of users and tasks inserted
+     */
+    private int[] merge(SupportSQLiteDatabase db, File legacyFile) {
+        // ATTACH is not allowed inside a transaction
+        db.execSQL("ATTACH DATABASE ? AS " + LEGACY_SCHEMA, new Object[]{legacyFile.getAbsolutePath()});
+        try {
+            Set<String> userColumns = columnsOf(db, TaskManagerDatabase.USER_TABLE);
+            Set<String> taskColumns = columnsOf(db, TaskManagerDatabase.TASK_TABLE);
+            if (!userColumns.contains("username")) {
+                // nothing we can match on, the file was never used
+                return new int[]{0, 0};
+            }
+
+            db.beginTransaction();
+            try {
+                int users = copyUsers(db, userColumns);
+                int tasks = taskColumns.contains("assignedUserId") ? copyTasks(db, taskColumns) : 0;
+                db.setTransactionSuccessful();
+                return new int[]{users, tasks};
+            } finally {
+                db.endTransaction();
+            }
+        } finally {
+            db.execSQL("DETACH DATABASE " + LEGACY_SCHEMA);
+        }
+    }
+
+    private int copyUsers(SupportSQLiteDatabase db, Set<String> legacyColumns) {
+        String[] columns = {"username", "password", "passwordSalt", "title", "isAdmin", "createdTimestamp"};
+        StringBuilder insert = new StringBuilder();
+        StringBuilder select = new StringBuilder();
+        for (String column : columns) {
+            if (insert.length() > 0) {
+                insert.append(", ");
+                select.append(", ");
+            }
+            insert.append('`').append(column).append('`');
+            if (legacyColumns.contains(column)) {
+                select.append("l.`").append(column).append('`');
+            } else if ("createdTimestamp".equals(column)) {
+                // NOT NULL in the current schema
+                select.append(System.currentTimeMillis());
+            } else {
+                select.append("NULL");
+            }
+        }
+        // usernames already taken here, in any case, are skipped by the unique index
+        return changes(db, "INSERT OR IGNORE INTO main.`" + TaskManagerDatabase.USER_TABLE + "` (" + insert + ")"
+                + " SELECT " + select + " FROM " + LEGACY_SCHEMA + ".`" + TaskManagerDatabase.USER_TABLE + "` l"
+                + " WHERE l.username IS NOT NULL");
+    }
+
+    private int copyTasks(SupportSQLiteDatabase db, Set<String> legacyColumns) {
+        String title = legacyColumns.contains("title") ? "t.title" : "NULL";
+        String description = legacyColumns.contains("description") ? "t.description" : "NULL";
+        // the legacy file kept status as text, this schema stores TaskStatus codes
+        String status = legacyColumns.contains("status")
+                ? TaskStatus.codeFromTextSql("t.status")
+                : String.valueOf(TaskStatus.TO_DO.getCode());
+        // legacy user IDs mean nothing here, follow the username to the merged user
+        return changes(db, "INSERT INTO main.`" + TaskManagerDatabase.TASK_TABLE + "` (title, description, status, assignedUserId)"
+                + " SELECT " + title + ", " + description + ", " + status + ", mu.id"
+                + " FROM " + LEGACY_SCHEMA + ".`" + TaskManagerDatabase.TASK_TABLE + "` t"
+                + " JOIN " + LEGACY_SCHEMA + ".`" + TaskManagerDatabase.USER_TABLE + "` lu ON lu.id = t.assignedUserId"
+                + " JOIN main.`" + TaskManagerDatabase.USER_TABLE + "` mu ON mu.username = lu.username COLLATE NOCASE");
+    }
+
+    private static int changes(SupportSQLiteDatabase db, String sql) {
+        db.execSQL(sql);
+        try (Cursor cursor = db.query("SELECT changes()")) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    private static Set<String> columnsOf(SupportSQLiteDatabase db, String table) {
+        Set<String> columns = new HashSet<>();
+        try (Cursor cursor = db.query("PRAGMA " + LEGACY_SCHEMA + ".table_info(`" + table + "`)")) {
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                columns.add(cursor.getString(nameIndex));
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.example.elevatewebsolutions_tasktracker.MainActivity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the one TaskManagerRepository. The first caller creates it on the background executor
+ * and every caller gets the same future, set once by compare-and-set, so no lock is ever taken
+ * and the calling thread never waits.
+ */
+final class RepositoryHolder {
+
+    /**
+     * Creates the repository; only ever called on the holder's executor
+     */
+    interface Factory {
+        TaskManagerRepository create(Application application);
+    }
+
+    private final AtomicReference<CompletableFuture<TaskManagerRepository>> instance = new AtomicReference<>();
+    private final Factory factory;
+    private final Executor executor;
+
+    /**
+     * @param factory creates the repository
+     * @param executor where the repository is created and its database opened
+     */
+    RepositoryHolder(Factory factory, Executor executor) {
+        this.factory = factory;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts creating the repository if nobody has yet. Returns immediately.
+     * @param application
+     * @return a future completed with the repository once its database is open
+     */
+    CompletableFuture<TaskManagerRepository> warmUp(Application application) {
+        CompletableFuture<TaskManagerRepository> current = instance.get();
+        if (current == null) {
+            CompletableFuture<TaskManagerRepository> created = new CompletableFuture<>();
+            if (instance.compareAndSet(null, created)) {
+                executor.execute(() -> construct(application, created));
+            }
+            current = instance.get();
+        }
+        return current.thenApplyAsync(repository -> {
+            // opening the database runs pending migrations and the open callbacks
+            repository.openDatabase();
+            return repository;
+        }, executor);
+    }
+
+    private void construct(Application application, CompletableFuture<TaskManagerRepository> target) {
+        try {
+            target.complete(factory.create(application));
+        } catch (RuntimeException e) {
+            Log.d(MainActivity.TAG, "Problem creating TaskManagerRepository", e);
+            // let the next caller try again
+            instance.compareAndSet(target, null);
+            target.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.os.OperationCanceledException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.os.CancellationSignal;
+import androidx.room.InvalidationTracker;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TaskStore over the Room database: every method is one TaskDAO call, searches go through
+ * the full-text index, and listeners are InvalidationTracker observers on the task and comment
+ * tables, since comment writes change the badge columns of a summary.
+ */
+public class RoomTaskStore implements TaskStore {
+
+    private final TaskManagerDatabase database;
+    private final TaskDAO taskDAO;
+    private final Map<ChangeListener, InvalidationTracker.Observer> observers = new ConcurrentHashMap<>();
+
+    public RoomTaskStore(TaskManagerDatabase database) {
+        this.database = database;
+        this.taskDAO = database.taskDAO();
+    }
+
+    @Override
+    public List<Long> insertTasks(List<Task> tasks) {
+        return taskDAO.insertTasks(tasks);
+    }
+
+    @Override
+    public int updateTasks(List<Task> tasks) {
+        return taskDAO.updateTasks(tasks);
+    }
+
+    @Override
+    public int deleteTasks(List<Task> tasks) {
+        return taskDAO.deleteTasks(tasks);
+    }
+
+    @Override
+    public int deleteTaskById(int taskId) {
+        return taskDAO.deleteTaskById(taskId);
+    }
+
+    @Nullable
+    @Override
+    public Task getTask(int taskId) {
+        return taskDAO.getTaskByIdSync(taskId);
+    }
+
+    @Override
+    public int updateStatus(int taskId, TaskStatus status, long completedAt) {
+        return taskDAO.updateStatus(taskId, status, completedAt);
+    }
+
+    @Override
+    public int updateTitle(int taskId, String title) {
+        return taskDAO.updateTitle(taskId, title);
+    }
+
+    @Override
+    public int updateDescription(int taskId, String description) {
+        return taskDAO.updateDescription(taskId, description);
+    }
+
+    @Override
+    public int reassign(int taskId, int userId) {
+        return taskDAO.reassign(taskId, userId);
+    }
+
+    @Override
+    public List<TaskSummary> getTaskPage(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                         int afterTaskId, int limit) {
+        boolean descending = sortOrder == TaskSortOrder.NEWEST_FIRST;
+        if (status == null) {
+            return descending
+                    ? taskDAO.getTaskSummariesPageByUserIdDesc(userId, afterTaskId, limit)
+                    : taskDAO.getTaskSummariesPageByUserId(userId, afterTaskId, limit);
+        }
+        return descending
+                ? taskDAO.getTaskSummariesPageByUserIdAndStatusDesc(userId, status, afterTaskId, limit)
+                : taskDAO.getTaskSummariesPageByUserIdAndStatus(userId, status, afterTaskId, limit);
+    }
+
+    @Override
+    public List<TaskSummary> getTaskRange(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                          int afterTaskId, int upToTaskId) {
+        boolean descending = sortOrder == TaskSortOrder.NEWEST_FIRST;
+        if (status == null) {
+            return descending
+                    ? taskDAO.getTaskSummariesInRangeByUserIdDesc(userId, afterTaskId, upToTaskId)
+                    : taskDAO.getTaskSummariesInRangeByUserId(userId, afterTaskId, upToTaskId);
+        }
+        return descending
+                ? taskDAO.getTaskSummariesInRangeByUserIdAndStatusDesc(userId, status, afterTaskId, upToTaskId)
+                : taskDAO.getTaskSummariesInRangeByUserIdAndStatus(userId, status, afterTaskId, upToTaskId);
+    }
+
+    @Override
+    public List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit) {
+        return searchTasks(userId, query, status, limit, null);
+    }
+
+    @Override
+    public List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit,
+                                         @Nullable StoreCancellation cancellation) {
+        String anyMatch = TaskSearchQuery.matchAnyColumn(query);
+        if (anyMatch == null) {
+            return new ArrayList<>();
+        }
+        String titleMatch = TaskSearchQuery.matchTitle(query);
+        Integer statusCode = status != null ? status.getCode() : null;
+        CancellationSignal signal = null;
+        if (cancellation != null) {
+            signal = new CancellationSignal();
+            // SQLite checks the signal between steps, so this stops the query mid-scan
+            cancellation.setOnCancelListener(signal::cancel);
+        }
+        try {
+            return taskDAO.searchTasksForUserSync(userId, statusCode, titleMatch, anyMatch, limit, signal);
+        } catch (OperationCanceledException e) {
+            // the caller has already dropped this search
+            return new ArrayList<>();
+        } finally {
+            if (cancellation != null) {
+                cancellation.setOnCancelListener(null);
+            }
+        }
+    }
+
+    @Override
+    public <T> T runInTransaction(Callable<T> work) {
+        return database.runInTransaction(work);
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer(
+                TaskManagerDatabase.TASK_TABLE, TaskManagerDatabase.COMMENT_TABLE) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                listener.onTasksChanged();
+            }
+        };
+        if (observers.putIfAbsent(listener, observer) == null) {
+            database.getInvalidationTracker().addObserver(observer);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        InvalidationTracker.Observer observer = observers.remove(listener);
+        if (observer != null) {
+            database.getInvalidationTracker().removeObserver(observer);
+        }
+    }
+}
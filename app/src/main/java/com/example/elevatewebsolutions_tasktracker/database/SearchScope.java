@@ -0,0 +1,13 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+/**
+ * Which tables a task search reads
+ */
+public enum SearchScope {
+    // open work and recently completed tasks in task_table
+    ACTIVE,
+    // completed tasks moved to archived_task_table
+    ARCHIVED,
+    // both, active results first
+    ALL
+}
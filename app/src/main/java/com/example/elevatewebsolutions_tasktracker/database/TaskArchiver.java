@@ -0,0 +1,101 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.util.Log;
+
+import com.example.elevatewebsolutions_tasktracker.MainActivity;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.executor.PriorityLaneExecutor;
+import com.example.elevatewebsolutions_tasktracker.executor.TaskPriority;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks, and their comments, from the active tables into the archive.
+ *
+ * <p>Each chunk is its own short transaction queued at background priority on the write lane,
+ * so user writes waiting behind the mover run between chunks instead of after the whole move.
+ */
+public class TaskArchiver {
+
+    // completed tasks stay in the active list this long before they are archived
+    public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    public static final int DEFAULT_CHUNK_SIZE = 200;
+
+    private final TaskManagerDatabase database;
+    private final ArchiveDAO archiveDAO;
+    private final PriorityLaneExecutor writer;
+    private final int chunkSize;
+
+    /**
+     * @param database database to move rows within
+     * @param writer write lane the chunks run on
+     * @param chunkSize most tasks moved per transaction
+     */
+    public TaskArchiver(TaskManagerDatabase database, PriorityLaneExecutor writer, int chunkSize) {
+        this.database = database;
+        this.archiveDAO = database.archiveDAO();
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archives every task completed more than {@code maxAgeMillis} ago
+     * @param maxAgeMillis how long a completed task stays active
+     * @return a future completed with the number of tasks moved
+     */
+    public CompletableFuture<Integer> archiveOlderThan(long maxAgeMillis) {
+        return archiveCompletedBefore(System.currentTimeMillis() - maxAgeMillis);
+    }
+
+    /**
+     * Archives every task completed before a point in time, one chunk per transaction
+     * @param completedBefore cutoff in milliseconds
+     * @return a future completed with the number of tasks moved
+     */
+    public CompletableFuture<Integer> archiveCompletedBefore(long completedBefore) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        scheduleChunk(completedBefore, 0, result);
+        return result;
+    }
+
+    private void scheduleChunk(long completedBefore, int movedSoFar, CompletableFuture<Integer> result) {
+        writer.execute(() -> {
+            try {
+                int moved = moveChunk(completedBefore);
+                if (moved == chunkSize) {
+                    scheduleChunk(completedBefore, movedSoFar + moved, result);
+                } else {
+                    if (movedSoFar + moved > 0) {
+                        Log.i(MainActivity.TAG, "Archived " + (movedSoFar + moved) + " completed tasks");
+                    }
+                    result.complete(movedSoFar + moved);
+                }
+            } catch (RuntimeException e) {
+                Log.e(MainActivity.TAG, "Archiving stopped after " + movedSoFar + " tasks", e);
+                result.completeExceptionally(e);
+            }
+        }, TaskPriority.BACKGROUND);
+    }
+
+    /**
+     * Copies one chunk of tasks and their comments to the archive and deletes the originals
+     * @return number of tasks moved
+     */
+    int moveChunk(long completedBefore) {
+        return database.runInTransaction(() -> {
+            List<Integer> taskIds = archiveDAO.getTaskIdsCompletedBefore(TaskStatus.COMPLETE, completedBefore, chunkSize);
+            if (taskIds.isEmpty()) {
+                return 0;
+            }
+            // parents first so the archived comments' foreign keys resolve
+            archiveDAO.copyTasksToArchive(taskIds, System.currentTimeMillis());
+            archiveDAO.copyCommentsToArchive(taskIds);
+            archiveDAO.deleteActiveComments(taskIds);
+            archiveDAO.deleteActiveTasks(taskIds);
+            return taskIds.size();
+        });
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.elevatewebsolutions_tasktracker.database;
 
+import androidx.annotation.Nullable;
+import androidx.core.os.CancellationSignal;
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
@@ -9,13 +11,17 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 
 import java.util.List;
 
 @Dao
 public interface TaskDAO {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // ABORT rather than REPLACE: a replace deletes the old row first, which cascades to its
+    // comments and fires the FTS delete trigger. Changes to stored tasks go through @Update.
+    @Insert(onConflict = OnConflictStrategy.ABORT)
     void insert(Task... tasks);
 
     @Update
@@ -24,6 +30,16 @@ public interface TaskDAO {
     @Delete
     void delete(Task task);
 
+    // Bulk variants, meant to run inside one transaction (see TaskManagerRepository.insertTasks)
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    List<Long> insertTasks(List<Task> tasks);
+
+    @Update
+    int updateTasks(List<Task> tasks);
+
+    @Delete
+    int deleteTasks(List<Task> tasks);
+
     @Query("DELETE FROM " + TaskManagerDatabase.TASK_TABLE)
     void deleteAllTasks();
 
@@ -36,12 +52,75 @@ public interface TaskDAO {
     @Query("SELECT * FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE taskId = :taskId")
     LiveData<Task> getTaskById(int taskId);
 
+    @Query("SELECT * FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE taskId = :taskId")
+    Task getTaskByIdSync(int taskId);
+
+    // Column-level updates. Each one writes a single column without reading the row first,
+    // and matches no row when the value is unchanged, so observers are not invalidated for a no-op.
+    // completedAt moves with the status, see TaskManagerRepository.completionTimeFor
+    @Query("UPDATE " + TaskManagerDatabase.TASK_TABLE + " SET status = :status, completedAt = :completedAt WHERE taskId = :taskId AND status IS NOT :status")
+    int updateStatus(int taskId, TaskStatus status, long completedAt);
+
+    @Query("UPDATE " + TaskManagerDatabase.TASK_TABLE + " SET title = :title WHERE taskId = :taskId AND title IS NOT :title")
+    int updateTitle(int taskId, String title);
+
+    @Query("UPDATE " + TaskManagerDatabase.TASK_TABLE + " SET description = :description WHERE taskId = :taskId AND description IS NOT :description")
+    int updateDescription(int taskId, String description);
+
+    @Query("UPDATE " + TaskManagerDatabase.TASK_TABLE + " SET assignedUserId = :userId WHERE taskId = :taskId AND assignedUserId != :userId")
+    int reassign(int taskId, int userId);
+
+    // Keyset paging for task lists: (assignedUserId, taskId) is served by the assignedUserId
+    // index, which carries the rowid, and the status variants by the (assignedUserId, status,
+    // taskId) index in either direction, so no page ever needs an OFFSET scan. Rows are
+    // summaries with the description cut to a short preview in SQL, so list pages stay small.
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND taskId > :afterTaskId ORDER BY taskId ASC LIMIT :limit")
+    List<TaskSummary> getTaskSummariesPageByUserId(int userId, int afterTaskId, int limit);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND taskId > :afterTaskId AND taskId <= :upToTaskId ORDER BY taskId ASC")
+    List<TaskSummary> getTaskSummariesInRangeByUserId(int userId, int afterTaskId, int upToTaskId);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND taskId < :beforeTaskId ORDER BY taskId DESC LIMIT :limit")
+    List<TaskSummary> getTaskSummariesPageByUserIdDesc(int userId, int beforeTaskId, int limit);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND taskId < :beforeTaskId AND taskId >= :downToTaskId ORDER BY taskId DESC")
+    List<TaskSummary> getTaskSummariesInRangeByUserIdDesc(int userId, int beforeTaskId, int downToTaskId);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND status = :status AND taskId > :afterTaskId ORDER BY taskId ASC LIMIT :limit")
+    List<TaskSummary> getTaskSummariesPageByUserIdAndStatus(int userId, TaskStatus status, int afterTaskId, int limit);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND status = :status AND taskId > :afterTaskId AND taskId <= :upToTaskId ORDER BY taskId ASC")
+    List<TaskSummary> getTaskSummariesInRangeByUserIdAndStatus(int userId, TaskStatus status, int afterTaskId, int upToTaskId);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND status = :status AND taskId < :beforeTaskId ORDER BY taskId DESC LIMIT :limit")
+    List<TaskSummary> getTaskSummariesPageByUserIdAndStatusDesc(int userId, TaskStatus status, int beforeTaskId, int limit);
+
+    @Query("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND status = :status AND taskId < :beforeTaskId AND taskId >= :downToTaskId ORDER BY taskId DESC")
+    List<TaskSummary> getTaskSummariesInRangeByUserIdAndStatusDesc(int userId, TaskStatus status, int beforeTaskId, int downToTaskId);
+
     @Query("SELECT * FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE status = :status ORDER BY taskId ASC")
-    LiveData<List<Task>> getTasksByStatus(String status);
+    LiveData<List<Task>> getTasksByStatus(TaskStatus status);
+
+    // Status codes follow the workflow, so "not yet at this status" is one integer range
+    // on the (assignedUserId, status, taskId) index, e.g. open work is below COMPLETE.
+    @Query("SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE assignedUserId = :userId AND status < :status")
+    int countTasksForUserBeforeStatus(int userId, TaskStatus status);
 
-    @Query("SELECT * FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE title LIKE :searchQuery OR description LIKE :searchQuery ORDER BY taskId ASC")
-    LiveData<List<Task>> searchTasks(String searchQuery);
+    // Full-text search through task_fts. Title hits rank ahead of description-only hits.
+    // Results feed the task list, so they are returned as summaries.
+    // Build the MATCH arguments with TaskSearchQuery. A null statusCode keeps every status.
+    // Cancelling the signal interrupts the running query, which then throws OperationCanceledException.
+    @Query("SELECT " + TaskSummary.COLUMNS_T + " FROM " + TaskManagerDatabase.TASK_TABLE + " t"
+            + " JOIN (SELECT hitId, MIN(hitRank) AS hitRank FROM ("
+            + "SELECT rowid AS hitId, 0 AS hitRank FROM " + TaskManagerDatabase.TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.TASK_FTS_TABLE + " MATCH :titleMatch"
+            + " UNION ALL "
+            + "SELECT rowid AS hitId, 1 AS hitRank FROM " + TaskManagerDatabase.TASK_FTS_TABLE + " WHERE " + TaskManagerDatabase.TASK_FTS_TABLE + " MATCH :anyMatch"
+            + ") GROUP BY hitId) hits ON hits.hitId = t.taskId"
+            + " WHERE t.assignedUserId = :userId AND (:statusCode IS NULL OR t.status = :statusCode)"
+            + " ORDER BY hits.hitRank ASC, t.taskId ASC LIMIT :limit")
+    List<TaskSummary> searchTasksForUserSync(int userId, @Nullable Integer statusCode, String titleMatch, String anyMatch, int limit,
+                                             @Nullable CancellationSignal cancellationSignal);
 
     @Query("DELETE FROM " + TaskManagerDatabase.TASK_TABLE + " WHERE taskId = :taskId")
-    void deleteTaskById(int taskId);
+    int deleteTaskById(int taskId);
 }
@@ -1,12 +1,13 @@
 package com.example.elevatewebsolutions_tasktracker.database;
 
 import android.content.Context;
+import android.database.Cursor;
 import android.util.Log;
 
-import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.TypeConverters;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
@@ -14,9 +15,15 @@ import com.example.elevatewebsolutions_tasktracker.MainActivity;
 import com.example.elevatewebsolutions_tasktracker.database.entities.User;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskFts;
+import com.example.elevatewebsolutions_tasktracker.database.entities.AppMetadata;
+import com.example.elevatewebsolutions_tasktracker.database.entities.ArchivedComment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.ArchivedTask;
+import com.example.elevatewebsolutions_tasktracker.database.entities.ArchivedTaskFts;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.executor.AppExecutors;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 //Admin Account:
 //Username: admin
@@ -26,13 +33,20 @@ import java.util.concurrent.Executors;
 //Username: user
 //Password: user123
 
-@Database(entities = {User.class, Task.class, Comment.class}, version = 5, exportSchema = false)
+@TypeConverters(TaskStatusConverter.class)
+@Database(entities = {User.class, Task.class, Comment.class, TaskFts.class, AppMetadata.class,
+        ArchivedTask.class, ArchivedComment.class, ArchivedTaskFts.class}, version = 12, exportSchema = true)
 public abstract class TaskManagerDatabase extends RoomDatabase {
 
-    // Table names
-    public static final String USER_TABLE = "user_table";
-    public static final String TASK_TABLE = "task_table";
-    public static final String COMMENT_TABLE = "comment_table";
+    // Table names, defined with the entities
+    public static final String USER_TABLE = Tables.USER_TABLE;
+    public static final String TASK_TABLE = Tables.TASK_TABLE;
+    public static final String COMMENT_TABLE = Tables.COMMENT_TABLE;
+    public static final String TASK_FTS_TABLE = Tables.TASK_FTS_TABLE;
+    public static final String METADATA_TABLE = Tables.METADATA_TABLE;
+    public static final String ARCHIVED_TASK_TABLE = Tables.ARCHIVED_TASK_TABLE;
+    public static final String ARCHIVED_COMMENT_TABLE = Tables.ARCHIVED_COMMENT_TABLE;
+    public static final String ARCHIVED_TASK_FTS_TABLE = Tables.ARCHIVED_TASK_FTS_TABLE;
 
     // Database name
     private static final String DATABASE_NAME = "TaskManager_database";
@@ -44,10 +58,14 @@ public abstract class TaskManagerDatabase extends RoomDatabase {
     public abstract UserDAO userDAO();
     public abstract TaskDAO taskDAO();
     public abstract CommentDAO commentDAO();
+    public abstract AppMetadataDAO metadataDAO();
+    public abstract ArchiveDAO archiveDAO();
 
-    //Number of threads repository will run on
-    private static final int NUMBER_OF_THREADS = 4;
-    public static final ExecutorService databaseWriteExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    // Serial write lane shared by the whole app, see AppExecutors
+    public static final ExecutorService databaseWriteExecutor = AppExecutors.getInstance().diskWrite();
+
+    // Rows touched per statement when a migration rewrites a table, see execInBatches
+    static final int MIGRATION_BATCH_SIZE = 5000;
 
     // Migration from version 1 to 2 (adds authentication fields)
     static final Migration MIGRATION_1_2 = new Migration(1, 2) {
@@ -58,7 +76,22 @@ public abstract class TaskManagerDatabase extends RoomDatabase {
             database.execSQL("ALTER TABLE " + USER_TABLE + " ADD COLUMN createdTimestamp INTEGER NOT NULL DEFAULT 0");
 
             // Update existing records with current timestamp
-            database.execSQL("UPDATE " + USER_TABLE + " SET createdTimestamp = " + System.currentTimeMillis());
+            execInBatches(database, USER_TABLE, "id", "UPDATE " + USER_TABLE
+                    + " SET createdTimestamp = " + System.currentTimeMillis() + " WHERE id > ? AND id <= ?");
+        }
+    };
+
+    // Migration from version 2 to 3 (tasks move into this database, see LegacyDatabaseMerger for their rows)
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + TASK_TABLE + "` " +
+                    "(`taskId` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`title` TEXT, " +
+                    "`description` TEXT, " +
+                    "`status` TEXT, " +
+                    "`assignedUserId` INTEGER NOT NULL, " +
+                    "FOREIGN KEY(`assignedUserId`) REFERENCES `" + USER_TABLE + "`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
         }
     };
 
@@ -91,8 +124,277 @@ public abstract class TaskManagerDatabase extends RoomDatabase {
         }
     };
 
+    // Migration from version 5 to 6 (adds full-text index over task title and description)
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // Same DDL Room generates for the TaskFts entity
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `" + TASK_FTS_TABLE + "` " +
+                    "USING FTS4(`title` TEXT, `description` TEXT, tokenize=unicode61, content=`" + TASK_TABLE + "`)");
+            createTaskFtsTriggers(database);
+
+            // Index the existing rows a taskId range at a time rather than one 'rebuild' over the table
+            execInBatches(database, TASK_TABLE, "taskId", "INSERT INTO `" + TASK_FTS_TABLE + "`(`docid`, `title`, `description`)"
+                    + " SELECT `taskId`, `title`, `description` FROM `" + TASK_TABLE + "` WHERE `taskId` > ? AND `taskId` <= ?");
+        }
+    };
+
+    // Migration from version 6 to 7 (adds index for status-filtered task lists)
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // Lets a user's tasks with one status be paged without reading the other statuses
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_task_table_assignedUserId_status_taskId` ON `" + TASK_TABLE + "` (`assignedUserId`, `status`, `taskId`)");
+        }
+    };
+
+    // Migration from version 7 to 8 (adds metadata table used to record the seed version)
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + METADATA_TABLE + "` " +
+                    "(`key` TEXT NOT NULL, `value` TEXT, PRIMARY KEY(`key`))");
+        }
+    };
+
+    // Migration from version 8 to 9 (replaces the comment taskId index with (taskId, timestamp))
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // Comment counts and latest comment times per task are answered from this index alone
+            database.execSQL("DROP INDEX IF EXISTS `index_comment_table_taskId`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_comment_table_taskId_timestamp` ON `" + COMMENT_TABLE + "` (`taskId`, `timestamp`)");
+        }
+    };
+
+    // Migration from version 9 to 10 (adds completedAt and the archive tables for completed tasks)
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `" + TASK_TABLE + "` ADD COLUMN `completedAt` INTEGER NOT NULL DEFAULT 0");
+            // tasks completed before this version start ageing from now
+            execInBatches(database, TASK_TABLE, "taskId", "UPDATE `" + TASK_TABLE + "` SET `completedAt` = " + System.currentTimeMillis()
+                    + " WHERE `status` = 'Complete' AND `taskId` > ? AND `taskId` <= ?");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_task_table_status_completedAt` ON `" + TASK_TABLE + "` (`status`, `completedAt`)");
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + ARCHIVED_TASK_TABLE + "` " +
+                    "(`taskId` INTEGER NOT NULL, " +
+                    "`title` TEXT, " +
+                    "`description` TEXT, " +
+                    "`status` TEXT, " +
+                    "`assignedUserId` INTEGER NOT NULL, " +
+                    "`completedAt` INTEGER NOT NULL, " +
+                    "`archivedAt` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`taskId`), " +
+                    "FOREIGN KEY(`assignedUserId`) REFERENCES `" + USER_TABLE + "`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_task_table_assignedUserId` ON `" + ARCHIVED_TASK_TABLE + "` (`assignedUserId`)");
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + ARCHIVED_COMMENT_TABLE + "` " +
+                    "(`commentId` INTEGER NOT NULL, " +
+                    "`taskId` INTEGER NOT NULL, " +
+                    "`authorId` INTEGER NOT NULL, " +
+                    "`text` TEXT, " +
+                    "`timestamp` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`commentId`), " +
+                    "FOREIGN KEY(`taskId`) REFERENCES `" + ARCHIVED_TASK_TABLE + "`(`taskId`) ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`authorId`) REFERENCES `" + USER_TABLE + "`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_comment_table_taskId_timestamp` ON `" + ARCHIVED_COMMENT_TABLE + "` (`taskId`, `timestamp`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_comment_table_authorId` ON `" + ARCHIVED_COMMENT_TABLE + "` (`authorId`)");
+
+            // Same DDL Room generates for the ArchivedTaskFts entity
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `" + ARCHIVED_TASK_FTS_TABLE + "` " +
+                    "USING FTS4(`title` TEXT, `description` TEXT, tokenize=unicode61, content=`" + ARCHIVED_TASK_TABLE + "`)");
+            createFtsTriggers(database, ARCHIVED_TASK_FTS_TABLE, ARCHIVED_TASK_TABLE);
+        }
+    };
+
+    // Migration from version 10 to 11 (status stored as an integer code, see TaskStatus)
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // SQLite cannot change a column type in place, so both task tables are rebuilt
+            // and their rows rewritten in taskId ranges
+            String statusCode = TaskStatus.codeFromTextSql("`status`");
+            long taskSequence = sequenceOf(database, TASK_TABLE);
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + TASK_TABLE + "_new` " +
+                    "(`taskId` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`title` TEXT, " +
+                    "`description` TEXT, " +
+                    "`status` INTEGER NOT NULL, " +
+                    "`assignedUserId` INTEGER NOT NULL, " +
+                    "`completedAt` INTEGER NOT NULL DEFAULT 0, " +
+                    "FOREIGN KEY(`assignedUserId`) REFERENCES `" + USER_TABLE + "`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            copyInBatches(database, TASK_TABLE, "taskId",
+                    "`taskId`, `title`, `description`, `status`, `assignedUserId`, `completedAt`",
+                    "`taskId`, `title`, `description`, " + statusCode + ", `assignedUserId`, `completedAt`");
+            database.execSQL("DROP TABLE `" + TASK_TABLE + "`");
+            database.execSQL("ALTER TABLE `" + TASK_TABLE + "_new` RENAME TO `" + TASK_TABLE + "`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_task_table_assignedUserId` ON `" + TASK_TABLE + "` (`assignedUserId`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_task_table_assignedUserId_status_taskId` ON `" + TASK_TABLE + "` (`assignedUserId`, `status`, `taskId`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_task_table_status_completedAt` ON `" + TASK_TABLE + "` (`status`, `completedAt`)");
+            // legacy spellings such as "closed" only count as complete from now on
+            database.execSQL("UPDATE `" + TASK_TABLE + "` SET `completedAt` = " + System.currentTimeMillis()
+                    + " WHERE `status` = " + TaskStatus.COMPLETE.getCode() + " AND `completedAt` = 0");
+            // taskIds keep their docids in task_fts, only the sync triggers went with the old table
+            createTaskFtsTriggers(database);
+            // archived tasks keep their ids, so new tasks must never reuse one of them
+            restoreSequence(database, TASK_TABLE, taskSequence);
+
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + ARCHIVED_TASK_TABLE + "_new` " +
+                    "(`taskId` INTEGER NOT NULL, " +
+                    "`title` TEXT, " +
+                    "`description` TEXT, " +
+                    "`status` INTEGER NOT NULL, " +
+                    "`assignedUserId` INTEGER NOT NULL, " +
+                    "`completedAt` INTEGER NOT NULL, " +
+                    "`archivedAt` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`taskId`), " +
+                    "FOREIGN KEY(`assignedUserId`) REFERENCES `" + USER_TABLE + "`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+            copyInBatches(database, ARCHIVED_TASK_TABLE, "taskId",
+                    "`taskId`, `title`, `description`, `status`, `assignedUserId`, `completedAt`, `archivedAt`",
+                    "`taskId`, `title`, `description`, " + statusCode + ", `assignedUserId`, `completedAt`, `archivedAt`");
+            database.execSQL("DROP TABLE `" + ARCHIVED_TASK_TABLE + "`");
+            database.execSQL("ALTER TABLE `" + ARCHIVED_TASK_TABLE + "_new` RENAME TO `" + ARCHIVED_TASK_TABLE + "`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_archived_task_table_assignedUserId` ON `" + ARCHIVED_TASK_TABLE + "` (`assignedUserId`)");
+            createFtsTriggers(database, ARCHIVED_TASK_FTS_TABLE, ARCHIVED_TASK_TABLE);
+        }
+    };
+
+    // Migration from version 11 to 12 (usernames unique regardless of case, indexed for login)
+    static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // the unique index cannot be built over duplicates: the oldest account keeps the name,
+            // later ones get their id appended, repeated in case a renamed one collides again
+            database.execSQL("CREATE INDEX IF NOT EXISTS `tmp_user_username_nocase` ON `" + USER_TABLE + "` (`username` COLLATE NOCASE)");
+            int renamed = 0;
+            int changed;
+            do {
+                database.execSQL("UPDATE `" + USER_TABLE + "` SET `username` = `username` || '_' || `id`"
+                        + " WHERE EXISTS (SELECT 1 FROM `" + USER_TABLE + "` o"
+                        + " WHERE o.`username` = `" + USER_TABLE + "`.`username` COLLATE NOCASE AND o.`id` < `" + USER_TABLE + "`.`id`)");
+                try (Cursor cursor = database.query("SELECT changes()")) {
+                    changed = cursor.moveToFirst() ? cursor.getInt(0) : 0;
+                }
+                renamed += changed;
+            } while (changed > 0);
+            database.execSQL("DROP INDEX `tmp_user_username_nocase`");
+            if (renamed > 0) {
+                Log.w(MainActivity.TAG, "Renamed " + renamed + " users whose names differed only in case");
+            }
+
+            // the column collation makes every comparison on username, and the index, case-insensitive
+            long userSequence = sequenceOf(database, USER_TABLE);
+            database.execSQL("CREATE TABLE IF NOT EXISTS `" + USER_TABLE + "_new` " +
+                    "(`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`username` TEXT COLLATE NOCASE, " +
+                    "`password` TEXT, " +
+                    "`passwordSalt` TEXT, " +
+                    "`title` TEXT, " +
+                    "`isAdmin` INTEGER, " +
+                    "`createdTimestamp` INTEGER NOT NULL)");
+            String columns = "`id`, `username`, `password`, `passwordSalt`, `title`, `isAdmin`, `createdTimestamp`";
+            copyInBatches(database, USER_TABLE, "id", columns, columns);
+            database.execSQL("DROP TABLE `" + USER_TABLE + "`");
+            database.execSQL("ALTER TABLE `" + USER_TABLE + "_new` RENAME TO `" + USER_TABLE + "`");
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_user_table_username` ON `" + USER_TABLE + "` (`username`)");
+            restoreSequence(database, USER_TABLE, userSequence);
+        }
+    };
+
+    // Complete upgrade chain from the first shipped version, in order
+    static final Migration[] ALL_MIGRATIONS = {
+            MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7,
+            MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12
+    };
+
+    /**
+     * Copies a table into {@code <table>_new} one key range at a time, so no single
+     * statement has to hold the whole table
+     * @param database database being migrated
+     * @param table source table
+     * @param key integer primary key the ranges are taken over
+     * @param columns columns of the new table to fill
+     * @param select matching expressions over the old table
+     */
+    private static void copyInBatches(SupportSQLiteDatabase database, String table, String key, String columns, String select) {
+        execInBatches(database, table, key, "INSERT INTO `" + table + "_new` (" + columns + ") SELECT " + select
+                + " FROM `" + table + "` WHERE `" + key + "` > ? AND `" + key + "` <= ?");
+    }
+
+    /**
+     * Runs a statement once per MIGRATION_BATCH_SIZE range of a table's integer key.
+     * The statement's two parameters receive the exclusive lower and inclusive upper bound.
+     * Migrations still commit as one transaction, but each statement's work stays bounded.
+     * @param database database being migrated
+     * @param table table whose key ranges are walked
+     * @param key integer primary key column
+     * @param sql statement ending in a {@code key > ? AND key <= ?} condition
+     */
+    private static void execInBatches(SupportSQLiteDatabase database, String table, String key, String sql) {
+        long maxKey;
+        try (Cursor cursor = database.query("SELECT IFNULL(MAX(`" + key + "`), 0) FROM `" + table + "`")) {
+            maxKey = cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+        for (long from = 0; from < maxKey; from += MIGRATION_BATCH_SIZE) {
+            database.execSQL(sql, new Object[]{from, from + MIGRATION_BATCH_SIZE});
+        }
+    }
+
     /**
-     * Singleton pattern implementation for database access
+     * @return the AUTOINCREMENT high-water mark of a table, 0 if it never had a row
+     */
+    private static long sequenceOf(SupportSQLiteDatabase database, String table) {
+        try (Cursor cursor = database.query("SELECT seq FROM sqlite_sequence WHERE name = ?", new Object[]{table})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    /**
+     * Puts back the AUTOINCREMENT high-water mark a rebuilt table had before, so ids of
+     * deleted or archived rows are never handed out again
+     */
+    private static void restoreSequence(SupportSQLiteDatabase database, String table, long sequence) {
+        if (sequence > 0) {
+            database.execSQL("DELETE FROM sqlite_sequence WHERE name = ?", new Object[]{table});
+            database.execSQL("INSERT INTO sqlite_sequence (name, seq) VALUES (?, ?)", new Object[]{table, sequence});
+        }
+    }
+
+    /**
+     * Creates the triggers that keep task_fts in step with task_table.
+     * Names match the ones Room generates so a fresh install and a migrated one are identical.
+     * @param database database being migrated
+     */
+    static void createTaskFtsTriggers(SupportSQLiteDatabase database) {
+        createFtsTriggers(database, TASK_FTS_TABLE, TASK_TABLE);
+    }
+
+    /**
+     * Creates the triggers that keep an external-content FTS table over title and description
+     * in step with its content table, named the way Room names them
+     * @param database database being migrated
+     * @param ftsTable full-text table
+     * @param contentTable table holding the rows
+     */
+    private static void createFtsTriggers(SupportSQLiteDatabase database, String ftsTable, String contentTable) {
+        String prefix = "room_fts_content_sync_" + ftsTable;
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_BEFORE_UPDATE BEFORE UPDATE ON `" + contentTable + "` " +
+                "BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_BEFORE_DELETE BEFORE DELETE ON `" + contentTable + "` " +
+                "BEGIN DELETE FROM `" + ftsTable + "` WHERE `docid`=OLD.`rowid`; END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_AFTER_UPDATE AFTER UPDATE ON `" + contentTable + "` " +
+                "BEGIN INSERT INTO `" + ftsTable + "`(`docid`, `title`, `description`) " +
+                "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS " + prefix + "_AFTER_INSERT AFTER INSERT ON `" + contentTable + "` " +
+                "BEGIN INSERT INTO `" + ftsTable + "`(`docid`, `title`, `description`) " +
+                "VALUES (NEW.`rowid`, NEW.`title`, NEW.`description`); END");
+    }
+
+    /**
+     * Singleton pattern implementation for database access.
+     * This is the only place the app opens a Room database.
      * @param context Application context
      * @return TaskManagerDatabase instance
      */
@@ -105,66 +407,18 @@ public abstract class TaskManagerDatabase extends RoomDatabase {
                             TaskManagerDatabase.class,
                             DATABASE_NAME
                     )
-                            .addMigrations(MIGRATION_1_2, MIGRATION_3_4, MIGRATION_4_5)
-                            .fallbackToDestructiveMigration() // Allow destructive migration for version changes
-                            .addCallback(addDefaultValues)
+                            .setQueryExecutor(AppExecutors.getInstance().diskRead())
+                            .setTransactionExecutor(AppExecutors.getInstance().diskWrite())
+                            // every version has a path here; a missing step fails loudly instead of wiping data
+                            .addMigrations(ALL_MIGRATIONS)
+                            // creates the default users once, then only checks the seed version
+                            .addCallback(DatabaseSeeder.defaultSeeder())
+                            // folds the retired App_database file into this one, then deletes it
+                            .addCallback(new LegacyDatabaseMerger(context))
                             .build();
                 }
             }
         }
         return INSTANCE;
     }
-
-    /**
-     * Adds Default values to the database in order to test functionality
-     * Adds an admin, adds a user, and adds a couple of tasks
-     */
-    private static final RoomDatabase.Callback addDefaultValues = new RoomDatabase.Callback() {
-       @Override
-        public void onCreate(@NonNull SupportSQLiteDatabase db) {
-            super.onCreate(db);
-            Log.i(MainActivity.TAG, "Database CREATED!");
-            createDefaultUsersSync();
-        }
-
-        @Override
-        public void onOpen(@NonNull SupportSQLiteDatabase db) {
-            super.onOpen(db);
-            Log.i(MainActivity.TAG, "Database OPENED!");
-            // Ensure default users exist every time database opens
-            createDefaultUsersSync();
-        }
-
-        private void createDefaultUsersSync() {
-            // Execute synchronously to ensure users are created before any queries
-            try {
-                databaseWriteExecutor.execute(() -> {
-                    UserDAO dao = INSTANCE.userDAO();
-
-                    // Check if admin user exists, if not create it
-                    User existingAdmin = dao.getUserByUsernameSync("admin");
-                    if (existingAdmin == null) {
-                        User admin = new User("admin", "admin123", "Administrator", true);
-                        dao.insert(admin);
-                        Log.i(MainActivity.TAG, "Created admin user: admin/admin123");
-                    }
-
-                    // Check if regular user exists, if not create it
-                    User existingUser = dao.getUserByUsernameSync("user");
-                    if (existingUser == null) {
-                        User testuser = new User("user", "user123", "Regular User");
-                        dao.insert(testuser);
-                        Log.i(MainActivity.TAG, "Created regular user: user/user123");
-                    }
-
-                    Log.i(MainActivity.TAG, "Default users verified/created:");
-                    Log.i(MainActivity.TAG, "Admin - username: admin, password: admin123");
-                    Log.i(MainActivity.TAG, "User - username: user, password: user123");
-                });
-
-            } catch (Exception e) {
-                Log.e(MainActivity.TAG, "Error creating default users", e);
-            }
-        }
-    };
 }
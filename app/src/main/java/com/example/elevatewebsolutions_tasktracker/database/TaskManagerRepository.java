@@ -3,7 +3,11 @@ package com.example.elevatewebsolutions_tasktracker.database;
 import android.app.Application;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
 
 import com.example.elevatewebsolutions_tasktracker.MainActivity;
 import com.example.elevatewebsolutions_tasktracker.auth.factory.AuthenticationServiceFactory;
@@ -13,29 +17,48 @@ import com.example.elevatewebsolutions_tasktracker.auth.models.UserSession;
 import com.example.elevatewebsolutions_tasktracker.auth.services.SessionManager;
 import com.example.elevatewebsolutions_tasktracker.auth.services.UserAuthenticationService;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 import com.example.elevatewebsolutions_tasktracker.database.entities.User;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.executor.AppExecutors;
+import com.example.elevatewebsolutions_tasktracker.executor.TaskPriority;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class TaskManagerRepository {
 
-    private final TaskDAO taskDAO;
+    // database, DAOs, coalescer and archiver are null for a repository over a bare TaskStore
+    private final TaskManagerDatabase database;
+    private final TaskStore taskStore;
     private final UserDAO userDao;
     private final CommentDAO commentDAO;
-    private LiveData<List<Task>> alltasks;
+    private final WriteCoalescer writeCoalescer;
+    private final TaskArchiver archiver;
+    // TaskStore reads behind LiveData, pager loads, and task transactions
+    private final Executor storeExecutor;
+    private final Executor pageExecutor;
+    private final Executor taskWriteExecutor;
 
-    private static TaskManagerRepository repository;
+    // Holds the one repository, created and opened on the read lane
+    private static final RepositoryHolder INSTANCE = new RepositoryHolder(TaskManagerRepository::new,
+            AppExecutors.getInstance().diskRead().withPriority(TaskPriority.UI));
 
-    private static final int NUMBER_OF_THREADS = 4;
-    public static final ExecutorService databaseWriteExecutor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    // Upper bound on rows returned by a full-text search
+    public static final int SEARCH_RESULT_LIMIT = 200;
+
+    // Background archiving schedule, see TaskArchiver
+    private static final long ARCHIVE_INITIAL_DELAY_MINUTES = 1;
+    private static final long ARCHIVE_PERIOD_MINUTES = 6 * 60;
 
     /**
      * Creates single instance of Database that can be used to update database ensuring
@@ -43,49 +66,95 @@ public class TaskManagerRepository {
      * @param application
      */
     private TaskManagerRepository(Application application) {
-        TaskManagerDatabase db = TaskManagerDatabase.getDatabase(application);
-        this.taskDAO = db.taskDAO();
-        this.userDao = db.userDAO();
-        this.commentDAO = db.commentDAO();
-        this.alltasks = this.taskDAO.getAllTasks();
+        this(TaskManagerDatabase.getDatabase(application));
 
         // Initialize authentication services
         AuthenticationServiceFactory.getInstance().initialize(application);
+
+        // keep completed work out of the active tables, a few times a day
+        AppExecutors.getInstance().scheduler().scheduleWithFixedDelay(
+                () -> archiveCompletedTasks(TaskArchiver.DEFAULT_MAX_AGE_MILLIS),
+                ARCHIVE_INITIAL_DELAY_MINUTES, ARCHIVE_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Creates a repository over an already opened database, without authentication services.
+     * Used by tests that run against an in-memory or temporary database.
+     * @param db database to read and write
+     */
+    TaskManagerRepository(TaskManagerDatabase db) {
+        this(db, WriteCoalescer.DEFAULT_WINDOW_MILLIS, WriteCoalescer.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a repository over an already opened database with a custom write window
+     * @param db database to read and write
+     * @param writeWindowMillis how long single writes wait to be committed together
+     * @param maxWriteBatch most single writes committed in one transaction
+     */
+    TaskManagerRepository(TaskManagerDatabase db, long writeWindowMillis, int maxWriteBatch) {
+        this.database = db;
+        this.taskStore = new RoomTaskStore(db);
+        this.writeCoalescer = new WriteCoalescer(db, writeWindowMillis, maxWriteBatch);
+        this.userDao = db.userDAO();
+        this.commentDAO = db.commentDAO();
+        this.archiver = new TaskArchiver(db, AppExecutors.getInstance().diskWrite(), TaskArchiver.DEFAULT_CHUNK_SIZE);
+        // the same executor Room runs its own observable queries on
+        this.storeExecutor = db.getQueryExecutor();
+        this.pageExecutor = AppExecutors.getInstance().diskRead().withPriority(TaskPriority.UI);
+        this.taskWriteExecutor = TaskManagerDatabase.databaseWriteExecutor;
     }
 
     /**
-     * Checks to see if there is an active repository, if so returns that repository
-     * Else waits for an instance of the repository to be created using the databseWriteExecutor
-     * Uses try and catch to attempt to return created repository, if error occurs exception is thrown
+     * Creates a repository over a TaskStore alone, e.g. an InMemoryTaskStore in a unit test.
+     * Task reads, writes, searches and pagers work; user, comment and archive methods throw
+     * IllegalStateException since there is no database behind them.
+     * @param taskStore store to read and write tasks
+     * @param executor runs every store call, Runnable::run makes the repository synchronous
+     */
+    public TaskManagerRepository(TaskStore taskStore, Executor executor) {
+        this(taskStore, executor, executor);
+    }
+
+    /**
+     * Creates a repository over a TaskStore alone that runs store calls on the app's disk lanes
+     * @param taskStore store to read and write tasks
+     */
+    public TaskManagerRepository(TaskStore taskStore) {
+        this(taskStore, AppExecutors.getInstance().diskRead().withPriority(TaskPriority.UI),
+                AppExecutors.getInstance().diskWrite());
+    }
+
+    private TaskManagerRepository(TaskStore taskStore, Executor readExecutor, Executor writeExecutor) {
+        this.database = null;
+        this.taskStore = taskStore;
+        this.writeCoalescer = null;
+        this.userDao = null;
+        this.commentDAO = null;
+        this.archiver = null;
+        this.storeExecutor = readExecutor;
+        this.pageExecutor = readExecutor;
+        this.taskWriteExecutor = writeExecutor;
+    }
+
+    /**
+     * Starts creating the repository on a background lane and opens the database there,
+     * so migrations and seeding never run on the caller's thread. Returns immediately;
+     * screens attach with {@code thenAcceptAsync(..., mainExecutor)}.
      * @param application
-     * @return instance of repository
+     * @return a future completed with the single repository instance once the database is open
      */
-    public static TaskManagerRepository getRepository(Application application){
-        if (repository != null){
-            return repository;
-        }
-        Future<TaskManagerRepository> future = TaskManagerDatabase.databaseWriteExecutor.submit(
-                new Callable<TaskManagerRepository>() {
-                    @Override
-                    public TaskManagerRepository call() throws Exception {
-                        return new TaskManagerRepository(application);
-                    }
-                }
-        );
-        try{
-            return future.get();
-        }catch(InterruptedException | ExecutionException e){
-            Log.d(MainActivity.TAG, "Problem getting TaskManagerRepository, thread error");
-        }
-        return null;
+    public static CompletableFuture<TaskManagerRepository> warmUp(Application application) {
+        return INSTANCE.warmUp(application);
     }
 
     /**
-     * Gets all tasks in the task database
-     * @return a LiveData list of all tasks
+     * Opens the database if there is one, running pending migrations and the open callbacks
      */
-    public LiveData<List<Task>> getAllTasks(){
-        return  taskDAO.getAllTasks();
+    void openDatabase() {
+        if (database != null) {
+            database.getOpenHelper().getWritableDatabase();
+        }
     }
 
     /**
@@ -93,17 +162,172 @@ public class TaskManagerRepository {
      * @param task
      */
     public void insertTask(Task task) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
-            taskDAO.insert(task);
+        stampCompletion(task);
+        executeTaskWrite(() -> taskStore.insertTasks(Collections.singletonList(task)));
+    }
+
+    /**
+     * Gets counters for the single-row writes committed so far
+     * @return batch size and commit latency metrics of the write coalescer
+     */
+    public WriteCoalescer.Metrics getWriteMetrics() {
+        return coalescer().getMetrics();
+    }
+
+    // Bulk writes. Each call is one transaction, so a batch of thousands of rows
+    // costs a single commit instead of one commit per row.
+
+    /**
+     * Inserts tasks in a single transaction
+     * @param tasks tasks to insert
+     * @return a future with the generated task IDs, in the order of the input
+     */
+    public CompletableFuture<List<Long>> insertTasks(List<Task> tasks) {
+        stampCompletion(tasks);
+        return runTaskTransactionAsync(() -> taskStore.insertTasks(tasks));
+    }
+
+    /**
+     * Updates tasks in a single transaction
+     * @param tasks tasks to update, matched by taskId
+     * @return a future with the number of rows updated
+     */
+    public CompletableFuture<Integer> updateTasks(List<Task> tasks) {
+        stampCompletion(tasks);
+        return runTaskTransactionAsync(() -> taskStore.updateTasks(tasks));
+    }
+
+    /**
+     * Deletes tasks in a single transaction
+     * @param tasks tasks to delete, matched by taskId
+     * @return a future with the number of rows deleted
+     */
+    public CompletableFuture<Integer> deleteTasks(List<Task> tasks) {
+        return runTaskTransactionAsync(() -> taskStore.deleteTasks(tasks));
+    }
+
+    /**
+     * Inserts comments in a single transaction
+     * @param comments comments to insert
+     * @return a future with the generated comment IDs, in the order of the input
+     */
+    public CompletableFuture<List<Long>> insertComments(List<Comment> comments) {
+        return runInTransactionAsync(() -> commentDAO.insertComments(comments));
+    }
+
+    /**
+     * Updates comments in a single transaction
+     * @param comments comments to update, matched by commentId
+     * @return a future with the number of rows updated
+     */
+    public CompletableFuture<Integer> updateComments(List<Comment> comments) {
+        return runInTransactionAsync(() -> commentDAO.updateComments(comments));
+    }
+
+    /**
+     * Deletes comments in a single transaction
+     * @param comments comments to delete, matched by commentId
+     * @return a future with the number of rows deleted
+     */
+    public CompletableFuture<Integer> deleteComments(List<Comment> comments) {
+        return runInTransactionAsync(() -> commentDAO.deleteComments(comments));
+    }
+
+    /**
+     * Inserts users in a single transaction
+     * @param users users to insert
+     * @return a future with the generated user IDs, in the order of the input, -1 where the username was taken
+     */
+    public CompletableFuture<List<Long>> insertUsers(List<User> users) {
+        return runInTransactionAsync(() -> userDao.insertUsers(users));
+    }
+
+    /**
+     * Updates users in a single transaction
+     * @param users users to update, matched by id
+     * @return a future with the number of rows updated
+     */
+    public CompletableFuture<Integer> updateUsers(List<User> users) {
+        return runInTransactionAsync(() -> userDao.updateUsers(users));
+    }
+
+    /**
+     * Deletes users in a single transaction
+     * @param users users to delete, matched by id
+     * @return a future with the number of rows deleted
+     */
+    public CompletableFuture<Integer> deleteUsers(List<User> users) {
+        return runInTransactionAsync(() -> userDao.deleteUsers(users));
+    }
+
+    /**
+     * Runs a unit of work on the write executor inside one transaction.
+     * If the work throws, the transaction is rolled back and the future completes exceptionally.
+     */
+    private <T> CompletableFuture<T> runInTransactionAsync(Callable<T> work) {
+        TaskManagerDatabase db = requireDatabase();
+        return CompletableFuture.supplyAsync(() -> db.runInTransaction(work),
+                TaskManagerDatabase.databaseWriteExecutor);
+    }
+
+    /**
+     * Runs task work on the write executor inside one TaskStore transaction
+     */
+    private <T> CompletableFuture<T> runTaskTransactionAsync(Callable<T> work) {
+        return CompletableFuture.supplyAsync(() -> taskStore.runInTransaction(work), taskWriteExecutor);
+    }
+
+    /**
+     * Runs a single task write: group-committed through the write coalescer when there is a
+     * database, otherwise as its own store transaction
+     */
+    private <T> CompletableFuture<T> submitTaskWrite(Callable<T> work) {
+        return writeCoalescer != null ? writeCoalescer.submit(work) : runTaskTransactionAsync(work);
+    }
+
+    /**
+     * Fire-and-forget form of {@link #submitTaskWrite(Callable)}; failures are logged
+     */
+    private void executeTaskWrite(Callable<?> work) {
+        submitTaskWrite(work).whenComplete((result, error) -> {
+            if (error != null) {
+                Log.e(MainActivity.TAG, "Task write failed", error);
+            }
         });
     }
 
+    /**
+     * @return the database, for features that only exist with Room behind the repository
+     * @throws IllegalStateException if the repository was created over a bare TaskStore
+     */
+    private TaskManagerDatabase requireDatabase() {
+        if (database == null) {
+            throw new IllegalStateException("no database behind this repository, only a TaskStore");
+        }
+        return database;
+    }
+
+    private UserDAO users() {
+        requireDatabase();
+        return userDao;
+    }
+
+    private CommentDAO comments() {
+        requireDatabase();
+        return commentDAO;
+    }
+
+    private WriteCoalescer coalescer() {
+        requireDatabase();
+        return writeCoalescer;
+    }
+
     /**
      * Updates  a user in the user database
      * @param user
      */
     public void updateUser(User user) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             userDao.update(user);
         });
     }
@@ -113,18 +337,22 @@ public class TaskManagerRepository {
      * @param user
      */
     public void deleteUser(User user) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             userDao.delete(user);
         });
     }
 
     /**
-     * Inserts a user into the user database
+     * Inserts a user into the user database, skipping any whose username is already taken
      * @param user
      */
     public void insertUser(User... user) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
-            userDao.insert(user);
+        coalescer().execute(() -> {
+            for (User u : user) {
+                if (userDao.insertIfAbsent(u) == -1) {
+                    Log.w(MainActivity.TAG, "Username already taken: " + u.getUsername());
+                }
+            }
         });
     }
 
@@ -134,7 +362,7 @@ public class TaskManagerRepository {
      * @return a LiveData object of a User
      */
     public LiveData<User> getUserByUserName(String username) {
-        return userDao.getUserByUsername(username);
+        return users().getUserByUsername(username);
     }
 
     /**
@@ -143,7 +371,7 @@ public class TaskManagerRepository {
      * @return a LiveData object of a User
      */
     public LiveData<User> getUserByUserId(int id) {
-        return userDao.getUserByUserId(id);
+        return users().getUserByUserId(id);
     }
 
     /**
@@ -151,7 +379,7 @@ public class TaskManagerRepository {
      * @return a LiveData object of list of Users
      */
     public LiveData<List<User>> getAllUsers() {
-        return userDao.getAllUsers();
+        return users().getAllUsers();
     }
 
     /**
@@ -160,7 +388,7 @@ public class TaskManagerRepository {
      * @return a LivedData object of a task associated with the ID
      */
     public LiveData<Task>getTaskByTaskID(int taskId){
-        return taskDAO.getTaskById(taskId);
+        return new TaskStoreLiveData<>(taskStore, storeExecutor, store -> store.getTask(taskId));
     }
 
     /**
@@ -168,7 +396,8 @@ public class TaskManagerRepository {
      * @param task
      */
     public void updateTask(Task task) {
-        databaseWriteExecutor.execute(() -> taskDAO.update(task));
+        stampCompletion(task);
+        executeTaskWrite(() -> taskStore.updateTasks(Collections.singletonList(task)));
     }
 
     /**
@@ -176,7 +405,113 @@ public class TaskManagerRepository {
      * @param task
      */
     public void deleteTask(Task task) {
-        databaseWriteExecutor.execute(() -> taskDAO.delete(task));
+        executeTaskWrite(() -> taskStore.deleteTasks(Collections.singletonList(task)));
+    }
+
+    // Targeted task edits. Each runs as one group-committed write and touches only the named column.
+
+    /**
+     * Sets the status of a task
+     * @param taskId
+     * @param status new status
+     * @return a future completed with true if the status changed
+     */
+    public CompletableFuture<Boolean> updateTaskStatus(int taskId, TaskStatus status) {
+        return submitTaskWrite(() -> taskStore.updateStatus(taskId, status, completionTimeFor(status)) > 0);
+    }
+
+    /**
+     * Renames a task
+     * @param taskId
+     * @param title new title
+     * @return a future completed with true if the title changed
+     */
+    public CompletableFuture<Boolean> renameTask(int taskId, String title) {
+        return submitTaskWrite(() -> taskStore.updateTitle(taskId, title) > 0);
+    }
+
+    /**
+     * Assigns a task to another user
+     * @param taskId
+     * @param userId new assignee
+     * @return a future completed with true if the assignee changed
+     */
+    public CompletableFuture<Boolean> reassignTask(int taskId, int userId) {
+        return submitTaskWrite(() -> taskStore.reassign(taskId, userId) > 0);
+    }
+
+    /**
+     * Atomic read-modify-write of a task. The change is applied to a copy of the current row
+     * inside the write transaction, and only the columns it actually changed are written.
+     * @param taskId
+     * @param change edits to apply to the task
+     * @return a future completed with true if any column changed, false if nothing did
+     *         or the task no longer exists
+     */
+    public CompletableFuture<Boolean> modifyTask(int taskId, Consumer<Task> change) {
+        return submitTaskWrite(() -> {
+            Task current = taskStore.getTask(taskId);
+            if (current == null) {
+                return false;
+            }
+            Task edited = new Task(current.getTitle(), current.getDescription(), current.getStatus(), current.getAssignedUserId());
+            edited.setTaskId(taskId);
+            change.accept(edited);
+
+            int changed = 0;
+            if (!Objects.equals(current.getTitle(), edited.getTitle())) {
+                changed += taskStore.updateTitle(taskId, edited.getTitle());
+            }
+            if (!Objects.equals(current.getDescription(), edited.getDescription())) {
+                changed += taskStore.updateDescription(taskId, edited.getDescription());
+            }
+            if (current.getStatus() != edited.getStatus()) {
+                changed += taskStore.updateStatus(taskId, edited.getStatus(), completionTimeFor(edited.getStatus()));
+            }
+            if (current.getAssignedUserId() != edited.getAssignedUserId()) {
+                changed += taskStore.reassign(taskId, edited.getAssignedUserId());
+            }
+            return changed > 0;
+        });
+    }
+
+    /**
+     * @param status status a task is being given
+     * @return the completedAt value for that status: now when completing, otherwise 0
+     */
+    private static long completionTimeFor(TaskStatus status) {
+        return status == TaskStatus.COMPLETE ? System.currentTimeMillis() : 0;
+    }
+
+    /**
+     * Sets completedAt on a task about to be written, keeping an existing completion time
+     */
+    private static void stampCompletion(Task task) {
+        if (task.getStatus() != TaskStatus.COMPLETE) {
+            task.setCompletedAt(0);
+        } else if (task.getCompletedAt() == 0) {
+            task.setCompletedAt(System.currentTimeMillis());
+        }
+    }
+
+    private static void stampCompletion(List<Task> tasks) {
+        for (Task task : tasks) {
+            stampCompletion(task);
+        }
+    }
+
+    // Hot/cold partitioning: completed tasks move to the archive tables after a while,
+    // so active-list queries and indexes only grow with open work.
+
+    /**
+     * Moves tasks completed more than {@code maxAgeMillis} ago, with their comments, to the archive.
+     * Runs in small chunks at background priority on the write lane.
+     * @param maxAgeMillis how long a completed task stays in the active list
+     * @return a future completed with the number of tasks archived
+     */
+    public CompletableFuture<Integer> archiveCompletedTasks(long maxAgeMillis) {
+        requireDatabase();
+        return archiver.archiveOlderThan(maxAgeMillis);
     }
 
     /**
@@ -184,18 +519,121 @@ public class TaskManagerRepository {
      */
 
     public void deleteTaskById(int taskId) {
-        databaseWriteExecutor.execute(() -> taskDAO.deleteTaskById(taskId));
+        executeTaskWrite(() -> taskStore.deleteTaskById(taskId));
     }
 
 
 
     /**
-     * Gets a list of tasks by the ID of the user that is loggedIn
+     * Searches a user's tasks through the TaskStore, the full-text index with Room.
+     * Every word is matched as a prefix and title hits are listed first.
+     * @param loggedInUserId
+     * @param query text typed by the user
+     * @return a LiveData list of at most SEARCH_RESULT_LIMIT matching tasks
+     */
+    public LiveData<List<TaskSummary>> searchTasksForUser(int loggedInUserId, String query) {
+        return searchTasksForUser(loggedInUserId, query, null);
+    }
+
+    /**
+     * Searches a user's tasks with one status through the full-text index
      * @param loggedInUserId
-     * @return a LivedData object of all tasks associated with current user
+     * @param query text typed by the user
+     * @param status status to keep, or null for every status
+     * @return a LiveData list of at most SEARCH_RESULT_LIMIT matching tasks
      */
-    public LiveData<List<Task>>getAllTasksByUserId(int loggedInUserId){
-        return taskDAO.getTasksByUserId(loggedInUserId);
+    public LiveData<List<TaskSummary>> searchTasksForUser(int loggedInUserId, String query, TaskStatus status) {
+        return searchTasksForUser(loggedInUserId, query, status, SearchScope.ACTIVE);
+    }
+
+    /**
+     * Searches a user's active tasks, archived tasks or both through their full-text indexes.
+     * Active tasks are searched through the TaskStore; the archive needs the database.
+     * @param loggedInUserId
+     * @param query text typed by the user
+     * @param status status to keep, or null for every status
+     * @param scope tables to search
+     * @return a LiveData list of at most SEARCH_RESULT_LIMIT matching tasks, active ones first
+     */
+    public LiveData<List<TaskSummary>> searchTasksForUser(int loggedInUserId, String query, TaskStatus status, SearchScope scope) {
+        String anyMatch = TaskSearchQuery.matchAnyColumn(query);
+        if (anyMatch == null) {
+            MutableLiveData<List<TaskSummary>> noResults = new MutableLiveData<>();
+            noResults.setValue(new ArrayList<>());
+            return noResults;
+        }
+        String titleMatch = TaskSearchQuery.matchTitle(query);
+        if (scope == SearchScope.ARCHIVED) {
+            return searchArchive(loggedInUserId, status, titleMatch, anyMatch);
+        }
+        // a search for text the user has typed past is cancelled, see TaskStoreLiveData
+        LiveData<List<TaskSummary>> active = new TaskStoreLiveData<>(taskStore, storeExecutor,
+                (store, cancellation) -> store.searchTasks(loggedInUserId, query, status, SEARCH_RESULT_LIMIT, cancellation));
+        if (scope != SearchScope.ALL) {
+            return active;
+        }
+
+        // both tables: active hits first, archived hits fill the rest of the limit
+        LiveData<List<TaskSummary>> archived = searchArchive(loggedInUserId, status, titleMatch, anyMatch);
+        MediatorLiveData<List<TaskSummary>> combined = new MediatorLiveData<>();
+        Runnable merge = () -> {
+            List<TaskSummary> activeHits = active.getValue();
+            List<TaskSummary> archivedHits = archived.getValue();
+            if (activeHits == null || archivedHits == null) {
+                return;
+            }
+            List<TaskSummary> merged = new ArrayList<>(Math.min(SEARCH_RESULT_LIMIT, activeHits.size() + archivedHits.size()));
+            merged.addAll(activeHits);
+            for (TaskSummary hit : archivedHits) {
+                if (merged.size() >= SEARCH_RESULT_LIMIT) {
+                    break;
+                }
+                merged.add(hit);
+            }
+            combined.setValue(merged);
+        };
+        combined.addSource(active, hits -> merge.run());
+        combined.addSource(archived, hits -> merge.run());
+        return combined;
+    }
+
+    private LiveData<List<TaskSummary>> searchArchive(int userId, TaskStatus status, String titleMatch, String anyMatch) {
+        ArchiveDAO archiveDAO = requireDatabase().archiveDAO();
+        return status == null
+                ? archiveDAO.searchArchivedTasksForUser(userId, titleMatch, anyMatch, SEARCH_RESULT_LIMIT)
+                : archiveDAO.searchArchivedTasksForUserByStatus(userId, status, titleMatch, anyMatch, SEARCH_RESULT_LIMIT);
+    }
+
+    /**
+     * Creates a keyset pager over the tasks of a user. Pages are read from the TaskStore on
+     * the disk read lane and refreshed when the store changes. Call {@link TaskPager#close()}
+     * once the pager is no longer observed.
+     * @param loggedInUserId
+     * @return a TaskPager that has not loaded anything yet
+     */
+    public TaskPager getTaskPagerForUser(int loggedInUserId) {
+        return getTaskPagerForUser(loggedInUserId, null, TaskSortOrder.OLDEST_FIRST);
+    }
+
+    /**
+     * Creates a keyset pager over the tasks of a user with one status.
+     * The status is filtered in SQL, so rows with other statuses are never read.
+     * @param loggedInUserId
+     * @param status status to keep, or null for every status
+     * @param sortOrder list order
+     * @return a TaskPager that has not loaded anything yet
+     */
+    public TaskPager getTaskPagerForUser(int loggedInUserId, TaskStatus status, TaskSortOrder sortOrder) {
+        // page loads fill the screen the user is looking at, so they go ahead of other reads
+        TaskPager pager = new TaskPager(
+                TaskPager.forStore(taskStore, loggedInUserId, status, sortOrder),
+                pageExecutor,
+                TaskPager.DEFAULT_PAGE_SIZE);
+        // with Room, comment writes count as changes too, since they change the badge columns of a row
+        TaskStore.ChangeListener listener = pager::invalidate;
+        taskStore.addChangeListener(listener);
+        pager.setOnClose(() -> taskStore.removeChangeListener(listener));
+        return pager;
     }
 
     /**
@@ -312,7 +750,7 @@ public class TaskManagerRepository {
      * @param comment
      */
     public void insertComment(Comment comment) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             commentDAO.insert(comment);
         });
     }
@@ -322,7 +760,7 @@ public class TaskManagerRepository {
      * @param comment
      */
     public void updateComment(Comment comment) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             commentDAO.update(comment);
         });
     }
@@ -332,18 +770,53 @@ public class TaskManagerRepository {
      * @param comment
      */
     public void deleteComment(Comment comment) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             commentDAO.delete(comment);
         });
     }
 
     /**
-     * Gets all comments for a specific task
+     * Gets all comments for a specific task.
+     * Loads the whole thread; prefer {@link #getCommentThread(int)} for long threads.
      * @param taskId
      * @return a LiveData list of comments for the task
      */
     public LiveData<List<Comment>> getCommentsByTaskId(int taskId) {
-        return commentDAO.getCommentsByTaskId(taskId);
+        return comments().getCommentsByTaskId(taskId);
+    }
+
+    /**
+     * Opens a keyset-paged view of a task's comments that follows new comments as they are posted.
+     * Call {@link CommentThread#loadLatest()} to load the first page and
+     * {@link CommentThread#close()} once it is no longer observed.
+     * @param taskId
+     * @return a CommentThread that has not loaded anything yet
+     */
+    public CommentThread getCommentThread(int taskId) {
+        CommentThread thread = new CommentThread(comments(), taskId,
+                AppExecutors.getInstance().diskRead().withPriority(TaskPriority.UI),
+                CommentThread.DEFAULT_PAGE_SIZE);
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer(TaskManagerDatabase.COMMENT_TABLE) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                thread.onCommentsChanged();
+            }
+        };
+        requireDatabase().getInvalidationTracker().addObserver(observer);
+        thread.setOnClose(() -> database.getInvalidationTracker().removeObserver(observer));
+        return thread;
+    }
+
+    /**
+     * Gets one page of comments across all tasks, newest first
+     * @param beforeCommentId ID of the last comment of the previous page, or Integer.MAX_VALUE for the first page
+     * @param limit page size
+     * @return a future completed with the page, read on the disk read lane
+     */
+    public CompletableFuture<List<Comment>> getRecentComments(int beforeCommentId, int limit) {
+        CommentDAO commentDAO = comments();
+        return CompletableFuture.supplyAsync(() -> commentDAO.getRecentCommentsPage(beforeCommentId, limit),
+                AppExecutors.getInstance().diskRead());
     }
 
     /**
@@ -352,15 +825,16 @@ public class TaskManagerRepository {
      * @return a LiveData list of comments by the author
      */
     public LiveData<List<Comment>> getCommentsByAuthor(int authorId) {
-        return commentDAO.getCommentsByAuthor(authorId);
+        return comments().getCommentsByAuthor(authorId);
     }
 
     /**
-     * Gets all comments in the comment database
+     * Gets all comments in the comment database.
+     * Loads every row; prefer {@link #getRecentComments(int, int)} to page through them.
      * @return a LiveData list of all comments
      */
     public LiveData<List<Comment>> getAllComments() {
-        return commentDAO.getAllComments();
+        return comments().getAllComments();
     }
 
     /**
@@ -369,7 +843,7 @@ public class TaskManagerRepository {
      * @return the comment with the specified ID
      */
     public Comment getCommentByCommentId(int commentId) {
-        return commentDAO.getCommentByCommentId(commentId);
+        return comments().getCommentByCommentId(commentId);
     }
 
     /**
@@ -377,7 +851,7 @@ public class TaskManagerRepository {
      * @param taskId
      */
     public void deleteCommentsByTaskId(int taskId) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             commentDAO.deleteCommentsByTaskId(taskId);
         });
     }
@@ -387,13 +861,13 @@ public class TaskManagerRepository {
      * @param commentId
      */
     public void deleteCommentById(int commentId) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
             commentDAO.deleteCommentById(commentId);
         });
     }
 
     public void deleteUserById(int userId) {
-        TaskManagerDatabase.databaseWriteExecutor.execute(() -> {
+        coalescer().execute(() -> {
                 userDao.deleteUserById(userId);
         });
     }
@@ -0,0 +1,342 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskListUpdate;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Keyset-paged view over a task query, loaded on demand as the list scrolls.
+ *
+ * <p>Each loaded page owns a fixed taskId range {@code (afterKey, lastKey]}, so reloading one
+ * page after a write never shifts the boundaries of its neighbours. An invalidation marks every
+ * page stale but only re-queries the pages around the last visible row; the others are
+ * refreshed when they scroll back into view.
+ *
+ * <p>Rows are {@link TaskSummary} projections, so a page never holds full descriptions.
+ *
+ * <p>Since only one page changes per load, every published list also comes as a
+ * {@link TaskListUpdate} holding the rows that page gained, lost or changed, so the adapter
+ * does not have to diff the whole list after a single-row edit.
+ */
+public class TaskPager {
+
+    /**
+     * Supplies rows to the pager, ordered by taskId in the direction given by {@link #isDescending()}.
+     * "After" means further down the list in that order.
+     */
+    public interface PageSource {
+        /**
+         * @return up to {@code limit} rows that come after {@code afterTaskId} in list order
+         */
+        List<TaskSummary> loadAfter(int afterTaskId, int limit);
+
+        /**
+         * @return every row after {@code afterTaskId}, up to and including {@code upToTaskId}
+         */
+        List<TaskSummary> loadRange(int afterTaskId, int upToTaskId);
+
+        /**
+         * @return true if rows are ordered by descending taskId
+         */
+        default boolean isDescending() {
+            return false;
+        }
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    // pages kept warm on either side of the visible one
+    private static final int PREFETCH_PAGES = 1;
+
+    private final PageSource source;
+    private final Executor executor;
+    private final int pageSize;
+    private final MutableLiveData<List<TaskSummary>> tasks = new MutableLiveData<>();
+    private final MutableLiveData<TaskListUpdate> updates = new MutableLiveData<>();
+
+    // all fields below are guarded by "this"
+    private final List<Page> pages = new ArrayList<>();
+    private boolean endReached;
+    private boolean appending;
+    private boolean closed;
+    private int visiblePage;
+    private Runnable onClose;
+    private List<TaskSummary> published = Collections.emptyList();
+
+    public TaskPager(PageSource source, Executor executor, int pageSize) {
+        this.source = source;
+        this.executor = executor;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Page source for the tasks of a user, read through a TaskStore
+     * @param store store the pages are read from
+     * @param userId assigned user
+     * @param status status to keep, or null for every status
+     * @param sortOrder list order
+     * @return a PageSource over the store's keyset pages and ranges
+     */
+    public static PageSource forStore(TaskStore store, int userId, TaskStatus status, TaskSortOrder sortOrder) {
+        final boolean descending = sortOrder == TaskSortOrder.NEWEST_FIRST;
+        return new PageSource() {
+            @Override
+            public List<TaskSummary> loadAfter(int afterTaskId, int limit) {
+                return store.getTaskPage(userId, status, sortOrder, afterTaskId, limit);
+            }
+
+            @Override
+            public List<TaskSummary> loadRange(int afterTaskId, int upToTaskId) {
+                return store.getTaskRange(userId, status, sortOrder, afterTaskId, upToTaskId);
+            }
+
+            @Override
+            public boolean isDescending() {
+                return descending;
+            }
+        };
+    }
+
+    /**
+     * Gets the rows loaded so far, in taskId order
+     * @return a LiveData list that re-emits whenever a page is loaded or refreshed
+     */
+    public LiveData<List<TaskSummary>> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Gets the rows loaded so far along with how they differ from the previous emission
+     * @return a LiveData that emits alongside {@link #getTasks()}
+     */
+    public LiveData<TaskListUpdate> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Loads the first page if nothing has been loaded yet
+     */
+    public synchronized void loadInitial() {
+        if (pages.isEmpty() && !endReached) {
+            appendNextPage();
+        }
+    }
+
+    /**
+     * Loads the page after the last loaded one unless the end has been reached
+     */
+    public synchronized void loadMore() {
+        if (!endReached) {
+            appendNextPage();
+        }
+    }
+
+    public synchronized boolean isEndReached() {
+        return endReached;
+    }
+
+    /**
+     * Tells the pager which row is on screen so stale pages nearby are refreshed
+     * and the next page is fetched before the user reaches the end of the list
+     * @param taskId ID of the last visible task
+     */
+    public synchronized void onItemVisible(int taskId) {
+        if (closed || pages.isEmpty()) {
+            return;
+        }
+        visiblePage = pageIndexOf(taskId);
+        refreshStalePagesAroundVisible();
+        if (visiblePage >= pages.size() - 1 - PREFETCH_PAGES && !endReached) {
+            appendNextPage();
+        }
+    }
+
+    /**
+     * Called when the underlying table changed. Every page becomes stale, but only the
+     * pages around the visible one are re-queried immediately.
+     */
+    public synchronized void invalidate() {
+        if (closed) {
+            return;
+        }
+        for (Page page : pages) {
+            page.stale = true;
+            page.generation++;
+        }
+        refreshStalePagesAroundVisible();
+        if (endReached) {
+            // with ascending keys new rows only ever appear past the last known key
+            endReached = false;
+            appendNextPage();
+        }
+    }
+
+    /**
+     * Stops delivering results and releases the invalidation hook
+     */
+    public void close() {
+        Runnable closeAction;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeAction = onClose;
+            onClose = null;
+        }
+        if (closeAction != null) {
+            closeAction.run();
+        }
+    }
+
+    /**
+     * Registers the action run by {@link #close()}, typically removing the invalidation observer
+     */
+    synchronized void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    /**
+     * @return number of rows currently held in memory
+     */
+    public synchronized int getLoadedCount() {
+        int count = 0;
+        for (Page page : pages) {
+            count += page.rows.size();
+        }
+        return count;
+    }
+
+    private int pageIndexOf(int taskId) {
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comesBefore(pages.get(mid).lastKey, taskId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean comesBefore(int key, int otherKey) {
+        return source.isDescending() ? key > otherKey : key < otherKey;
+    }
+
+    private void refreshStalePagesAroundVisible() {
+        int from = Math.max(0, visiblePage - PREFETCH_PAGES);
+        int to = Math.min(pages.size() - 1, visiblePage + PREFETCH_PAGES);
+        for (int i = from; i <= to; i++) {
+            Page page = pages.get(i);
+            if (page.stale && !page.reloading) {
+                reloadPage(page);
+            }
+        }
+    }
+
+    private void appendNextPage() {
+        if (appending || closed) {
+            return;
+        }
+        appending = true;
+        final int afterKey = pages.isEmpty()
+                ? (source.isDescending() ? Integer.MAX_VALUE : 0)
+                : pages.get(pages.size() - 1).lastKey;
+        executor.execute(() -> {
+            List<TaskSummary> rows = source.loadAfter(afterKey, pageSize);
+            synchronized (TaskPager.this) {
+                appending = false;
+                if (closed) {
+                    return;
+                }
+                endReached = rows.size() < pageSize;
+                int position = getLoadedCount();
+                if (!rows.isEmpty()) {
+                    pages.add(new Page(afterKey, rows.get(rows.size() - 1).getTaskId(), rows));
+                }
+                publish(position, Collections.emptyList(), rows);
+            }
+        });
+    }
+
+    private void reloadPage(Page page) {
+        page.reloading = true;
+        final int generation = page.generation;
+        executor.execute(() -> {
+            List<TaskSummary> rows = source.loadRange(page.afterKey, page.lastKey);
+            synchronized (TaskPager.this) {
+                page.reloading = false;
+                if (closed) {
+                    return;
+                }
+                List<TaskSummary> oldRows = page.rows;
+                page.rows = rows;
+                // published before any reload below, which may run inline, so updates stay in order
+                publish(rowsBefore(page), oldRows, rows);
+                if (generation == page.generation) {
+                    page.stale = false;
+                } else {
+                    // invalidated again while loading, go around once more
+                    reloadPage(page);
+                }
+            }
+        });
+    }
+
+    private int rowsBefore(Page page) {
+        int count = 0;
+        for (Page other : pages) {
+            if (other == page) {
+                break;
+            }
+            count += other.rows.size();
+        }
+        return count;
+    }
+
+    /**
+     * Posts the loaded rows after one page changed from oldRows to newRows
+     * @param position index of the page's first row
+     */
+    private void publish(int position, List<TaskSummary> oldRows, List<TaskSummary> newRows) {
+        List<TaskSummary> snapshot = new ArrayList<>(getLoadedCount());
+        for (Page page : pages) {
+            snapshot.addAll(page.rows);
+        }
+        List<TaskSummary> previous = published;
+        List<TaskSummary> current = Collections.unmodifiableList(snapshot);
+        published = current;
+        TaskListUpdate update = TaskListUpdate.forRun(previous, current, position, oldRows, newRows, source.isDescending());
+        tasks.postValue(current);
+        updates.postValue(update);
+    }
+
+    /**
+     * A contiguous taskId range and the rows last read for it.
+     * The first page of a newest-first list starts at Integer.MAX_VALUE, so reloading it picks up new rows.
+     */
+    private static final class Page {
+        final int afterKey;
+        final int lastKey;
+        List<TaskSummary> rows;
+        boolean stale;
+        boolean reloading;
+        int generation;
+
+        Page(int afterKey, int lastKey, List<TaskSummary> rows) {
+            this.afterKey = afterKey;
+            this.lastKey = lastKey;
+            this.rows = rows;
+        }
+    }
+}
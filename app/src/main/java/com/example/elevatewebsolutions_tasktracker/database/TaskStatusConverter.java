@@ -0,0 +1,22 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.room.TypeConverter;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+
+/**
+ * Stores {@link TaskStatus} as its integer code.
+ * The primitive column type makes Room declare status INTEGER NOT NULL.
+ */
+public class TaskStatusConverter {
+
+    @TypeConverter
+    public static int toCode(TaskStatus status) {
+        return status != null ? status.getCode() : TaskStatus.TO_DO.getCode();
+    }
+
+    @TypeConverter
+    public static TaskStatus fromCode(int code) {
+        return TaskStatus.fromCode(code);
+    }
+}
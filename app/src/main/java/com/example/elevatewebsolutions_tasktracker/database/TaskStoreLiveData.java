@@ -0,0 +1,86 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * LiveData over a TaskStore read, the store counterpart of Room's observable queries.
+ * While observed it re-runs the read on every store change; a load that finishes after a
+ * newer one has started is dropped, so observers never go back to older rows.
+ *
+ * <p>Every load gets its own StoreCancellation. Starting a newer load or losing the last
+ * observer, e.g. when a switchMap moves on to the next search, cancels the one before it:
+ * a queued load never reads the store, and a running read is interrupted, which RoomTaskStore
+ * passes on to SQLite as a CancellationSignal.
+ */
+final class TaskStoreLiveData<T> extends LiveData<T> implements TaskStore.ChangeListener {
+
+    /**
+     * A store read that may give up once {@code cancellation} is cancelled, since its result will be dropped
+     */
+    interface CancellableRead<T> {
+        T read(TaskStore store, StoreCancellation cancellation);
+    }
+
+    private final TaskStore store;
+    private final Executor executor;
+    private final CancellableRead<T> read;
+    private final AtomicReference<StoreCancellation> latest = new AtomicReference<>();
+
+    /**
+     * @param store store to read and listen to
+     * @param executor where reads run
+     * @param read the read, run against the store
+     */
+    TaskStoreLiveData(TaskStore store, Executor executor, Function<TaskStore, T> read) {
+        this(store, executor, (taskStore, cancellation) -> read.apply(taskStore));
+    }
+
+    /**
+     * @param store store to read and listen to
+     * @param executor where reads run
+     * @param read the read, run against the store with the cancellation for its load
+     */
+    TaskStoreLiveData(TaskStore store, Executor executor, CancellableRead<T> read) {
+        this.store = store;
+        this.executor = executor;
+        this.read = read;
+    }
+
+    @Override
+    protected void onActive() {
+        store.addChangeListener(this);
+        onTasksChanged();
+    }
+
+    @Override
+    protected void onInactive() {
+        store.removeChangeListener(this);
+        // nobody is left to see what the pending or running load returns
+        StoreCancellation running = latest.getAndSet(null);
+        if (running != null) {
+            running.cancel();
+        }
+    }
+
+    @Override
+    public void onTasksChanged() {
+        final StoreCancellation load = new StoreCancellation();
+        StoreCancellation previous = latest.getAndSet(load);
+        if (previous != null) {
+            previous.cancel();
+        }
+        executor.execute(() -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            T value = read.read(store, load);
+            if (!load.isCancelled()) {
+                postValue(value);
+            }
+        });
+    }
+}
@@ -16,29 +16,46 @@ import java.util.List;
 @Dao
 public interface UserDAO {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    // usernames are unique, a taken one aborts the insert rather than replacing that account
+    @Insert(onConflict = OnConflictStrategy.ABORT)
     void insert(User... user);
 
+    // Conflict-aware insert for account creation, the unique index decides who got the name
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertIfAbsent(User user);
+
     @Update
     void update(User user);
 
     @Delete
     void delete(User user);
 
+    // Bulk variants, meant to run inside one transaction (see TaskManagerRepository.insertUsers).
+    // Users whose name is already taken are skipped and get -1 as their row ID.
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertUsers(List<User> users);
+
+    @Update
+    int updateUsers(List<User> users);
+
+    @Delete
+    int deleteUsers(List<User> users);
+
     @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " ORDER BY username")
     LiveData<List<User>> getAllUsers();
 
     @Query("DELETE FROM " +TaskManagerDatabase.USER_TABLE)
     void deleteAll();
 
-    @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE username == :username")
+    // Username lookups go through the unique NOCASE index, see User
+    @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE username = :username COLLATE NOCASE")
     LiveData<User> getUserByUsername(String username);
 
     @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE id == :userId")
     LiveData<User> getUserByUserId(int userId);
 
     // Synchronous method for authentication (doesn't return LiveData)
-    @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE username == :username")
+    @Query("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE username = :username COLLATE NOCASE")
     User getUserByUsernameSync(String username);
 
 
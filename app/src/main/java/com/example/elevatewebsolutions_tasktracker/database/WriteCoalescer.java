@@ -0,0 +1,305 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import android.util.Log;
+
+import androidx.room.RoomDatabase;
+
+import com.example.elevatewebsolutions_tasktracker.MainActivity;
+import com.example.elevatewebsolutions_tasktracker.executor.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commits small writes. Mutations submitted within a short window, or until the batch
+ * is full, are committed together in one transaction on the serial write lane.
+ *
+ * <p>SQLite cannot roll back a single write inside an Android transaction: a failing DAO call
+ * marks the whole transaction failed. So when a write throws, the batch transaction is rolled
+ * back, that write's future fails, and the writes left over are replayed in a new transaction.
+ * Mutations may therefore run more than once and should only touch the database, and they
+ * must let their errors propagate: a DAO call that failed has already doomed the transaction
+ * even if the mutation catches the exception. Futures
+ * complete only after the transaction holding their write has been committed.
+ */
+public class WriteCoalescer {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 8;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private final RoomDatabase database;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Executor writer;
+    private final ScheduledExecutorService scheduler;
+
+    // guarded by "this"
+    private List<PendingWrite<?>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    // guarded by "metrics"
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * @param database database the batches are committed to
+     * @param windowMillis how long the first write of a batch waits for others to join it
+     * @param maxBatchSize a full batch is committed without waiting for the window
+     */
+    public WriteCoalescer(RoomDatabase database, long windowMillis, int maxBatchSize) {
+        this(database, windowMillis, maxBatchSize,
+                AppExecutors.getInstance().diskWrite(), AppExecutors.getInstance().scheduler());
+    }
+
+    /**
+     * @param database database the batches are committed to
+     * @param windowMillis how long the first write of a batch waits for others to join it
+     * @param maxBatchSize a full batch is committed without waiting for the window
+     * @param writer executor the batches are committed on, should be serial
+     * @param scheduler timer that hands a batch to the writer when its window closes
+     */
+    public WriteCoalescer(RoomDatabase database, long windowMillis, int maxBatchSize,
+                          Executor writer, ScheduledExecutorService scheduler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.database = database;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.writer = writer;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues a mutation for the next batch
+     * @param mutation database work to run inside the batch transaction
+     * @return a future completed with the mutation's result once its batch is committed
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> mutation) {
+        PendingWrite<T> write = new PendingWrite<>(mutation);
+        synchronized (this) {
+            if (closed) {
+                write.future.completeExceptionally(new IllegalStateException("WriteCoalescer is closed"));
+                return write.future;
+            }
+            pending.add(write);
+            if (pending.size() >= maxBatchSize) {
+                cancelScheduledFlush();
+                writer.execute(this::flush);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(() -> writer.execute(this::flush),
+                        windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return write.future;
+    }
+
+    /**
+     * Queues a mutation whose result nobody waits for. Failures are logged.
+     * @param mutation database work to run inside the batch transaction
+     */
+    public void execute(Runnable mutation) {
+        submit(() -> {
+            mutation.run();
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Log.e(MainActivity.TAG, "Coalesced write failed", error);
+            }
+        });
+    }
+
+    /**
+     * @return a snapshot of batch size and commit latency counters
+     */
+    public Metrics getMetrics() {
+        synchronized (metrics) {
+            return metrics.copy();
+        }
+    }
+
+    /**
+     * Commits whatever is queued and stops accepting writes
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            cancelScheduledFlush();
+        }
+        writer.execute(this::flush);
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Runs on the writer. Commits queued writes in batches of at most maxBatchSize.
+     */
+    private void flush() {
+        while (true) {
+            List<PendingWrite<?>> batch;
+            synchronized (this) {
+                cancelScheduledFlush();
+                if (pending.isEmpty()) {
+                    return;
+                }
+                if (pending.size() <= maxBatchSize) {
+                    batch = pending;
+                    pending = new ArrayList<>();
+                } else {
+                    batch = new ArrayList<>(pending.subList(0, maxBatchSize));
+                    pending = new ArrayList<>(pending.subList(maxBatchSize, pending.size()));
+                }
+            }
+            commit(batch);
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        List<PendingWrite<?>> remaining = new ArrayList<>(batch);
+        while (!remaining.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                database.runInTransaction(() -> {
+                    for (PendingWrite<?> write : remaining) {
+                        try {
+                            write.run();
+                        } catch (Exception e) {
+                            throw new WriteFailed(write, e);
+                        }
+                    }
+                });
+            } catch (WriteFailed e) {
+                // everything was rolled back; drop the failing write and replay the rest
+                e.write.future.completeExceptionally(e.getCause());
+                remaining.remove(e.write);
+                continue;
+            } catch (RuntimeException e) {
+                // the commit itself failed, nothing left in the batch was written
+                for (PendingWrite<?> write : remaining) {
+                    write.future.completeExceptionally(e);
+                }
+                return;
+            }
+            long commitNanos = System.nanoTime() - start;
+            synchronized (metrics) {
+                metrics.record(remaining.size(), commitNanos);
+            }
+            for (PendingWrite<?> write : remaining) {
+                write.complete();
+            }
+            return;
+        }
+    }
+
+    /**
+     * Thrown out of the batch transaction so it rolls back, naming the write that failed
+     */
+    private static final class WriteFailed extends RuntimeException {
+        final PendingWrite<?> write;
+
+        WriteFailed(PendingWrite<?> write, Exception cause) {
+            super(cause);
+            this.write = write;
+        }
+    }
+
+    /**
+     * A queued mutation and the future its caller holds
+     */
+    private static final class PendingWrite<T> {
+        final Callable<T> mutation;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        // from the latest run; a rolled-back run is overwritten when the write is replayed
+        T result;
+
+        PendingWrite(Callable<T> mutation) {
+            this.mutation = mutation;
+        }
+
+        void run() throws Exception {
+            result = mutation.call();
+        }
+
+        void complete() {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Counters for committed batches
+     */
+    public static final class Metrics {
+        private long batches;
+        private long writes;
+        private int largestBatch;
+        private long totalCommitNanos;
+        private long slowestCommitNanos;
+
+        void record(int batchSize, long commitNanos) {
+            batches++;
+            writes += batchSize;
+            largestBatch = Math.max(largestBatch, batchSize);
+            totalCommitNanos += commitNanos;
+            slowestCommitNanos = Math.max(slowestCommitNanos, commitNanos);
+        }
+
+        Metrics copy() {
+            Metrics copy = new Metrics();
+            copy.batches = batches;
+            copy.writes = writes;
+            copy.largestBatch = largestBatch;
+            copy.totalCommitNanos = totalCommitNanos;
+            copy.slowestCommitNanos = slowestCommitNanos;
+            return copy;
+        }
+
+        public long getBatchCount() {
+            return batches;
+        }
+
+        public long getWriteCount() {
+            return writes;
+        }
+
+        public int getLargestBatchSize() {
+            return largestBatch;
+        }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : (double) writes / batches;
+        }
+
+        public double getAverageCommitMillis() {
+            return batches == 0 ? 0 : totalCommitNanos / (double) batches / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public double getSlowestCommitMillis() {
+            return slowestCommitNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "batches=" + batches +
+                    ", writes=" + writes +
+                    ", largestBatch=" + largestBatch +
+                    ", averageCommitMillis=" + getAverageCommitMillis() +
+                    ", slowestCommitMillis=" + getSlowestCommitMillis() +
+                    '}';
+        }
+    }
+}
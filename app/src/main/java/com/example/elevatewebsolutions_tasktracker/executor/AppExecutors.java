@@ -0,0 +1,99 @@
+package com.example.elevatewebsolutions_tasktracker.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The app's background threads, split into lanes so one kind of work cannot starve another.
+ *
+ * <ul>
+ *     <li>diskWrite: one thread, so database writes never contend for SQLite's single writer lock</li>
+ *     <li>diskRead: a few threads for queries, SQLite serves readers concurrently in WAL mode</li>
+ *     <li>cpu: one thread per spare core for password hashing and other computation</li>
+ * </ul>
+ *
+ * Every lane orders its queue by {@link TaskPriority} and reports {@link LaneStats}.
+ */
+public final class AppExecutors {
+
+    private static final int MAX_READ_THREADS = 4;
+
+    private static volatile AppExecutors instance;
+
+    private final PriorityLaneExecutor diskWrite;
+    private final PriorityLaneExecutor diskRead;
+    private final PriorityLaneExecutor cpu;
+    private final ScheduledExecutorService scheduler;
+
+    private AppExecutors(int cores) {
+        diskWrite = new PriorityLaneExecutor("disk-write", 1);
+        diskRead = new PriorityLaneExecutor("disk-read", Math.max(2, Math.min(cores, MAX_READ_THREADS)));
+        cpu = new PriorityLaneExecutor("cpu", Math.max(1, cores - 1));
+
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setKeepAliveTime(5, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+        scheduler = timer;
+    }
+
+    /**
+     * @return the process-wide lanes, sized from the number of available cores
+     */
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors(Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return serial lane for database writes
+     */
+    public PriorityLaneExecutor diskWrite() {
+        return diskWrite;
+    }
+
+    /**
+     * @return parallel lane for database reads
+     */
+    public PriorityLaneExecutor diskRead() {
+        return diskRead;
+    }
+
+    /**
+     * @return lane for CPU-bound work such as password hashing
+     */
+    public PriorityLaneExecutor cpu() {
+        return cpu;
+    }
+
+    /**
+     * Timer for delayed work. Only use it to hand work to a lane, never to run the work itself.
+     * @return shared single-thread scheduler
+     */
+    public ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return stats for every lane, in write, read, cpu order
+     */
+    public List<LaneStats> getStats() {
+        List<LaneStats> stats = new ArrayList<>(3);
+        stats.add(diskWrite.getStats());
+        stats.add(diskRead.getStats());
+        stats.add(cpu.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.elevatewebsolutions_tasktracker.executor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time counters for one executor lane
+ */
+public final class LaneStats {
+
+    private final String name;
+    private final int queueDepth;
+    private final int activeThreads;
+    private final long completed;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalRunNanos;
+    private final long maxRunNanos;
+
+    LaneStats(String name, int queueDepth, int activeThreads, long completed,
+              long totalWaitNanos, long maxWaitNanos, long totalRunNanos, long maxRunNanos) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.completed = completed;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalRunNanos = totalRunNanos;
+        this.maxRunNanos = maxRunNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of tasks waiting for a thread
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    public double getAverageWaitMillis() {
+        return completed == 0 ? 0 : toMillis(totalWaitNanos) / completed;
+    }
+
+    public double getMaxWaitMillis() {
+        return toMillis(maxWaitNanos);
+    }
+
+    public double getAverageRunMillis() {
+        return completed == 0 ? 0 : toMillis(totalRunNanos) / completed;
+    }
+
+    public double getMaxRunMillis() {
+        return toMillis(maxRunNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return "LaneStats{" +
+                "name='" + name + '\'' +
+                ", queueDepth=" + queueDepth +
+                ", activeThreads=" + activeThreads +
+                ", completed=" + completed +
+                ", averageWaitMillis=" + getAverageWaitMillis() +
+                ", maxWaitMillis=" + getMaxWaitMillis() +
+                ", averageRunMillis=" + getAverageRunMillis() +
+                ", maxRunMillis=" + getMaxRunMillis() +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.elevatewebsolutions_tasktracker.executor;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size thread pool whose queue is ordered by {@link TaskPriority}, then by submission order.
+ * Records how long work waited in the queue and how long it ran.
+ */
+public class PriorityLaneExecutor extends ThreadPoolExecutor {
+
+    // idle lane threads exit after this long, the lane restarts them on demand
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final String name;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // guarded by "this"
+    private long completed;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private long totalRunNanos;
+    private long maxRunNanos;
+
+    /**
+     * @param name lane name, used for thread names and stats
+     * @param threads number of threads, 1 makes the lane serial
+     */
+    public PriorityLaneExecutor(String name, int threads) {
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), new LaneThreadFactory(name));
+        this.name = name;
+        allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Queues work with {@link TaskPriority#NORMAL} unless it was already prioritized
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+        if (command instanceof PrioritizedRunnable) {
+            super.execute(command);
+        } else {
+            execute(command, TaskPriority.NORMAL);
+        }
+    }
+
+    /**
+     * Queues work ahead of anything with a lower priority
+     * @param command work to run
+     * @param priority queue priority
+     */
+    public void execute(@NonNull Runnable command, @NonNull TaskPriority priority) {
+        super.execute(new PrioritizedRunnable(command, priority, sequence.getAndIncrement()));
+    }
+
+    /**
+     * Submits a task with the given priority
+     * @param task work to run
+     * @param priority queue priority
+     * @return a Future for the task's result
+     */
+    public <T> Future<T> submit(@NonNull Callable<T> task, @NonNull TaskPriority priority) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future, priority);
+        return future;
+    }
+
+    /**
+     * An Executor view of this lane that queues everything at one priority,
+     * for APIs such as CompletableFuture.supplyAsync or Room's query executor
+     * @param priority queue priority
+     * @return executor that forwards to this lane
+     */
+    public Executor withPriority(@NonNull TaskPriority priority) {
+        return command -> execute(command, priority);
+    }
+
+    /**
+     * @return a snapshot of queue depth, wait and run times
+     */
+    public synchronized LaneStats getStats() {
+        return new LaneStats(name, getQueue().size(), getActiveCount(), completed,
+                totalWaitNanos, maxWaitNanos, totalRunNanos, maxRunNanos);
+    }
+
+    private synchronized void record(long waitNanos, long runNanos) {
+        completed++;
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        totalRunNanos += runNanos;
+        maxRunNanos = Math.max(maxRunNanos, runNanos);
+    }
+
+    /**
+     * Queue entry that orders by priority, then sequence, and times itself
+     */
+    private final class PrioritizedRunnable implements Runnable, Comparable<PrioritizedRunnable> {
+        private final Runnable delegate;
+        private final TaskPriority priority;
+        private final long sequenceNumber;
+        private final long enqueuedNanos = System.nanoTime();
+
+        PrioritizedRunnable(Runnable delegate, TaskPriority priority, long sequenceNumber) {
+            this.delegate = delegate;
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                delegate.run();
+            } finally {
+                record(start - enqueuedNanos, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedRunnable other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+
+    private static final class LaneThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        LaneThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.elevatewebsolutions_tasktracker.executor;
+
+/**
+ * Order in which queued work leaves an executor lane. Work with the same priority runs first-in first-out.
+ */
+public enum TaskPriority {
+    /** Something the user is waiting on, such as the rows currently on screen or a login */
+    UI,
+    /** Default for work nobody marked */
+    NORMAL,
+    /** Warm-up, seeding and other work that can wait */
+    BACKGROUND
+}
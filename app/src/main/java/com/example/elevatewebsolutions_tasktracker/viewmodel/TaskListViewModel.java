@@ -4,18 +4,34 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
 
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskListUpdate;
+import com.example.elevatewebsolutions_tasktracker.database.TaskPager;
+import com.example.elevatewebsolutions_tasktracker.database.TaskSortOrder;
 import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
 import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * ViewModel for managing task list data with LiveData
- * Filters tasks by current user and handles data updates
+ * Pages the current user's tasks from the database and searches through the full-text index.
+ * The status filter and sort order are part of the query, so only matching rows are read.
+ * Searches run on a background lane; moving on to new search text cancels the search for
+ * the old text, so only results for the newest query reach the list.
+ * List rows are TaskSummary projections; full tasks are only loaded for editing.
+ * Each paged emission comes with the rows its page inserted, removed or changed, so a
+ * single-row edit reaches the adapter as a single-row change.
  */
 public class TaskListViewModel extends AndroidViewModel {
 
@@ -25,51 +41,99 @@ public class TaskListViewModel extends AndroidViewModel {
 
     // search and filter state
     private final MutableLiveData<String> searchQuery = new MutableLiveData<>("");
-    private final MutableLiveData<String> statusFilter = new MutableLiveData<>("All");
+    // null shows every status
+    private final MutableLiveData<TaskStatus> statusFilter = new MutableLiveData<>(null);
+    private TaskSortOrder sortOrder = TaskSortOrder.OLDEST_FIRST;
 
-    // raw user tasks from database
-    private final LiveData<List<Task>> rawUserTasks;
+    // queries currently shown, re-set whenever user, status, sort order or search text changes
+    private final MutableLiveData<ListQuery> pagerQuery = new MutableLiveData<>();
+    private final MutableLiveData<ListQuery> searchRequest = new MutableLiveData<>();
 
-    // filtered tasks based on search and status
-    private final LiveData<List<Task>> filteredTasks;
+    // user tasks matching the status filter, loaded page by page, with each page's changes
+    private final LiveData<TaskListUpdate> rawUserTasks;
+    private TaskPager pager;
 
-    public TaskListViewModel(@NonNull Application application) {
-        super(application);
-        repository = TaskManagerRepository.getRepository(application);
+    // full-text search results for the current query
+    private final LiveData<List<TaskSummary>> searchResults;
+
+    // tasks shown in the list: search results while searching, otherwise the paged list
+    private final MediatorLiveData<TaskListUpdate> visibleTasks = new MediatorLiveData<>();
+    private final LiveData<List<TaskSummary>> filteredTasks;
 
-        // get raw tasks from database when user changes
-        rawUserTasks = Transformations.switchMap(currentUserId, userId -> {
-            if (userId != null && userId != -1) {
-                return repository.getAllTasksByUserId(userId);
+    /**
+     * Creates the ViewModel over a given repository, e.g. one over an InMemoryTaskStore in tests
+     * @param application
+     * @param repository repository the list is read from
+     */
+    public TaskListViewModel(@NonNull Application application, @NonNull TaskManagerRepository repository) {
+        super(application);
+        this.repository = repository;
+
+        // open a new pager when user, status or sort order changes
+        rawUserTasks = Transformations.switchMap(pagerQuery, query -> {
+            closePager();
+            if (query != null && query.userId != -1) {
+                pager = repository.getTaskPagerForUser(query.userId, query.status, query.sortOrder);
+                pager.loadInitial();
+                return pager.getUpdates();
             } else {
-                MutableLiveData<List<Task>> emptyTasks = new MutableLiveData<>();
-                emptyTasks.setValue(new ArrayList<>());
+                MutableLiveData<TaskListUpdate> emptyTasks = new MutableLiveData<>();
+                emptyTasks.setValue(TaskListUpdate.replacing(new ArrayList<>()));
                 return emptyTasks;
             }
         });
 
-        // combine all filter triggers - updates when any filter changes or raw data changes
-        MutableLiveData<String> combinedTrigger = new MutableLiveData<>();
-
-        filteredTasks = Transformations.switchMap(combinedTrigger, trigger -> {
-            MutableLiveData<List<Task>> result = new MutableLiveData<>();
-            List<Task> tasks = rawUserTasks.getValue();
-            List<Task> filtered = applyFilters(tasks, searchQuery.getValue(), statusFilter.getValue());
-            result.setValue(filtered);
-            return result;
+        // run the search in the store when the query changes; switching sources leaves the
+        // previous search unobserved, which cancels it if it is still queued or running
+        searchResults = Transformations.switchMap(searchRequest, query -> {
+            if (query != null && query.text != null && query.userId != -1) {
+                return repository.searchTasksForUser(query.userId, query.text, query.status);
+            } else {
+                MutableLiveData<List<TaskSummary>> noResults = new MutableLiveData<>();
+                noResults.setValue(new ArrayList<>());
+                return noResults;
+            }
         });
 
-        // trigger filtering when raw tasks, search, or status change
-        rawUserTasks.observeForever(tasks -> combinedTrigger.setValue("raw_" + System.currentTimeMillis()));
-        searchQuery.observeForever(query -> combinedTrigger.setValue("search_" + query));
-        statusFilter.observeForever(status -> combinedTrigger.setValue("status_" + status));
+        visibleTasks.addSource(rawUserTasks, tasks -> publishVisibleTasks());
+        visibleTasks.addSource(searchResults, tasks -> publishVisibleTasks());
+        filteredTasks = Transformations.map(visibleTasks, TaskListUpdate::getTasks);
+    }
+
+    /**
+     * Creates the ViewModel for a ViewModelProvider once the repository is ready,
+     * see {@link TaskManagerRepository#warmUp(Application)}
+     * @param application
+     * @param repository repository the list is read from
+     * @return a factory for TaskListViewModel
+     */
+    public static ViewModelProvider.Factory factory(@NonNull Application application,
+                                                    @NonNull TaskManagerRepository repository) {
+        return new ViewModelProvider.Factory() {
+            @NonNull
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
+                return (T) new TaskListViewModel(application, repository);
+            }
+        };
     }
 
     // getters for UI observation
-    public LiveData<List<Task>> getUserTasks() {
+    public LiveData<List<TaskSummary>> getUserTasks() {
         return filteredTasks;
     }
 
+    /**
+     * Gets the shown list together with what changed since the previous one, for
+     * {@code TaskAdapter.applyUpdate}. Search results and switches between queries carry no
+     * changes and are diffed in full.
+     * @return a LiveData that emits whenever {@link #getUserTasks()} does
+     */
+    public LiveData<TaskListUpdate> getTaskListUpdates() {
+        return visibleTasks;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -83,10 +147,21 @@ public class TaskListViewModel extends AndroidViewModel {
             isLoading.setValue(true);
             currentUserId.setValue(userId);
             // The Transformations.switchMap above will handle the actual data loading
+            updateQueries();
             isLoading.setValue(false);
         }
     }
 
+    /**
+     * Tells the pager which task is on screen so nearby pages are loaded or refreshed
+     * @param taskId ID of the last visible task in the list
+     */
+    public void onTaskVisible(int taskId) {
+        if (pager != null) {
+            pager.onItemVisible(taskId);
+        }
+    }
+
     /**
      * Update search query and refresh filtered results
      */
@@ -94,67 +169,81 @@ public class TaskListViewModel extends AndroidViewModel {
         String cleanQuery = query != null ? query.trim() : "";
         if (!cleanQuery.equals(searchQuery.getValue())) {
             searchQuery.setValue(cleanQuery);
-            refreshFilteredTasks();
+            updateQueries();
         }
     }
 
     /**
-     * Update status filter and refresh results
+     * Update status filter and switch to a query for that status
+     * @param status status to show, or null for all of them
      */
-    public void setStatusFilter(String status) {
-        String cleanStatus = status != null ? status : "All";
-        if (!cleanStatus.equals(statusFilter.getValue())) {
-            statusFilter.setValue(cleanStatus);
-            refreshFilteredTasks();
+    public void setStatusFilter(TaskStatus status) {
+        if (status != statusFilter.getValue()) {
+            statusFilter.setValue(status);
+            updateQueries();
         }
     }
 
     /**
-     * Manually refresh filtered tasks when filters change
+     * Update sort order and switch to a query for that order
      */
-    private void refreshFilteredTasks() {
-        List<Task> rawTasks = rawUserTasks.getValue();
-        if (rawTasks != null) {
-            List<Task> filtered = applyFilters(rawTasks, searchQuery.getValue(), statusFilter.getValue());
-            // trigger update by setting value on filtered tasks observer
-            MutableLiveData<List<Task>> temp = new MutableLiveData<>();
-            temp.setValue(filtered);
+    public void setSortOrder(TaskSortOrder order) {
+        TaskSortOrder cleanOrder = order != null ? order : TaskSortOrder.OLDEST_FIRST;
+        if (cleanOrder != sortOrder) {
+            sortOrder = cleanOrder;
+            updateQueries();
         }
     }
 
     /**
-     * Apply search and status filters to task list
+     * Re-sets the pager and search queries from the current user, status, sort order and search text.
+     * Each LiveData is only set when its query actually changed.
      */
-    private List<Task> applyFilters(List<Task> tasks, String query, String status) {
-        if (tasks == null) return new ArrayList<>();
+    private void updateQueries() {
+        int userId = getCurrentUserIdValue();
+        // null means no status condition in SQL
+        TaskStatus status = statusFilter.getValue();
+
+        ListQuery nextPagerQuery = new ListQuery(userId, status, sortOrder, null);
+        if (!nextPagerQuery.equals(pagerQuery.getValue())) {
+            pagerQuery.setValue(nextPagerQuery);
+        }
 
-        List<Task> filtered = new ArrayList<>();
-        String lowerQuery = query != null ? query.toLowerCase().trim() : "";
+        // search results are ranked, so the sort order does not apply to them
+        ListQuery nextSearch = new ListQuery(userId, status, null,
+                isSearchQueryEmpty() ? null : searchQuery.getValue());
+        if (!nextSearch.equals(searchRequest.getValue())) {
+            searchRequest.setValue(nextSearch);
+        }
+    }
 
-        for (Task task : tasks) {
-            // apply status filter first
-            if (!"All".equals(status) && !status.equals(task.getStatus())) {
-                continue;
-            }
+    private void publishVisibleTasks() {
+        TaskListUpdate update;
+        if (isSearchQueryEmpty()) {
+            update = rawUserTasks.getValue();
+        } else {
+            List<TaskSummary> results = searchResults.getValue();
+            update = results != null ? TaskListUpdate.replacing(results) : null;
+        }
+        visibleTasks.setValue(update != null ? update : TaskListUpdate.replacing(new ArrayList<>()));
+    }
 
-            // then apply search filter
-            if (!lowerQuery.isEmpty()) {
-                String title = task.getTitle() != null ? task.getTitle().toLowerCase() : "";
-                String description = task.getDescription() != null ? task.getDescription().toLowerCase() : "";
-                String taskStatus = task.getStatus() != null ? task.getStatus().toLowerCase() : "";
-
-                // search in title, description, or status
-                if (!title.contains(lowerQuery) &&
-                    !description.contains(lowerQuery) &&
-                    !taskStatus.contains(lowerQuery)) {
-                    continue;
-                }
-            }
+    private boolean isSearchQueryEmpty() {
+        String query = searchQuery.getValue();
+        return query == null || query.isEmpty();
+    }
 
-            filtered.add(task);
+    private void closePager() {
+        if (pager != null) {
+            pager.close();
+            pager = null;
         }
+    }
 
-        return filtered;
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        closePager();
     }
 
     private int getCurrentUserIdValue() {
@@ -166,10 +255,10 @@ public class TaskListViewModel extends AndroidViewModel {
      * Refresh task list for current user
      */
     public void refreshTasks() {
-        Integer userId = currentUserId.getValue();
-        if (userId != null && userId != -1) {
-            // Force refresh by setting the same user ID again
-            currentUserId.setValue(userId);
+        ListQuery query = pagerQuery.getValue();
+        if (query != null && query.userId != -1) {
+            // Force refresh by setting the same query again, switchMap opens a new pager
+            pagerQuery.setValue(query);
         }
     }
 
@@ -177,25 +266,51 @@ public class TaskListViewModel extends AndroidViewModel {
      * Create new task for specified user
      * Enhanced implementation that properly refreshes the task list
      */
-    public void createTask(String title, String description, String status, int assignedUserId) {
+    public void createTask(String title, String description, TaskStatus status, int assignedUserId) {
         isLoading.setValue(true);
 
         // create new task object using required constructor parameters
         Task newTask = new Task(title, description, status, assignedUserId);
 
-        // save task using repository in background thread
-        new Thread(() -> {
-            try {
-                repository.insertTask(newTask);
+        // save task on the write lane, the paged list picks it up through invalidation
+        repository.insertTasks(Collections.singletonList(newTask)).whenComplete((ids, error) -> {
+            if (error != null) {
+                android.util.Log.e("TaskListViewModel", "Error creating task: " + error.getMessage());
+            }
+            isLoading.postValue(false);
+        });
+    }
+
+    /**
+     * Everything that decides which rows a list query reads
+     */
+    private static final class ListQuery {
+        final int userId;
+        final TaskStatus status;
+        final TaskSortOrder sortOrder;
+        final String text;
+
+        ListQuery(int userId, TaskStatus status, TaskSortOrder sortOrder, String text) {
+            this.userId = userId;
+            this.status = status;
+            this.sortOrder = sortOrder;
+            this.text = text;
+        }
 
-                // refresh task list on main thread after successful insert
-                // The LiveData will automatically update due to database changes
-                isLoading.postValue(false);
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ListQuery that = (ListQuery) o;
+            return userId == that.userId &&
+                    status == that.status &&
+                    sortOrder == that.sortOrder &&
+                    Objects.equals(text, that.text);
+        }
 
-            } catch (Exception e) {
-                android.util.Log.e("TaskListViewModel", "Error creating task: " + e.getMessage());
-                isLoading.postValue(false);
-            }
-        }).start();
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, status, sortOrder, text);
+        }
     }
 }
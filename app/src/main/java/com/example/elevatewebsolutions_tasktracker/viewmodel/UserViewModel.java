@@ -4,6 +4,7 @@ package com.example.elevatewebsolutions_tasktracker.viewmodel;
 import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.LiveData;
 
@@ -53,11 +54,16 @@ public class UserViewModel extends AndroidViewModel {
         return errorMessage;
     }
 
+    /**
+     * Gets all users, empty until the database is open; the caller never waits for it
+     */
     public LiveData<List<User>> getUserList() {
-        repository = TaskManagerRepository.getRepository(getApplication());
-
-        assert repository != null;
-        return repository.getAllUsers();
+        MediatorLiveData<List<User>> users = new MediatorLiveData<>();
+        TaskManagerRepository.warmUp(getApplication()).thenAcceptAsync(ready -> {
+            repository = ready;
+            users.addSource(ready.getAllUsers(), users::setValue);
+        }, getApplication().getMainExecutor());
+        return users;
     }
 
     /**
@@ -0,0 +1,151 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * tests for the transactional bulk-write methods on TaskManagerRepository
+ * runs against a file database, like the app, so batches commit through the real journal
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class BulkWriteBenchmarkTest {
+
+    private static final String DATABASE_NAME = "bulk_write_benchmark.db";
+    private static final int ROW_COUNT = 2_000;
+
+    private Context context;
+    private TaskManagerDatabase db;
+    private TaskManagerRepository repository;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DATABASE_NAME);
+        db = Room.databaseBuilder(context, TaskManagerDatabase.class, DATABASE_NAME).build();
+        repository = new TaskManagerRepository(db);
+
+        db.userDAO().insert(new User("bulk", "password", "Bulk Test"));
+        userId = db.userDAO().getUserByUsernameSync("bulk").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void insertTasks_returnsGeneratedIdsInInputOrder() throws Exception {
+        List<Long> ids = repository.insertTasks(newTasks(3, "batch")).get();
+
+        assertEquals(3, ids.size());
+        List<TaskSummary> stored = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 10);
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i).intValue(), stored.get(i).getTaskId());
+            assertEquals("batch " + i, stored.get(i).getTitle());
+        }
+    }
+
+    @Test
+    public void updateAndDeleteTasks_reportAffectedRows() throws Exception {
+        repository.insertTasks(newTasks(5, "task")).get();
+        List<Task> stored = new ArrayList<>();
+        for (TaskSummary summary : db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 10)) {
+            Task task = db.taskDAO().getTaskByIdSync(summary.getTaskId());
+            task.setStatus(TaskStatus.COMPLETE);
+            stored.add(task);
+        }
+
+        assertEquals(Integer.valueOf(5), repository.updateTasks(stored).get());
+        assertEquals(Integer.valueOf(2), repository.deleteTasks(stored.subList(0, 2)).get());
+        assertEquals(3, db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 10).size());
+    }
+
+    @Test
+    public void insertComments_rollsBackWholeBatchOnFailure() throws Exception {
+        long taskId = repository.insertTasks(newTasks(1, "parent")).get().get(0);
+        List<Comment> comments = new ArrayList<>();
+        comments.add(new Comment((int) taskId, userId, "fine"));
+        // no such task, violates the foreign key
+        comments.add(new Comment(Integer.MAX_VALUE, userId, "broken"));
+
+        try {
+            repository.insertComments(comments).get();
+            fail("batch with a bad row should fail");
+        } catch (ExecutionException expected) {
+            // the whole transaction is rolled back
+        }
+        assertNull(db.commentDAO().getCommentByCommentId(1));
+    }
+
+    @Test
+    public void insertTasks_withAStoredTaskId_failsAndKeepsTheTaskAndItsComments() throws Exception {
+        long taskId = repository.insertTasks(newTasks(1, "parent")).get().get(0);
+        repository.insertComments(Collections.singletonList(new Comment((int) taskId, userId, "keep me"))).get();
+        Task duplicate = new Task("replacement", "", TaskStatus.TO_DO, userId);
+        duplicate.setTaskId((int) taskId);
+
+        try {
+            repository.insertTasks(Collections.singletonList(duplicate)).get();
+            fail("taskId is already stored");
+        } catch (ExecutionException expected) {
+            // ABORT, not a delete and re-insert
+        }
+        assertEquals("parent 0", db.taskDAO().getTaskByIdSync((int) taskId).getTitle());
+        assertNotNull("a replace would have cascaded to the comment", db.commentDAO().getCommentByCommentId(1));
+    }
+
+    @Test
+    public void insertTasks_commitsTheWholeBatchInOneTransaction() throws Exception {
+        List<Long> taskIds = repository.insertTasks(newTasks(ROW_COUNT, "batch")).get();
+        assertEquals(ROW_COUNT, taskIds.size());
+        List<Comment> comments = new ArrayList<>(ROW_COUNT);
+        for (Long taskId : taskIds) {
+            comments.add(new Comment(taskId.intValue(), userId, "imported"));
+        }
+        assertEquals(ROW_COUNT, repository.insertComments(comments).get().size());
+
+        // a bad last row undoes the rows before it, so none of them was committed on its own
+        List<Task> failing = newTasks(ROW_COUNT, "rolled back");
+        failing.get(ROW_COUNT - 1).setTaskId(taskIds.get(0).intValue());
+        try {
+            repository.insertTasks(failing).get();
+            fail("last taskId is already stored");
+        } catch (ExecutionException expected) {
+            // the whole transaction is rolled back
+        }
+        assertEquals(ROW_COUNT, db.taskDAO().countTasksForUserBeforeStatus(userId, TaskStatus.COMPLETE));
+    }
+
+    private List<Task> newTasks(int count, String prefix) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task(prefix + " " + i, "Imported task", TaskStatus.TO_DO, userId));
+        }
+        return tasks;
+    }
+}
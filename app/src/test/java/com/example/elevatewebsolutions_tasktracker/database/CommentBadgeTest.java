@@ -0,0 +1,89 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+/**
+ * tests for comment counts and latest comment times on task list rows
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CommentBadgeTest {
+
+    private TaskManagerDatabase db;
+    private TaskDAO taskDao;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = db.taskDAO();
+        db.userDAO().insert(new User("badge", "password", "Badge Test"));
+        userId = db.userDAO().getUserByUsernameSync("badge").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void summaries_carryCommentCountAndLatestTimestamp() {
+        taskDao.insert(new Task("busy", "", TaskStatus.TO_DO, userId), new Task("quiet", "", TaskStatus.TO_DO, userId));
+        List<TaskSummary> before = taskDao.getTaskSummariesPageByUserId(userId, 0, 10);
+        int busyId = before.get(0).getTaskId();
+
+        for (int i = 1; i <= 3; i++) {
+            Comment comment = new Comment(busyId, userId, "comment " + i);
+            comment.setTimestamp(1_000L * i);
+            db.commentDAO().insert(comment);
+        }
+
+        List<TaskSummary> page = taskDao.getTaskSummariesPageByUserId(userId, 0, 10);
+        assertEquals(3, page.get(0).getCommentCount());
+        assertEquals(3_000L, page.get(0).getLastCommentTimestamp());
+        assertEquals(0, page.get(1).getCommentCount());
+        assertEquals(0L, page.get(1).getLastCommentTimestamp());
+    }
+
+    @Test
+    public void badgeSubqueries_readOnlyTheCommentIndex() {
+        String plan = queryPlan("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE assignedUserId = " + userId + " AND taskId > 0 ORDER BY taskId ASC LIMIT 50");
+        assertTrue("comment aggregates should use the covering index: " + plan,
+                plan.contains("COVERING INDEX index_comment_table_taskId_timestamp"));
+        assertFalse("comment aggregates should not scan comments: " + plan,
+                plan.contains("SCAN " + TaskManagerDatabase.COMMENT_TABLE) || plan.contains("SCAN c"));
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, null)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
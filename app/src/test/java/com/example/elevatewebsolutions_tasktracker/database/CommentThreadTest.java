@@ -0,0 +1,136 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tests for keyset paging of comment threads and the new-comment tail
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CommentThreadTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private TaskManagerDatabase db;
+    private CommentDAO commentDao;
+    private int userId;
+    private int taskId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        commentDao = db.commentDAO();
+        db.userDAO().insert(new User("thread", "password", "Thread Test"));
+        userId = db.userDAO().getUserByUsernameSync("thread").getId();
+        db.taskDAO().insert(new Task("busy task", "", TaskStatus.TO_DO, userId));
+        taskId = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 1).get(0).getTaskId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void loadLatest_thenOlder_pagesUpThroughTheThread() {
+        // timestamps collide in pairs so the commentId tiebreak is exercised
+        seedComments(PAGE_SIZE * 2 + 5);
+
+        CommentThread thread = new CommentThread(commentDao, taskId, Runnable::run, PAGE_SIZE);
+        thread.loadLatest();
+        List<Comment> latest = thread.getComments().getValue();
+        assertEquals(PAGE_SIZE, latest.size());
+        assertEquals("comment " + (PAGE_SIZE * 2 + 4), latest.get(latest.size() - 1).getText());
+
+        thread.loadOlder();
+        thread.loadOlder();
+        List<Comment> all = thread.getComments().getValue();
+        assertEquals(PAGE_SIZE * 2 + 5, all.size());
+        assertTrue(thread.isOldestReached());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals("comments should be oldest first without gaps or repeats",
+                    "comment " + i, all.get(i).getText());
+        }
+    }
+
+    @Test
+    public void tail_emitsOnlyCommentsNewerThanLastSeen() {
+        seedComments(5);
+        CommentThread thread = new CommentThread(commentDao, taskId, Runnable::run, PAGE_SIZE);
+        thread.loadLatest();
+
+        Comment fresh = new Comment(taskId, userId, "fresh");
+        fresh.setTimestamp(Long.MAX_VALUE / 2);
+        commentDao.insert(fresh);
+        thread.onCommentsChanged();
+
+        List<Comment> arrivals = thread.getNewComments().getValue();
+        assertEquals(1, arrivals.size());
+        assertEquals("fresh", arrivals.get(0).getText());
+        assertEquals(6, thread.getLoadedCount());
+
+        // nothing new, nothing emitted or re-read
+        thread.onCommentsChanged();
+        assertSame(arrivals, thread.getNewComments().getValue());
+        assertEquals(6, thread.getLoadedCount());
+    }
+
+    @Test
+    public void commentPages_walkTheCompositeIndexWithoutSorting() {
+        String plan = queryPlan("SELECT * FROM " + TaskManagerDatabase.COMMENT_TABLE + " WHERE taskId = " + taskId
+                + " AND timestamp <= 100 AND (timestamp < 100 OR commentId < 7)"
+                + " ORDER BY timestamp DESC, commentId DESC LIMIT " + PAGE_SIZE);
+        assertTrue("older page should use the thread index: " + plan,
+                plan.contains("index_comment_table_taskId_timestamp"));
+        assertFalse("older page should not sort: " + plan, plan.contains("TEMP B-TREE"));
+    }
+
+    private void seedComments(int count) {
+        db.runInTransaction(() -> {
+            List<Comment> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Comment comment = new Comment(taskId, userId, "comment " + i);
+                comment.setTimestamp(1_000L + i / 2);
+                batch.add(comment);
+            }
+            commentDao.insertComments(batch);
+        });
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, null)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * tests for the single-database open path and the one-time merge of App_database
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DatabaseConsolidationTest {
+
+    private static final String MAIN_NAME = "consolidation_main.db";
+    private static final String LEGACY_NAME = "consolidation_legacy.db";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        deleteFiles();
+    }
+
+    @After
+    public void tearDown() {
+        deleteFiles();
+    }
+
+    @Test
+    public void legacyRows_areMergedByUsernameAndFileIsDeleted() {
+        // current database already knows "shared"
+        TaskManagerDatabase db = openMain(false);
+        db.userDAO().insert(new User("shared", "password", "Existing"));
+        int sharedId = db.userDAO().getUserByUsernameSync("shared").getId();
+        db.close();
+
+        createLegacyFile();
+
+        db = openMain(true);
+        try {
+            User legacyOnly = db.userDAO().getUserByUsernameSync("legacy_only");
+            assertNotNull("user missing from the current database should be copied", legacyOnly);
+            assertEquals("Existing", db.userDAO().getUserByUsernameSync("shared").getTitle());
+
+            List<TaskSummary> sharedTasks = db.taskDAO().getTaskSummariesPageByUserId(sharedId, 0, 10);
+            assertEquals(1, sharedTasks.size());
+            assertEquals("Legacy task for shared", sharedTasks.get(0).getTitle());
+            assertEquals(1, db.taskDAO().getTaskSummariesPageByUserId(legacyOnly.getId(), 0, 10).size());
+
+            assertFalse("legacy file should be deleted after the merge",
+                    context.getDatabasePath(LEGACY_NAME).exists());
+        } finally {
+            db.close();
+        }
+
+        // a second open has nothing left to merge
+        db = openMain(true);
+        assertEquals(1, db.taskDAO().getTaskSummariesPageByUserId(sharedId, 0, 10).size());
+        db.close();
+    }
+
+    @Test
+    public void afterTheMerge_onlyOneDatabaseFileIsLeft() {
+        createLegacyFile();
+
+        TaskManagerDatabase db = openMain(true);
+        try {
+            // the merge runs when Room first opens the file
+            db.userDAO().getUserByUsernameSync("nobody");
+
+            List<String> databases = new ArrayList<>();
+            for (String name : context.databaseList()) {
+                // journal, WAL and shared-memory files belong to the database they are named after
+                if (!name.endsWith("-journal") && !name.endsWith("-wal") && !name.endsWith("-shm")) {
+                    databases.add(name);
+                }
+            }
+            assertEquals(Collections.singletonList(MAIN_NAME), databases);
+            assertFalse(context.getDatabasePath(LEGACY_NAME).exists());
+        } finally {
+            db.close();
+        }
+    }
+
+    private TaskManagerDatabase openMain(boolean withMerger) {
+        RoomDatabase.Builder<TaskManagerDatabase> builder =
+                Room.databaseBuilder(context, TaskManagerDatabase.class, MAIN_NAME).allowMainThreadQueries();
+        if (withMerger) {
+            builder.addCallback(new LegacyDatabaseMerger(context, LEGACY_NAME));
+        }
+        return builder.build();
+    }
+
+    /**
+     * builds a file with the tables the old AppDatabase created
+     */
+    private void createLegacyFile() {
+        SQLiteDatabase legacy = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(LEGACY_NAME), null);
+        try {
+            legacy.execSQL("CREATE TABLE `" + TaskManagerDatabase.USER_TABLE + "` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`username` TEXT, `password` TEXT, `passwordSalt` TEXT, `title` TEXT, `isAdmin` INTEGER, "
+                    + "`createdTimestamp` INTEGER NOT NULL)");
+            legacy.execSQL("CREATE TABLE `" + TaskManagerDatabase.TASK_TABLE + "` (`taskId` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`title` TEXT, `description` TEXT, `status` TEXT, `assignedUserId` INTEGER NOT NULL)");
+            // legacy IDs deliberately differ from the current database
+            legacy.execSQL("INSERT INTO `" + TaskManagerDatabase.USER_TABLE + "` VALUES (7, 'shared', 'p', NULL, 'Legacy', 0, 1)");
+            legacy.execSQL("INSERT INTO `" + TaskManagerDatabase.USER_TABLE + "` VALUES (8, 'legacy_only', 'p', NULL, 'Legacy', 0, 1)");
+            legacy.execSQL("INSERT INTO `" + TaskManagerDatabase.TASK_TABLE + "` VALUES (1, 'Legacy task for shared', '', 'To Do', 7)");
+            legacy.execSQL("INSERT INTO `" + TaskManagerDatabase.TASK_TABLE + "` VALUES (2, 'Legacy task for legacy_only', '', 'To Do', 8)");
+        } finally {
+            legacy.close();
+        }
+    }
+
+    private void deleteFiles() {
+        context.deleteDatabase(MAIN_NAME);
+        context.deleteDatabase(LEGACY_NAME);
+    }
+}
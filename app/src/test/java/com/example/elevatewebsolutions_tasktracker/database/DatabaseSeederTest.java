@@ -0,0 +1,134 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tests for versioned seeding: steps run once per version, not on every open
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DatabaseSeederTest {
+
+    private static final String DATABASE_NAME = "seeder_test.db";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void defaultUsers_areSeededOnFirstOpenOnly() {
+        CountingStep counter = new CountingStep(1);
+        List<DatabaseSeeder.SeedStep> steps = new ArrayList<>();
+        steps.add(new DatabaseSeeder.DefaultUsersStep());
+        steps.add(counter);
+
+        TaskManagerDatabase db = open(new DatabaseSeeder(steps));
+        User admin = db.userDAO().getUserByUsernameSync("admin");
+        assertNotNull(admin);
+        assertTrue(admin.isAdminUser());
+        assertNotNull(db.userDAO().getUserByUsernameSync("user"));
+        assertEquals("1", db.metadataDAO().getValue(DatabaseSeeder.SEED_VERSION_KEY));
+        db.close();
+
+        // warm open: the version check passes and no step runs
+        db = open(new DatabaseSeeder(steps));
+        db.userDAO().getUserByUsernameSync("admin");
+        db.close();
+        assertEquals("seed steps should not run again on a warm database", 1, counter.runs);
+    }
+
+    @Test
+    public void newSeedVersion_runsOnlyNewerSteps() {
+        CountingStep first = new CountingStep(1);
+        List<DatabaseSeeder.SeedStep> steps = new ArrayList<>();
+        steps.add(first);
+        TaskManagerDatabase db = open(new DatabaseSeeder(steps));
+        db.userDAO().getUserByUsernameSync("nobody");
+        db.close();
+
+        CountingStep second = new CountingStep(2);
+        steps.add(second);
+        db = open(new DatabaseSeeder(steps));
+        db.userDAO().getUserByUsernameSync("nobody");
+        assertEquals("2", db.metadataDAO().getValue(DatabaseSeeder.SEED_VERSION_KEY));
+        db.close();
+
+        assertEquals(1, first.runs);
+        assertEquals(1, second.runs);
+    }
+
+    @Test
+    public void demoData_loadsLargeDatasetInOneTransaction() {
+        List<DatabaseSeeder.SeedStep> steps = new ArrayList<>();
+        steps.add(new DatabaseSeeder.DemoDataStep(1, 20, 500));
+        TaskManagerDatabase db = Room.databaseBuilder(context, TaskManagerDatabase.class, DATABASE_NAME)
+                .allowMainThreadQueries()
+                .build();
+
+        assertEquals(1, new DatabaseSeeder(steps).applyTo(db));
+
+        User demoUser = db.userDAO().getUserByUsernameSync("demo_user_19");
+        assertNotNull(demoUser);
+        assertEquals(500, db.taskDAO().getTaskSummariesPageByUserId(demoUser.getId(), 0, 1000).size());
+
+        // already applied, nothing to do
+        assertEquals(0, new DatabaseSeeder(steps).applyTo(db));
+        db.close();
+    }
+
+    private TaskManagerDatabase open(DatabaseSeeder seeder) {
+        return Room.databaseBuilder(context, TaskManagerDatabase.class, DATABASE_NAME)
+                .allowMainThreadQueries()
+                .addCallback(seeder)
+                .build();
+    }
+
+    /**
+     * seed step that only counts how often it ran
+     */
+    private static final class CountingStep implements DatabaseSeeder.SeedStep {
+        private final int version;
+        int runs;
+
+        CountingStep(int version) {
+            this.version = version;
+        }
+
+        @Override
+        public int getVersion() {
+            return version;
+        }
+
+        @Override
+        public void apply(SupportSQLiteDatabase db) {
+            runs++;
+        }
+    }
+}
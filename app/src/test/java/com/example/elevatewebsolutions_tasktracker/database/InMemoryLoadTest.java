@@ -0,0 +1,46 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * the load harness over a repository backed by the in-memory task store
+ * runs on the plain JVM, so the data set can be far larger than the SQLite runs
+ */
+public class InMemoryLoadTest {
+
+    private static final long SEED = 20240601L;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    @Test
+    public void loadHarness_overHundredThousandTasks() throws Exception {
+        InMemoryTaskStore store = new InMemoryTaskStore(100_000);
+        SyntheticDataGenerator.Dataset data = new SyntheticDataGenerator(SEED)
+                .users(1_000)
+                .tasksPerUser(SyntheticDataGenerator.IntDistribution.fixed(100))
+                .descriptionWords(SyntheticDataGenerator.IntDistribution.longTail(20, 200))
+                .fill(store);
+        assertEquals(100_000, data.getTaskCount());
+        assertEquals(100_000, store.getTaskCount());
+
+        LoadHarness.Report report = new LoadHarness(new TaskManagerRepository(store), data, SEED)
+                .clients(4)
+                .operationsPerClient(500)
+                .warmupOperationsPerClient(50)
+                .taskOnlyMix()
+                .run();
+
+        assertEquals(2_000, report.getOperationCount());
+        // the report lists every operation's errors and latencies
+        assertEquals("no operation should fail or time out\n" + report, 0, report.getErrorCount());
+        for (LoadHarness.OperationStats operation : report.getOperations()) {
+            assertTrue(operation.getName() + " never ran", operation.getCount() > 0);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Runs a mixed read/write workload through TaskManagerRepository from several client threads
+ * and reports throughput and per-operation latency.
+ *
+ * Each client picks operations by weight with its own seeded Random, so the sequence of calls
+ * is repeatable; their timing is not, because clients share the repository's executors.
+ * LiveData results are observed from the client threads, so callers run the harness under
+ * InstantTaskExecutorRule.
+ */
+public class LoadHarness {
+
+    private static final long RESULT_TIMEOUT_SECONDS = 10;
+
+    /**
+     * One kind of request a screen would make, run to completion before it returns
+     */
+    public interface Operation {
+        void run(TaskManagerRepository repository, SyntheticDataGenerator.Dataset data, Random random) throws Exception;
+    }
+
+    private final TaskManagerRepository repository;
+    private final SyntheticDataGenerator.Dataset data;
+    private final long seed;
+    private final Map<String, WeightedOperation> operations = new LinkedHashMap<>();
+    private int clients = 4;
+    private int operationsPerClient = 500;
+    private int warmupOperationsPerClient = 50;
+
+    /**
+     * @param repository repository under load
+     * @param data the data set the repository's database was filled with
+     * @param seed seed for the clients' choices
+     */
+    public LoadHarness(TaskManagerRepository repository, SyntheticDataGenerator.Dataset data, long seed) {
+        this.repository = repository;
+        this.data = data;
+        this.seed = seed;
+    }
+
+    public LoadHarness clients(int clients) {
+        this.clients = clients;
+        return this;
+    }
+
+    public LoadHarness operationsPerClient(int operationsPerClient) {
+        this.operationsPerClient = operationsPerClient;
+        return this;
+    }
+
+    /**
+     * Sets how many operations each client runs, unrecorded, before measuring
+     */
+    public LoadHarness warmupOperationsPerClient(int warmupOperationsPerClient) {
+        this.warmupOperationsPerClient = warmupOperationsPerClient;
+        return this;
+    }
+
+    /**
+     * Adds an operation to the mix
+     * @param name name it is reported under
+     * @param weight relative share of the calls
+     */
+    public LoadHarness operation(String name, int weight, Operation operation) {
+        operations.put(name, new WeightedOperation(name, weight, operation));
+        return this;
+    }
+
+    /**
+     * Adds the app's usual traffic: mostly list pages, opened tasks and searches, with
+     * status changes, renames and new comments in between
+     */
+    public LoadHarness standardMix() {
+        return taskOnlyMix()
+                .operation("recent comments", 10, (repo, data, random) ->
+                        repo.getRecentComments(Integer.MAX_VALUE, 20).get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .operation("add comments", 5, (repo, data, random) -> {
+                    List<Comment> comments = new ArrayList<>();
+                    int taskId = data.randomTaskId(random);
+                    for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                        comments.add(new Comment(taskId, data.randomUserId(random), "load comment"));
+                    }
+                    repo.insertComments(comments).get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                });
+    }
+
+    /**
+     * Adds the task traffic of {@link #standardMix()} without the comment operations, for a
+     * repository over a bare TaskStore
+     */
+    public LoadHarness taskOnlyMix() {
+        return operation("list page", 35, LoadHarness::readListPage)
+                .operation("open task", 20, (repo, data, random) ->
+                        awaitValue(repo.getTaskByTaskID(data.randomTaskId(random)), task -> true))
+                .operation("search", 15, (repo, data, random) ->
+                        awaitValue(repo.searchTasksForUser(data.randomUserId(random),
+                                SyntheticDataGenerator.WORDS[random.nextInt(SyntheticDataGenerator.WORDS.length)]), hits -> hits != null))
+                .operation("update status", 10, (repo, data, random) ->
+                        repo.updateTaskStatus(data.randomTaskId(random), TaskStatus.values()[random.nextInt(TaskStatus.values().length)])
+                                .get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .operation("rename", 5, (repo, data, random) ->
+                        repo.renameTask(data.randomTaskId(random), "Renamed " + random.nextInt(1_000))
+                                .get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Runs every client to the end
+     * @return throughput and latency of the measured operations
+     */
+    public Report run() throws InterruptedException {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("no operations in the mix");
+        }
+        List<WeightedOperation> mix = new ArrayList<>(operations.values());
+        int totalWeight = 0;
+        for (WeightedOperation operation : mix) {
+            totalWeight += operation.weight;
+        }
+        Map<String, Samples> samples = new LinkedHashMap<>();
+        for (WeightedOperation operation : mix) {
+            samples.put(operation.name, new Samples());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch warmedUp = new CountDownLatch(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> running = new ArrayList<>();
+        final int weights = totalWeight;
+        for (int client = 0; client < clients; client++) {
+            Random random = new Random(seed + client);
+            running.add(pool.submit(() -> {
+                for (int i = 0; i < warmupOperationsPerClient; i++) {
+                    runOnce(pick(mix, weights, random), random, null);
+                }
+                warmedUp.countDown();
+                start.await();
+                for (int i = 0; i < operationsPerClient; i++) {
+                    WeightedOperation operation = pick(mix, weights, random);
+                    runOnce(operation, random, samples.get(operation.name));
+                }
+                return null;
+            }));
+        }
+
+        warmedUp.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> client : running) {
+                client.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("load client failed", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+
+        List<OperationStats> stats = new ArrayList<>();
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            stats.add(entry.getValue().summarize(entry.getKey()));
+        }
+        return new Report(stats, elapsedNanos);
+    }
+
+    private void runOnce(WeightedOperation operation, Random random, Samples samples) {
+        long startNanos = System.nanoTime();
+        boolean failed = false;
+        try {
+            operation.operation.run(repository, data, random);
+        } catch (Exception e) {
+            failed = true;
+        }
+        if (samples != null) {
+            samples.add(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private static WeightedOperation pick(List<WeightedOperation> mix, int totalWeight, Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (WeightedOperation operation : mix) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    /**
+     * Opens the first page of a user's task list the way the main screen does
+     */
+    private static void readListPage(TaskManagerRepository repository, SyntheticDataGenerator.Dataset data,
+                                     Random random) throws Exception {
+        TaskPager pager = repository.getTaskPagerForUser(data.randomUserId(random));
+        try {
+            pager.loadInitial();
+            LiveData<List<TaskSummary>> tasks = pager.getTasks();
+            awaitValue(tasks, page -> page != null && (!page.isEmpty() || pager.isEndReached()));
+        } finally {
+            pager.close();
+        }
+    }
+
+    /**
+     * Observes a LiveData until it holds a value the predicate accepts
+     */
+    static <T> T awaitValue(LiveData<T> liveData, Predicate<T> ready) throws InterruptedException, TimeoutException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<T> values = new ArrayList<>(1);
+        Observer<T> observer = value -> {
+            if (latch.getCount() > 0 && ready.test(value)) {
+                synchronized (values) {
+                    values.add(value);
+                }
+                latch.countDown();
+            }
+        };
+        liveData.observeForever(observer);
+        try {
+            if (!latch.await(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new TimeoutException("no result within " + RESULT_TIMEOUT_SECONDS + "s");
+            }
+        } finally {
+            liveData.removeObserver(observer);
+        }
+        synchronized (values) {
+            return values.get(0);
+        }
+    }
+
+    private static final class WeightedOperation {
+        final String name;
+        final int weight;
+        final Operation operation;
+
+        WeightedOperation(String name, int weight, Operation operation) {
+            this.name = name;
+            this.weight = weight;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Latencies of one operation, appended from every client
+     */
+    private static final class Samples {
+        private long[] nanos = new long[256];
+        private int count;
+        private int errors;
+
+        synchronized void add(long latencyNanos, boolean failed) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latencyNanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized OperationStats summarize(String name) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new OperationStats(name, count, errors,
+                    percentile(sorted, 50), percentile(sorted, 99), count == 0 ? 0 : sorted[count - 1]);
+        }
+
+        private static long percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            return sorted[Math.max(0, index)];
+        }
+    }
+
+    /**
+     * Latency summary for one operation of the mix
+     */
+    public static final class OperationStats {
+        private final String name;
+        private final int count;
+        private final int errors;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+
+        OperationStats(String name, int count, int errors, long p50Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.count = count;
+            this.errors = errors;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return calls that threw or timed out, they are still counted in the latencies
+         */
+        public int getErrorCount() {
+            return errors;
+        }
+
+        public double getP50Millis() {
+            return toMillis(p50Nanos);
+        }
+
+        public double getP99Millis() {
+            return toMillis(p99Nanos);
+        }
+
+        public double getMaxMillis() {
+            return toMillis(maxNanos);
+        }
+    }
+
+    /**
+     * Result of one run
+     */
+    public static final class Report {
+        private final List<OperationStats> operations;
+        private final long elapsedNanos;
+
+        Report(List<OperationStats> operations, long elapsedNanos) {
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<OperationStats> getOperations() {
+            return operations;
+        }
+
+        public int getOperationCount() {
+            int total = 0;
+            for (OperationStats operation : operations) {
+                total += operation.count;
+            }
+            return total;
+        }
+
+        public int getErrorCount() {
+            int total = 0;
+            for (OperationStats operation : operations) {
+                total += operation.errors;
+            }
+            return total;
+        }
+
+        public double getElapsedMillis() {
+            return toMillis(elapsedNanos);
+        }
+
+        /**
+         * @return measured operations completed per second, over all clients
+         */
+        public double getThroughputPerSecond() {
+            return elapsedNanos == 0 ? 0 : getOperationCount() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                    "%d ops in %.0f ms, %.1f ops/s, %d errors%n",
+                    getOperationCount(), getElapsedMillis(), getThroughputPerSecond(), getErrorCount()));
+            for (OperationStats operation : operations) {
+                text.append(String.format(Locale.ROOT, "  %-16s n=%-6d p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms  errors=%d%n",
+                        operation.name, operation.count, operation.getP50Millis(), operation.getP99Millis(),
+                        operation.getMaxMillis(), operation.errors));
+            }
+            return text.toString();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * tests for column-level task updates and atomic read-modify-write
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class PartialTaskUpdateTest {
+
+    private TaskManagerDatabase db;
+    private TaskManagerRepository repository;
+    private int userId;
+    private int otherUserId;
+    private int taskId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        repository = new TaskManagerRepository(db);
+        db.userDAO().insert(new User("owner", "password", "Owner"));
+        db.userDAO().insert(new User("other", "password", "Other"));
+        userId = db.userDAO().getUserByUsernameSync("owner").getId();
+        otherUserId = db.userDAO().getUserByUsernameSync("other").getId();
+        db.taskDAO().insert(new Task("Original title", "Original description", TaskStatus.TO_DO, userId));
+        taskId = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 1).get(0).getTaskId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void columnUpdates_touchOnlyTheirColumn() throws Exception {
+        assertTrue(repository.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS).get(5, TimeUnit.SECONDS));
+        assertTrue(repository.renameTask(taskId, "Renamed").get(5, TimeUnit.SECONDS));
+        assertTrue(repository.reassignTask(taskId, otherUserId).get(5, TimeUnit.SECONDS));
+
+        Task stored = db.taskDAO().getTaskByIdSync(taskId);
+        assertEquals("Renamed", stored.getTitle());
+        assertEquals("Original description", stored.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(otherUserId, stored.getAssignedUserId());
+    }
+
+    @Test
+    public void unchangedValue_isNotWrittenAndDoesNotInvalidate() throws Exception {
+        AtomicInteger invalidations = new AtomicInteger();
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer(TaskManagerDatabase.TASK_TABLE) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidations.incrementAndGet();
+            }
+        };
+        db.getInvalidationTracker().addObserver(observer);
+
+        assertFalse(repository.updateTaskStatus(taskId, TaskStatus.TO_DO).get(5, TimeUnit.SECONDS));
+        assertFalse(repository.modifyTask(taskId, t -> t.setTitle("Original title")).get(5, TimeUnit.SECONDS));
+        db.getInvalidationTracker().refreshVersionsSync();
+
+        assertEquals(0, invalidations.get());
+        db.getInvalidationTracker().removeObserver(observer);
+    }
+
+    @Test
+    public void concurrentModifications_doNotOverwriteEachOther() throws Exception {
+        // each edit only carries its own field, so neither clobbers the other with a stale copy
+        CompletableFuture<Boolean> rename = repository.modifyTask(taskId, t -> t.setTitle("New title"));
+        CompletableFuture<Boolean> complete = repository.modifyTask(taskId, t -> t.setStatus(TaskStatus.COMPLETE));
+        assertTrue(rename.get(5, TimeUnit.SECONDS));
+        assertTrue(complete.get(5, TimeUnit.SECONDS));
+
+        Task stored = db.taskDAO().getTaskByIdSync(taskId);
+        assertEquals("New title", stored.getTitle());
+        assertEquals(TaskStatus.COMPLETE, stored.getStatus());
+    }
+
+    @Test
+    public void modifyMissingTask_completesWithFalse() throws Exception {
+        assertFalse(repository.modifyTask(taskId + 1000, t -> t.setTitle("ghost")).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.SQLiteMode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs EXPLAIN QUERY PLAN on every TaskDAO, UserDAO and CommentDAO method and compares it with
+ * the checked-in baseline in dao_query_plans.txt, so a query that stops using its index fails here.
+ *
+ * The SQL is captured from Room's query callback while each method runs, so the plans are taken
+ * from the statements Room actually prepares rather than copies of them. Native SQLite mode keeps
+ * the plan text close to what a device prints.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+@SQLiteMode(SQLiteMode.Mode.NATIVE)
+public class QueryPlanRegressionTest {
+
+    private static final String BASELINE = "dao_query_plans.txt";
+    private static final List<Class<?>> DAOS = Arrays.asList(TaskDAO.class, UserDAO.class, CommentDAO.class);
+
+    // table access lines, with or without the "TABLE" and "AS alias" that older SQLite prints
+    private static final Pattern ACCESS = Pattern.compile("^(SCAN|SEARCH) (?:TABLE )?(\\w+)(?: AS \\w+)?(.*)$");
+    private static final Pattern FULL_SCAN = Pattern.compile("^SCAN \\w+$");
+    private static final Set<String> STATEMENTS = new HashSet<>(Arrays.asList("SELECT", "INSERT", "UPDATE", "DELETE"));
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private TaskManagerDatabase db;
+    private TaskDAO taskDao;
+    private UserDAO userDao;
+    private CommentDAO commentDao;
+
+    // statements seen by the query callback while capturing is on
+    private final List<CapturedStatement> captured = new ArrayList<>();
+    private boolean capturing;
+
+    private User user;
+    private Task task;
+    private Comment comment;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sql, bindArgs) -> {
+                    if (capturing) {
+                        captured.add(new CapturedStatement(sql, new ArrayList<>(bindArgs)));
+                    }
+                }, Runnable::run)
+                .build();
+        taskDao = db.taskDAO();
+        userDao = db.userDAO();
+        commentDao = db.commentDAO();
+
+        userDao.insert(new User("planner", "password", "Plan Test"));
+        user = userDao.getUserByUsernameSync("planner");
+        taskDao.insert(new Task("Plan report", "checked by the plan suite", TaskStatus.IN_PROGRESS, user.getId()));
+        task = taskDao.getTaskByIdSync(taskDao.getTaskSummariesPageByUserId(user.getId(), 0, 1).get(0).getTaskId());
+        commentDao.insert(new Comment(task.getTaskId(), user.getId(), "plan comment"));
+        comment = commentDao.getCommentsNewerThan(task.getTaskId(), 0, 0, 1).get(0);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void everyDaoMethod_isCheckedAndHasABaseline() throws IOException {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> dao : DAOS) {
+            for (Method method : dao.getDeclaredMethods()) {
+                if (Modifier.isAbstract(method.getModifiers())) {
+                    declared.add(dao.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        Set<String> called = daoCalls().keySet();
+        Set<String> recorded = readBaseline().keySet();
+
+        assertEquals("every DAO method needs a call in daoCalls()", declared, new TreeSet<>(called));
+        assertEquals("every DAO method needs an entry in " + BASELINE, declared, new TreeSet<>(recorded));
+    }
+
+    @Test
+    public void everyDaoQuery_matchesItsBaselinePlan() throws IOException {
+        Map<String, List<String>> baseline = readBaseline();
+        StringBuilder failures = new StringBuilder();
+
+        for (Map.Entry<String, Runnable> call : daoCalls().entrySet()) {
+            String method = call.getKey();
+            List<String> actual = planOf(method, call.getValue());
+            List<String> expected = baseline.get(method);
+            if (expected == null || expected.equals(actual)) {
+                continue;
+            }
+            for (String line : actual) {
+                if (FULL_SCAN.matcher(line).matches() && !expected.contains(line)) {
+                    failures.append("\n").append(method).append(" now does a full table scan: ").append(line);
+                }
+            }
+            failures.append("\n").append(method).append(" plan changed, expected:\n").append(entry(method, expected))
+                    .append("but was:\n").append(entry(method, actual));
+        }
+
+        assertTrue("query plans differ from " + BASELINE + ":" + failures, failures.length() == 0);
+    }
+
+    /**
+     * One call per DAO method, keyed "Dao.method". Deletes use rows that do not exist, and the
+     * calls that clear a whole table run last, so every call still has the fixture rows to work on.
+     */
+    private Map<String, Runnable> daoCalls() {
+        int userId = user.getId();
+        int taskId = task.getTaskId();
+        int commentId = comment.getCommentId();
+        Task missingTask = new Task("missing", "", TaskStatus.TO_DO, userId);
+        missingTask.setTaskId(Integer.MAX_VALUE);
+        User missingUser = new User("missing", "password", "Missing");
+        missingUser.setId(Integer.MAX_VALUE);
+        Comment missingComment = new Comment(taskId, userId, "missing");
+        missingComment.setCommentId(Integer.MAX_VALUE);
+        TaskStatus status = TaskStatus.IN_PROGRESS;
+
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("TaskDAO.insert", () -> taskDao.insert(new Task("Inserted", "", TaskStatus.TO_DO, userId)));
+        calls.put("TaskDAO.update", () -> taskDao.update(task));
+        calls.put("TaskDAO.delete", () -> taskDao.delete(missingTask));
+        calls.put("TaskDAO.insertTasks", () -> taskDao.insertTasks(Collections.singletonList(new Task("Bulk", "", TaskStatus.TO_DO, userId))));
+        calls.put("TaskDAO.updateTasks", () -> taskDao.updateTasks(Collections.singletonList(task)));
+        calls.put("TaskDAO.deleteTasks", () -> taskDao.deleteTasks(Collections.singletonList(missingTask)));
+        calls.put("TaskDAO.getAllTasks", () -> read(taskDao.getAllTasks()));
+        calls.put("TaskDAO.getTasksByUserId", () -> read(taskDao.getTasksByUserId(userId)));
+        calls.put("TaskDAO.getTaskById", () -> read(taskDao.getTaskById(taskId)));
+        calls.put("TaskDAO.getTaskByIdSync", () -> taskDao.getTaskByIdSync(taskId));
+        calls.put("TaskDAO.updateStatus", () -> taskDao.updateStatus(taskId, status, 0));
+        calls.put("TaskDAO.updateTitle", () -> taskDao.updateTitle(taskId, "Plan report"));
+        calls.put("TaskDAO.updateDescription", () -> taskDao.updateDescription(taskId, "checked by the plan suite"));
+        calls.put("TaskDAO.reassign", () -> taskDao.reassign(taskId, userId));
+        calls.put("TaskDAO.getTaskSummariesPageByUserId", () -> taskDao.getTaskSummariesPageByUserId(userId, 0, 20));
+        calls.put("TaskDAO.getTaskSummariesInRangeByUserId", () -> taskDao.getTaskSummariesInRangeByUserId(userId, 0, 20));
+        calls.put("TaskDAO.getTaskSummariesPageByUserIdDesc", () -> taskDao.getTaskSummariesPageByUserIdDesc(userId, 20, 20));
+        calls.put("TaskDAO.getTaskSummariesInRangeByUserIdDesc", () -> taskDao.getTaskSummariesInRangeByUserIdDesc(userId, 20, 0));
+        calls.put("TaskDAO.getTaskSummariesPageByUserIdAndStatus", () -> taskDao.getTaskSummariesPageByUserIdAndStatus(userId, status, 0, 20));
+        calls.put("TaskDAO.getTaskSummariesInRangeByUserIdAndStatus", () -> taskDao.getTaskSummariesInRangeByUserIdAndStatus(userId, status, 0, 20));
+        calls.put("TaskDAO.getTaskSummariesPageByUserIdAndStatusDesc", () -> taskDao.getTaskSummariesPageByUserIdAndStatusDesc(userId, status, 20, 20));
+        calls.put("TaskDAO.getTaskSummariesInRangeByUserIdAndStatusDesc", () -> taskDao.getTaskSummariesInRangeByUserIdAndStatusDesc(userId, status, 20, 0));
+        calls.put("TaskDAO.getTasksByStatus", () -> read(taskDao.getTasksByStatus(status)));
+        calls.put("TaskDAO.countTasksForUserBeforeStatus", () -> taskDao.countTasksForUserBeforeStatus(userId, TaskStatus.COMPLETE));
+        calls.put("TaskDAO.searchTasksForUserSync", () -> taskDao.searchTasksForUserSync(userId, status.getCode(), "title:report*", "report*", 20, null));
+        calls.put("TaskDAO.deleteTaskById", () -> taskDao.deleteTaskById(Integer.MAX_VALUE));
+
+        calls.put("UserDAO.insert", () -> userDao.insert(new User("inserted", "password", "Inserted")));
+        calls.put("UserDAO.insertIfAbsent", () -> userDao.insertIfAbsent(new User("planner", "password", "Taken")));
+        calls.put("UserDAO.update", () -> userDao.update(user));
+        calls.put("UserDAO.delete", () -> userDao.delete(missingUser));
+        calls.put("UserDAO.insertUsers", () -> userDao.insertUsers(Collections.singletonList(new User("bulk", "password", "Bulk"))));
+        calls.put("UserDAO.updateUsers", () -> userDao.updateUsers(Collections.singletonList(user)));
+        calls.put("UserDAO.deleteUsers", () -> userDao.deleteUsers(Collections.singletonList(missingUser)));
+        calls.put("UserDAO.getAllUsers", () -> read(userDao.getAllUsers()));
+        calls.put("UserDAO.getUserByUsername", () -> read(userDao.getUserByUsername("PLANNER")));
+        calls.put("UserDAO.getUserByUserId", () -> read(userDao.getUserByUserId(userId)));
+        calls.put("UserDAO.getUserByUsernameSync", () -> userDao.getUserByUsernameSync("PLANNER"));
+        calls.put("UserDAO.getUserByUserIdSync", () -> userDao.getUserByUserIdSync(userId));
+        calls.put("UserDAO.deleteUserById", () -> userDao.deleteUserById(Integer.MAX_VALUE));
+
+        calls.put("CommentDAO.insert", () -> commentDao.insert(new Comment(taskId, userId, "inserted")));
+        calls.put("CommentDAO.update", () -> commentDao.update(comment));
+        calls.put("CommentDAO.delete", () -> commentDao.delete(missingComment));
+        calls.put("CommentDAO.insertComments", () -> commentDao.insertComments(Collections.singletonList(new Comment(taskId, userId, "bulk"))));
+        calls.put("CommentDAO.updateComments", () -> commentDao.updateComments(Collections.singletonList(comment)));
+        calls.put("CommentDAO.deleteComments", () -> commentDao.deleteComments(Collections.singletonList(missingComment)));
+        calls.put("CommentDAO.getCommentByCommentId", () -> commentDao.getCommentByCommentId(commentId));
+        calls.put("CommentDAO.getCommentsByTaskId", () -> read(commentDao.getCommentsByTaskId(taskId)));
+        calls.put("CommentDAO.getCommentsNewerThan", () -> commentDao.getCommentsNewerThan(taskId, 0, 0, 20));
+        calls.put("CommentDAO.getCommentsOlderThan", () -> commentDao.getCommentsOlderThan(taskId, Long.MAX_VALUE, Integer.MAX_VALUE, 20));
+        calls.put("CommentDAO.getRecentCommentsPage", () -> commentDao.getRecentCommentsPage(Integer.MAX_VALUE, 20));
+        calls.put("CommentDAO.getCommentsByAuthor", () -> read(commentDao.getCommentsByAuthor(userId)));
+        calls.put("CommentDAO.getAllComments", () -> read(commentDao.getAllComments()));
+        calls.put("CommentDAO.deleteCommentsByTaskId", () -> commentDao.deleteCommentsByTaskId(Integer.MAX_VALUE));
+        calls.put("CommentDAO.deleteCommentById", () -> commentDao.deleteCommentById(Integer.MAX_VALUE));
+
+        // these empty a table, so they go last
+        calls.put("TaskDAO.deleteAllTasks", () -> taskDao.deleteAllTasks());
+        calls.put("UserDAO.deleteAll", () -> userDao.deleteAll());
+        return calls;
+    }
+
+    /**
+     * Runs one DAO call and explains every statement it prepared
+     * @return the plan's table accesses and temp b-trees, sorted
+     */
+    private List<String> planOf(String method, Runnable call) {
+        captured.clear();
+        capturing = true;
+        try {
+            call.run();
+        } finally {
+            capturing = false;
+        }
+
+        Map<String, List<Object>> statements = new LinkedHashMap<>();
+        for (CapturedStatement statement : captured) {
+            if (isDaoStatement(statement.sql)) {
+                statements.putIfAbsent(statement.sql, statement.bindArgs);
+            }
+        }
+        assertFalse(method + " ran no statement", statements.isEmpty());
+
+        Set<String> tables = tableNames();
+        List<String> plan = new ArrayList<>();
+        for (Map.Entry<String, List<Object>> statement : statements.entrySet()) {
+            Map<String, String> aliases = aliases(statement.getKey(), tables);
+            try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + statement.getKey(),
+                    statement.getValue().toArray()))) {
+                while (cursor.moveToNext()) {
+                    String line = normalize(cursor.getString(cursor.getColumnIndexOrThrow("detail")), tables, aliases);
+                    if (line != null) {
+                        plan.add(line);
+                    }
+                }
+            }
+        }
+        Collections.sort(plan);
+        return plan;
+    }
+
+    /**
+     * Keeps the DAO's own statements, dropping transactions and Room's invalidation bookkeeping
+     */
+    private static boolean isDaoStatement(String sql) {
+        String trimmed = sql.trim();
+        int space = trimmed.indexOf(' ');
+        String keyword = (space < 0 ? trimmed : trimmed.substring(0, space)).toUpperCase(Locale.ROOT);
+        return STATEMENTS.contains(keyword) && !sql.contains("room_");
+    }
+
+    /**
+     * Rewrites a plan line so it reads the same on every SQLite version, or returns null for
+     * lines that only describe subqueries and unions
+     */
+    private static String normalize(String detail, Set<String> tables, Map<String, String> aliases) {
+        if (detail.startsWith("USE TEMP B-TREE")) {
+            return detail;
+        }
+        Matcher matcher = ACCESS.matcher(detail);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String table = tables.contains(matcher.group(2)) ? matcher.group(2) : aliases.get(matcher.group(2));
+        if (table == null) {
+            // a subquery or CTE, its own accesses are listed separately
+            return null;
+        }
+        return matcher.group(1) + " " + table + matcher.group(3);
+    }
+
+    /**
+     * Maps the aliases a statement gives its tables, e.g. "t" for "task_table t"
+     */
+    private static Map<String, String> aliases(String sql, Set<String> tables) {
+        Map<String, String> aliases = new HashMap<>();
+        for (String table : tables) {
+            Matcher matcher = Pattern.compile("\\b" + table + "`?\\s+(?:AS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE).matcher(sql);
+            while (matcher.find()) {
+                aliases.put(matcher.group(1), table);
+            }
+        }
+        return aliases;
+    }
+
+    private Set<String> tableNames() {
+        Set<String> tables = new HashSet<>();
+        try (Cursor cursor = db.query("SELECT name FROM sqlite_master WHERE type = 'table'", null)) {
+            while (cursor.moveToNext()) {
+                tables.add(cursor.getString(0));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Reads the baseline: a method name, then its plan lines indented below it
+     */
+    private static Map<String, List<String>> readBaseline() throws IOException {
+        Map<String, List<String>> baseline = new LinkedHashMap<>();
+        InputStream in = QueryPlanRegressionTest.class.getClassLoader().getResourceAsStream(BASELINE);
+        assertNotNull(BASELINE + " is missing from the test resources", in);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (Character.isWhitespace(line.charAt(0))) {
+                    assertNotNull("plan line before any method in " + BASELINE + ": " + line, current);
+                    current.add(line.trim());
+                } else {
+                    current = new ArrayList<>();
+                    assertNull("duplicate entry in " + BASELINE + ": " + line, baseline.put(line.trim(), current));
+                }
+            }
+        }
+        for (List<String> plan : baseline.values()) {
+            Collections.sort(plan);
+        }
+        return baseline;
+    }
+
+    /**
+     * Formats a method's plan the way the baseline file lists it
+     */
+    private static String entry(String method, List<String> plan) {
+        StringBuilder entry = new StringBuilder(method).append('\n');
+        for (String line : plan) {
+            entry.append("    ").append(line).append('\n');
+        }
+        return entry.toString();
+    }
+
+    /**
+     * Observes a Room LiveData once so its query runs, the query executor runs inline
+     */
+    private static <T> void read(LiveData<T> liveData) {
+        Observer<T> observer = value -> { };
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+    }
+
+    private static final class CapturedStatement {
+        final String sql;
+        final List<Object> bindArgs;
+
+        CapturedStatement(String sql, List<Object> bindArgs) {
+            this.sql = sql;
+            this.bindArgs = bindArgs;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.app.Application;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * tests for lock-free creation of the repository singleton
+ * a holder with a counting factory stands in for the app's, so nothing global is reset
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RepositorySingletonTest {
+
+    private static final int CALLERS = 16;
+
+    private Application application;
+    private ExecutorService background;
+    private final AtomicInteger constructions = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        application = ApplicationProvider.getApplicationContext();
+        background = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        background.shutdownNow();
+    }
+
+    @Test
+    public void concurrentCallers_getTheSameInstance_builtOnce() throws Exception {
+        RepositoryHolder holder = new RepositoryHolder(app -> newRepository(), background);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<TaskManagerRepository>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            CompletableFuture<TaskManagerRepository> result = new CompletableFuture<>();
+            results.add(result);
+            new Thread(() -> {
+                try {
+                    start.await();
+                    result.complete(holder.warmUp(application).get(10, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            }).start();
+        }
+        start.countDown();
+
+        TaskManagerRepository first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<TaskManagerRepository> result : results) {
+            assertSame("every warmUp caller should get the one instance", first, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, constructions.get());
+    }
+
+    @Test
+    public void attachingFromTheMainThread_neverParksIt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean constructing = new AtomicBoolean();
+        RepositoryHolder holder = new RepositoryHolder(app -> {
+            constructing.set(true);
+            try {
+                // a slow first open, e.g. migrations
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return newRepository();
+        }, background);
+
+        // the test runs on the main looper thread; watch it while it attaches
+        Thread mainThread = Thread.currentThread();
+        Set<Thread.State> mainStates = ConcurrentHashMap.newKeySet();
+        AtomicBoolean watching = new AtomicBoolean(true);
+        Thread watcher = new Thread(() -> {
+            while (watching.get()) {
+                mainStates.add(mainThread.getState());
+            }
+        });
+        watcher.start();
+
+        // completions come from the background lane, the test drains them like the main looper would
+        Queue<Runnable> mainQueue = new ConcurrentLinkedQueue<>();
+        AtomicReference<TaskManagerRepository> attached = new AtomicReference<>();
+        CompletableFuture<Void> ready = null;
+        for (int i = 0; i < 3; i++) {
+            // what a screen does in onCreate
+            ready = holder.warmUp(application).thenAcceptAsync(attached::set, mainQueue::add);
+        }
+        while (!constructing.get()) {
+            // spin rather than wait, a wait would park this thread
+            Thread.onSpinWait();
+        }
+        assertFalse("nothing attaches before the repository exists", ready.isDone());
+        watching.set(false);
+        watcher.join();
+
+        Set<Thread.State> parked = EnumSet.of(Thread.State.BLOCKED, Thread.State.WAITING, Thread.State.TIMED_WAITING);
+        parked.retainAll(mainStates);
+        assertTrue("main thread parked: " + parked, parked.isEmpty());
+
+        release.countDown();
+        while (mainQueue.size() < 3) {
+            Thread.onSpinWait();
+        }
+        Runnable next;
+        while ((next = mainQueue.poll()) != null) {
+            next.run();
+        }
+        assertNotNull(attached.get());
+        assertTrue(ready.isDone());
+        assertEquals(1, constructions.get());
+    }
+
+    @Test
+    public void appWarmUp_returnsTheSameInstance() throws Exception {
+        TaskManagerRepository first = TaskManagerRepository.warmUp(application).get(10, TimeUnit.SECONDS);
+        assertSame(first, TaskManagerRepository.warmUp(application).get(10, TimeUnit.SECONDS));
+    }
+
+    private TaskManagerRepository newRepository() {
+        constructions.incrementAndGet();
+        return new TaskManagerRepository(new InMemoryTaskStore(), Runnable::run);
+    }
+}
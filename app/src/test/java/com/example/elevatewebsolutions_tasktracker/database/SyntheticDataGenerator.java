@@ -0,0 +1,326 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Fills a TaskManagerDatabase, in-memory or file-backed, or a TaskStore with a synthetic data
+ * set of any size.
+ *
+ * Every value comes from one seeded Random, drawn in a fixed order, and timestamps count
+ * from a fixed epoch, so the same settings and seed always produce the same rows in an
+ * empty database. Rows go in through the bulk DAO methods, one transaction per batch.
+ */
+public class SyntheticDataGenerator {
+
+    // all generated timestamps fall in the 90 days after this point
+    static final long BASE_TIME = 1_700_000_000_000L;
+    private static final long SPAN_MILLIS = TimeUnit.DAYS.toMillis(90);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    // shared vocabulary, so full-text searches for any of these words have hits
+    static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "client", "meeting", "budget", "design",
+            "update", "release", "backup", "server", "schedule", "draft", "contract", "audit",
+            "website", "landing", "page", "campaign", "email", "follow", "up", "quarterly",
+            "onboarding", "training", "migration", "database", "feedback", "survey", "proposal", "launch",
+            "bug", "fix", "test", "plan", "roadmap", "sprint", "retro", "hiring",
+            "payroll", "vendor", "support", "ticket", "analytics", "dashboard", "mobile", "api",
+            "security", "patch", "license", "renewal", "inventory", "order", "shipping", "return",
+            "newsletter", "social", "post", "video", "logo", "brand", "copy", "photo"};
+
+    /**
+     * Source of a random whole number, e.g. a word count or a comment fan-out
+     */
+    public interface IntDistribution {
+        int sample(Random random);
+
+        static IntDistribution fixed(int value) {
+            return random -> value;
+        }
+
+        /**
+         * @return values spread evenly over [min, max]
+         */
+        static IntDistribution uniform(int min, int max) {
+            return random -> min + random.nextInt(max - min + 1);
+        }
+
+        /**
+         * Mostly small values with a few large ones, the shape of comment threads and
+         * descriptions in practice
+         * @param mean average value before the cap
+         * @param max largest value returned
+         */
+        static IntDistribution longTail(double mean, int max) {
+            return random -> (int) Math.min(max, Math.round(-mean * Math.log(1 - random.nextDouble())));
+        }
+    }
+
+    private final long seed;
+    private int users = 100;
+    private IntDistribution tasksPerUser = IntDistribution.fixed(100);
+    private IntDistribution commentsPerTask = IntDistribution.longTail(2, 50);
+    private int[] statusWeights = {5, 3, 2};
+    private IntDistribution titleWords = IntDistribution.uniform(2, 8);
+    private IntDistribution descriptionWords = IntDistribution.longTail(40, 600);
+    private IntDistribution commentWords = IntDistribution.longTail(15, 200);
+
+    /**
+     * @param seed seed for every random choice
+     */
+    public SyntheticDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public SyntheticDataGenerator users(int users) {
+        this.users = users;
+        return this;
+    }
+
+    public SyntheticDataGenerator tasksPerUser(IntDistribution tasksPerUser) {
+        this.tasksPerUser = tasksPerUser;
+        return this;
+    }
+
+    public SyntheticDataGenerator commentsPerTask(IntDistribution commentsPerTask) {
+        this.commentsPerTask = commentsPerTask;
+        return this;
+    }
+
+    /**
+     * Sets the relative share of each status, e.g. 5, 3, 2 for half to do and a fifth complete
+     */
+    public SyntheticDataGenerator statusMix(int toDoWeight, int inProgressWeight, int completeWeight) {
+        this.statusWeights = new int[]{toDoWeight, inProgressWeight, completeWeight};
+        return this;
+    }
+
+    public SyntheticDataGenerator titleWords(IntDistribution titleWords) {
+        this.titleWords = titleWords;
+        return this;
+    }
+
+    public SyntheticDataGenerator descriptionWords(IntDistribution descriptionWords) {
+        this.descriptionWords = descriptionWords;
+        return this;
+    }
+
+    public SyntheticDataGenerator commentWords(IntDistribution commentWords) {
+        this.commentWords = commentWords;
+        return this;
+    }
+
+    /**
+     * Generates the data set and writes it into the database
+     * @param db an open database, normally empty
+     * @return IDs and counts of what was written
+     */
+    public Dataset fill(TaskManagerDatabase db) {
+        Random random = new Random(seed);
+        int[] userIds = insertUsers(db);
+        int[] statusCounts = new int[TaskStatus.values().length];
+        List<Integer> taskIds = generateTasks(random, userIds, statusCounts,
+                batch -> db.runInTransaction(() -> db.taskDAO().insertTasks(batch)));
+
+        List<Comment> comments = new ArrayList<>(BATCH_SIZE);
+        int commentCount = 0;
+        for (int taskId : taskIds) {
+            int count = commentsPerTask.sample(random);
+            long timestamp = timestamp(random);
+            for (int i = 0; i < count; i++) {
+                Comment comment = new Comment(taskId, userIds[random.nextInt(userIds.length)],
+                        words(random, Math.max(1, commentWords.sample(random))));
+                // replies follow each other by up to an hour
+                timestamp += 1 + random.nextInt((int) TimeUnit.HOURS.toMillis(1));
+                comment.setTimestamp(timestamp);
+                comments.add(comment);
+                if (comments.size() == BATCH_SIZE) {
+                    commentCount += insertComments(db, comments);
+                }
+            }
+        }
+        commentCount += insertComments(db, comments);
+        return new Dataset(userIds, toArray(taskIds), commentCount, statusCounts);
+    }
+
+    /**
+     * Generates the tasks of the data set and writes them into a TaskStore. The tasks are the
+     * ones {@link #fill(TaskManagerDatabase)} writes for the same seed; there are no user rows,
+     * users are numbered from 1, and no comments are written.
+     * @param store an empty store
+     * @return IDs and counts of what was written
+     */
+    public Dataset fill(TaskStore store) {
+        Random random = new Random(seed);
+        int[] userIds = new int[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = i + 1;
+        }
+        int[] statusCounts = new int[TaskStatus.values().length];
+        List<Integer> taskIds = generateTasks(random, userIds, statusCounts,
+                batch -> store.runInTransaction(() -> store.insertTasks(batch)));
+        return new Dataset(userIds, toArray(taskIds), 0, statusCounts);
+    }
+
+    /**
+     * Draws every user's tasks and hands them to insert in batches
+     * @param statusCounts filled with the number of tasks per status
+     * @return the inserted task IDs, in insertion order
+     */
+    private List<Integer> generateTasks(Random random, int[] userIds, int[] statusCounts,
+                                        Function<List<Task>, List<Long>> insert) {
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        List<Integer> taskIds = new ArrayList<>();
+        for (int userId : userIds) {
+            int count = tasksPerUser.sample(random);
+            for (int i = 0; i < count; i++) {
+                TaskStatus status = pickStatus(random);
+                statusCounts[status.ordinal()]++;
+                Task task = new Task(capitalize(words(random, Math.max(1, titleWords.sample(random)))),
+                        words(random, descriptionWords.sample(random)), status, userId);
+                if (status == TaskStatus.COMPLETE) {
+                    task.setCompletedAt(timestamp(random));
+                }
+                batch.add(task);
+                if (batch.size() == BATCH_SIZE) {
+                    insertTasks(insert, batch, taskIds);
+                }
+            }
+        }
+        insertTasks(insert, batch, taskIds);
+        return taskIds;
+    }
+
+    private int[] insertUsers(TaskManagerDatabase db) {
+        int[] userIds = new int[users];
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        int filled = 0;
+        for (int i = 0; i < users; i++) {
+            // not hashed, hashing a large user set would dominate the run
+            User user = new User("user_" + i, "password", "Synthetic", i % 50 == 0);
+            user.setCreatedTimestamp(BASE_TIME + i);
+            batch.add(user);
+            if (batch.size() == BATCH_SIZE || i == users - 1) {
+                List<Long> ids = db.runInTransaction(() -> db.userDAO().insertUsers(batch));
+                for (Long id : ids) {
+                    userIds[filled++] = id.intValue();
+                }
+                batch.clear();
+            }
+        }
+        return userIds;
+    }
+
+    private static void insertTasks(Function<List<Task>, List<Long>> insert, List<Task> batch, List<Integer> taskIds) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> ids = insert.apply(batch);
+        for (Long id : ids) {
+            taskIds.add(id.intValue());
+        }
+        batch.clear();
+    }
+
+    private static int insertComments(TaskManagerDatabase db, List<Comment> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int inserted = db.runInTransaction(() -> db.commentDAO().insertComments(batch)).size();
+        batch.clear();
+        return inserted;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private TaskStatus pickStatus(Random random) {
+        int total = 0;
+        for (int weight : statusWeights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (TaskStatus status : TaskStatus.values()) {
+            pick -= statusWeights[status.ordinal()];
+            if (pick < 0) {
+                return status;
+            }
+        }
+        return TaskStatus.TO_DO;
+    }
+
+    private static long timestamp(Random random) {
+        return BASE_TIME + (long) (random.nextDouble() * SPAN_MILLIS);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * What a generator wrote: row IDs in insertion order and a few counts
+     */
+    public static final class Dataset {
+        private final int[] userIds;
+        private final int[] taskIds;
+        private final int commentCount;
+        private final int[] statusCounts;
+
+        Dataset(int[] userIds, int[] taskIds, int commentCount, int[] statusCounts) {
+            this.userIds = userIds;
+            this.taskIds = taskIds;
+            this.commentCount = commentCount;
+            this.statusCounts = statusCounts;
+        }
+
+        public int getUserCount() {
+            return userIds.length;
+        }
+
+        public int getTaskCount() {
+            return taskIds.length;
+        }
+
+        public int getCommentCount() {
+            return commentCount;
+        }
+
+        public int getTaskCount(TaskStatus status) {
+            return statusCounts[status.ordinal()];
+        }
+
+        public int randomUserId(Random random) {
+            return userIds[random.nextInt(userIds.length)];
+        }
+
+        public int randomTaskId(Random random) {
+            return taskIds[random.nextInt(taskIds.length)];
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tests for the synthetic data generator and a short run of the load harness over it
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class SyntheticLoadTest {
+
+    private static final String DATABASE_NAME = "synthetic_load.db";
+    private static final long SEED = 20240601L;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private Context context;
+    private final List<TaskManagerDatabase> opened = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        for (TaskManagerDatabase db : opened) {
+            db.close();
+        }
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void sameSeed_generatesTheSameRows() throws Exception {
+        TaskManagerDatabase first = inMemory();
+        TaskManagerDatabase second = inMemory();
+        TaskManagerDatabase other = inMemory();
+
+        smallSet(SEED).fill(first);
+        smallSet(SEED).fill(second);
+        smallSet(SEED + 1).fill(other);
+
+        assertEquals(digest(first), digest(second));
+        assertNotEquals("another seed gives other rows", digest(first), digest(other));
+    }
+
+    @Test
+    public void generatedSet_followsTheSettings() {
+        TaskManagerDatabase db = inMemory();
+        SyntheticDataGenerator.Dataset data = new SyntheticDataGenerator(SEED)
+                .users(50)
+                .tasksPerUser(SyntheticDataGenerator.IntDistribution.fixed(200))
+                .statusMix(5, 3, 2)
+                .descriptionWords(SyntheticDataGenerator.IntDistribution.uniform(10, 20))
+                .commentsPerTask(SyntheticDataGenerator.IntDistribution.longTail(1.5, 30))
+                .fill(db);
+
+        assertEquals(50, data.getUserCount());
+        assertEquals(10_000, data.getTaskCount());
+        assertEquals(10_000, count(db, "SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE));
+        assertEquals(data.getCommentCount(), count(db, "SELECT COUNT(*) FROM " + TaskManagerDatabase.COMMENT_TABLE));
+        assertEquals(data.getTaskCount(TaskStatus.COMPLETE), count(db, "SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE status = " + TaskStatus.COMPLETE.getCode() + " AND completedAt > 0"));
+
+        // 5:3:2 within a couple of percent at this size
+        assertEquals(0.5, data.getTaskCount(TaskStatus.TO_DO) / 10_000.0, 0.02);
+        assertEquals(0.3, data.getTaskCount(TaskStatus.IN_PROGRESS) / 10_000.0, 0.02);
+        assertEquals(0.2, data.getTaskCount(TaskStatus.COMPLETE) / 10_000.0, 0.02);
+
+        // word counts land inside the uniform range
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE length(description) - length(replace(description, ' ', '')) NOT BETWEEN 9 AND 19"));
+        assertTrue("long-tail fan-out leaves some tasks without comments",
+                count(db, "SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE + " t WHERE NOT EXISTS"
+                        + " (SELECT 1 FROM " + TaskManagerDatabase.COMMENT_TABLE + " c WHERE c.taskId = t.taskId)") > 0);
+    }
+
+    @Test
+    public void loadHarness_reportsThroughputAndLatencies() throws Exception {
+        // file-backed, so writes pay for their journal like on a device; filled from this thread
+        TaskManagerDatabase db = Room.databaseBuilder(context, TaskManagerDatabase.class, DATABASE_NAME)
+                .allowMainThreadQueries()
+                .build();
+        opened.add(db);
+        SyntheticDataGenerator.Dataset data = new SyntheticDataGenerator(SEED)
+                .users(100)
+                .tasksPerUser(SyntheticDataGenerator.IntDistribution.uniform(50, 150))
+                .fill(db);
+
+        LoadHarness.Report report = new LoadHarness(new TaskManagerRepository(db), data, SEED)
+                .clients(4)
+                .operationsPerClient(150)
+                .warmupOperationsPerClient(20)
+                .standardMix()
+                .run();
+
+        assertEquals(600, report.getOperationCount());
+        // the report lists every operation's errors and latencies
+        assertEquals("no operation should fail or time out\n" + report, 0, report.getErrorCount());
+        assertTrue(report.getThroughputPerSecond() > 0);
+        for (LoadHarness.OperationStats operation : report.getOperations()) {
+            assertTrue(operation.getName() + " never ran", operation.getCount() > 0);
+            assertTrue(operation.getP50Millis() <= operation.getP99Millis());
+        }
+    }
+
+    private static SyntheticDataGenerator smallSet(long seed) {
+        return new SyntheticDataGenerator(seed)
+                .users(20)
+                .tasksPerUser(SyntheticDataGenerator.IntDistribution.uniform(5, 30));
+    }
+
+    private TaskManagerDatabase inMemory() {
+        TaskManagerDatabase db = Room.inMemoryDatabaseBuilder(context, TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        opened.add(db);
+        return db;
+    }
+
+    /**
+     * Hashes every user, task and comment in key order
+     */
+    private static String digest(TaskManagerDatabase db) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String[] queries = {
+                "SELECT id, username, isAdmin, createdTimestamp FROM " + TaskManagerDatabase.USER_TABLE + " ORDER BY id",
+                "SELECT taskId, title, description, status, assignedUserId, completedAt FROM " + TaskManagerDatabase.TASK_TABLE + " ORDER BY taskId",
+                "SELECT commentId, taskId, authorId, text, timestamp FROM " + TaskManagerDatabase.COMMENT_TABLE + " ORDER BY commentId"};
+        for (String query : queries) {
+            try (Cursor cursor = db.query(query, null)) {
+                while (cursor.moveToNext()) {
+                    for (int column = 0; column < cursor.getColumnCount(); column++) {
+                        String value = cursor.getString(column);
+                        digest.update((value == null ? "\0" : value + "\u001f").getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static long count(TaskManagerDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql, null)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+import com.example.elevatewebsolutions_tasktracker.executor.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tests for moving completed tasks to the archive and searching by scope
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskArchiverTest {
+
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private TaskManagerDatabase db;
+    private TaskManagerRepository repository;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        repository = new TaskManagerRepository(db);
+        db.userDAO().insert(new User("archiver", "password", "Archiver Test"));
+        userId = db.userDAO().getUserByUsernameSync("archiver").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void oldCompletedTasks_moveInChunksWithTheirComments() throws Exception {
+        long old = System.currentTimeMillis() - MAX_AGE - TimeUnit.DAYS.toMillis(1);
+        for (int i = 0; i < 5; i++) {
+            insertTask("Old report " + i, TaskStatus.COMPLETE, old + i);
+        }
+        insertTask("Recent report", TaskStatus.COMPLETE, System.currentTimeMillis());
+        insertTask("Open report", TaskStatus.TO_DO, 0);
+        int oldTaskId = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 1).get(0).getTaskId();
+        db.commentDAO().insert(new Comment(oldTaskId, userId, "kept with the task"));
+
+        TaskArchiver archiver = new TaskArchiver(db, AppExecutors.getInstance().diskWrite(), 2);
+        int moved = archiver.archiveOlderThan(MAX_AGE).get(10, TimeUnit.SECONDS);
+
+        assertEquals(5, moved);
+        assertEquals(5, db.archiveDAO().countArchivedTasks());
+        assertEquals("recent and open tasks stay active",
+                2, db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 10).size());
+        assertNull(db.taskDAO().getTaskByIdSync(oldTaskId));
+        assertEquals("Old report 0", db.archiveDAO().getArchivedTaskById(oldTaskId).getTitle());
+
+        // nothing left to move
+        assertEquals(Integer.valueOf(0), archiver.archiveOlderThan(MAX_AGE).get(10, TimeUnit.SECONDS));
+
+        List<TaskSummary> archived = awaitValue(repository.searchTasksForUser(userId, "report", null, SearchScope.ARCHIVED));
+        assertEquals(5, archived.size());
+        assertEquals("archived comments still count", 1, archived.get(0).getCommentCount());
+        assertEquals(2, awaitValue(repository.searchTasksForUser(userId, "report", null, SearchScope.ACTIVE)).size());
+
+        List<TaskSummary> all = awaitValue(repository.searchTasksForUser(userId, "report", null, SearchScope.ALL));
+        assertEquals(7, all.size());
+        assertEquals("active hits come first", "Recent report", all.get(0).getTitle());
+    }
+
+    @Test
+    public void completingATask_stampsCompletedAt() throws Exception {
+        insertTask("Write notes", TaskStatus.TO_DO, 0);
+        int taskId = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 1).get(0).getTaskId();
+
+        assertTrue(repository.updateTaskStatus(taskId, TaskStatus.COMPLETE).get(5, TimeUnit.SECONDS));
+        assertTrue(db.taskDAO().getTaskByIdSync(taskId).getCompletedAt() > 0);
+
+        assertTrue(repository.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS).get(5, TimeUnit.SECONDS));
+        assertEquals("reopened tasks are not archived", 0, db.taskDAO().getTaskByIdSync(taskId).getCompletedAt());
+    }
+
+    private void insertTask(String title, TaskStatus status, long completedAt) {
+        Task task = new Task(title, "", status, userId);
+        task.setCompletedAt(completedAt);
+        db.taskDAO().insert(task);
+    }
+
+    /**
+     * reads the current value of a Room LiveData, the query executor runs inline
+     */
+    private static <T> T awaitValue(LiveData<T> liveData) {
+        final List<T> values = new ArrayList<>(1);
+        Observer<T> observer = values::add;
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+        assertFalse("livedata value was never set", values.isEmpty());
+        return values.get(values.size() - 1);
+    }
+}
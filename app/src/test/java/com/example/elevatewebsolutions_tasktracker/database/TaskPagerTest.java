@@ -0,0 +1,338 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.database.Cursor;
+import android.os.Looper;
+
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskListUpdate;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * tests for keyset paging of the task list
+ * checks that pages seek an index instead of scanning and memory holds only the pages in use
+ * results are posted to the real main looper, which the tests idle before reading them
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskPagerTest {
+
+    private static final int PAGE_SIZE = TaskPager.DEFAULT_PAGE_SIZE;
+    private static final int INSERT_BATCH = 1000;
+
+    private TaskManagerDatabase db;
+    private TaskDAO taskDao;
+    private TaskStore store;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = db.taskDAO();
+        store = new RoomTaskStore(db);
+
+        db.userDAO().insert(new User("pager", "password", "Pager Test"));
+        userId = db.userDAO().getUserByUsernameSync("pager").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void loadInitial_holdsOnlyOnePage() {
+        seedTasks(PAGE_SIZE * 3);
+
+        TaskPager pager = new TaskPager(allTasks(), Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+
+        List<TaskSummary> loaded = published(pager);
+        assertNotNull("first page should be published", loaded);
+        assertEquals("only the first page should be in memory", PAGE_SIZE, loaded.size());
+        assertFalse("more pages should be available", pager.isEndReached());
+    }
+
+    @Test
+    public void onItemVisible_nearEnd_loadsNextPage() {
+        seedTasks(PAGE_SIZE * 3);
+
+        TaskPager pager = new TaskPager(allTasks(), Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+        List<TaskSummary> firstPage = published(pager);
+        pager.onItemVisible(firstPage.get(firstPage.size() - 1).getTaskId());
+
+        assertEquals("second page should be appended", PAGE_SIZE * 2, pager.getLoadedCount());
+
+        List<TaskSummary> loaded = published(pager);
+        for (int i = 1; i < loaded.size(); i++) {
+            assertTrue("rows should stay in taskId order",
+                    loaded.get(i - 1).getTaskId() < loaded.get(i).getTaskId());
+        }
+    }
+
+    @Test
+    public void invalidate_reloadsOnlyPagesAroundVisibleRow() {
+        seedTasks(PAGE_SIZE * 6);
+
+        CountingSource source = new CountingSource(allTasks());
+        TaskPager pager = new TaskPager(source, Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+        for (int i = 0; i < 5; i++) {
+            pager.loadMore();
+        }
+        assertEquals(PAGE_SIZE * 6, pager.getLoadedCount());
+
+        // user is looking at the first page
+        TaskSummary first = published(pager).get(0);
+        pager.onItemVisible(first.getTaskId());
+
+        taskDao.updateTitle(first.getTaskId(), "changed");
+        source.rangeLoads = 0;
+        pager.invalidate();
+
+        // visible page plus one prefetch page, not all six
+        assertEquals("only nearby pages should be re-queried", 2, source.rangeLoads);
+        assertEquals("changed", published(pager).get(0).getTitle());
+    }
+
+    @Test
+    public void invalidate_picksUpRowsInsertedAfterEnd() {
+        seedTasks(3);
+
+        TaskPager pager = new TaskPager(allTasks(), Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+        assertTrue(pager.isEndReached());
+
+        taskDao.insert(new Task("late", "inserted after load", TaskStatus.TO_DO, userId));
+        pager.invalidate();
+
+        assertEquals(4, pager.getLoadedCount());
+    }
+
+    @Test
+    public void invalidate_publishesAnEditAsOneChangedRow() {
+        seedTasks(PAGE_SIZE * 3);
+
+        // loads queue up and run one at a time, like on the app's background lane
+        Queue<Runnable> background = new ArrayDeque<>();
+        TaskPager pager = new TaskPager(allTasks(), background::add, PAGE_SIZE);
+        pager.loadInitial();
+        drain(background);
+        pager.loadMore();
+        drain(background);
+        pager.loadMore();
+        drain(background);
+        TaskSummary edited = published(pager).get(PAGE_SIZE + 3);
+        pager.onItemVisible(edited.getTaskId());
+        drain(background);
+        List<TaskSummary> shown = published(pager);
+
+        List<TaskListUpdate> updates = new ArrayList<>();
+        Observer<TaskListUpdate> observer = updates::add;
+        pager.getUpdates().observeForever(observer);
+        updates.clear();
+        taskDao.updateTitle(edited.getTaskId(), "changed");
+        pager.invalidate();
+        drain(background);
+        pager.getUpdates().removeObserver(observer);
+
+        // every reloaded page publishes; each update picks up where the one before left off
+        List<String> changes = new ArrayList<>();
+        for (TaskListUpdate update : updates) {
+            assertTrue(update.appliesTo(shown));
+            shown = update.getTasks();
+            update.dispatchTo(new TaskListUpdate.Callback() {
+                @Override
+                public void onInserted(int position, int count) {
+                    changes.add("inserted " + position);
+                }
+
+                @Override
+                public void onRemoved(int position, int count) {
+                    changes.add("removed " + position);
+                }
+
+                @Override
+                public void onChanged(int position, int count) {
+                    changes.add("changed " + position + "+" + count);
+                }
+            });
+        }
+        assertFalse(updates.isEmpty());
+        assertEquals(Collections.singletonList("changed " + (PAGE_SIZE + 3) + "+1"), changes);
+        assertEquals("changed", shown.get(PAGE_SIZE + 3).getTitle());
+    }
+
+    @Test
+    public void statusSource_readsOnlyMatchingRowsThroughCompositeIndex() {
+        db.runInTransaction(() -> {
+            for (int i = 0; i < PAGE_SIZE * 4; i++) {
+                taskDao.insert(new Task("Task " + i, "", i % 4 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.TO_DO, userId));
+            }
+        });
+
+        TaskPager pager = new TaskPager(
+                TaskPager.forStore(store, userId, TaskStatus.IN_PROGRESS, TaskSortOrder.OLDEST_FIRST),
+                Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+
+        List<TaskSummary> loaded = published(pager);
+        assertEquals(PAGE_SIZE, loaded.size());
+        for (TaskSummary task : loaded) {
+            assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        }
+
+        String plan = queryPlan("SELECT * FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE assignedUserId = " + userId + " AND status = " + TaskStatus.IN_PROGRESS.getCode() + " AND taskId > 0"
+                + " ORDER BY taskId ASC LIMIT " + PAGE_SIZE);
+        assertTrue("status page should use the composite index: " + plan,
+                plan.contains("index_task_table_assignedUserId_status_taskId"));
+        assertFalse("status page should not sort: " + plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void newestFirstSource_pagesDownFromLatestTask() {
+        seedTasks(PAGE_SIZE * 2 + 5);
+
+        TaskPager pager = new TaskPager(
+                TaskPager.forStore(store, userId, null, TaskSortOrder.NEWEST_FIRST),
+                Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+        List<TaskSummary> firstPage = published(pager);
+        pager.onItemVisible(firstPage.get(firstPage.size() - 1).getTaskId());
+
+        List<TaskSummary> loaded = published(pager);
+        assertEquals(PAGE_SIZE * 2, loaded.size());
+        for (int i = 1; i < loaded.size(); i++) {
+            assertTrue("rows should be in descending taskId order",
+                    loaded.get(i - 1).getTaskId() > loaded.get(i).getTaskId());
+        }
+
+        // a new task lands on the first page once it is refreshed
+        taskDao.insert(new Task("newest", "", TaskStatus.TO_DO, userId));
+        pager.onItemVisible(loaded.get(0).getTaskId());
+        pager.invalidate();
+        assertEquals("newest", published(pager).get(0).getTitle());
+    }
+
+    @Test
+    public void deepPage_seeksTheUserIndexAndHoldsOnePage() {
+        seedTasks(PAGE_SIZE * 5);
+
+        TaskPager pager = new TaskPager(allTasks(), Runnable::run, PAGE_SIZE);
+        pager.loadInitial();
+        int afterTaskId = published(pager).get(PAGE_SIZE - 1).getTaskId() + PAGE_SIZE * 3;
+        List<TaskSummary> deep = taskDao.getTaskSummariesPageByUserId(userId, afterTaskId, PAGE_SIZE);
+
+        assertEquals("memory should hold a single page", PAGE_SIZE, pager.getLoadedCount());
+        assertEquals(PAGE_SIZE, deep.size());
+        assertEquals(afterTaskId + 1, deep.get(0).getTaskId());
+
+        // a keyset page seeks straight to its first row, so it costs the same however many rows come before
+        String plan = queryPlan("SELECT " + TaskSummary.COLUMNS + " FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE assignedUserId = " + userId + " AND taskId > " + afterTaskId
+                + " ORDER BY taskId ASC LIMIT " + PAGE_SIZE);
+        assertTrue("page should seek the user index past the key: " + plan,
+                plan.contains("SEARCH " + TaskManagerDatabase.TASK_TABLE
+                        + " USING INDEX index_task_table_assignedUserId (assignedUserId=? AND rowid>?)"));
+        assertFalse("page should not scan the table: " + plan, plan.contains("SCAN " + TaskManagerDatabase.TASK_TABLE));
+        assertFalse("page should not sort: " + plan, plan.contains("TEMP B-TREE"));
+    }
+
+    /**
+     * runs what the pager posted to the main looper
+     * @return the list the pager last published
+     */
+    private static List<TaskSummary> published(TaskPager pager) {
+        shadowOf(Looper.getMainLooper()).idle();
+        return pager.getTasks().getValue();
+    }
+
+    /**
+     * runs queued loads one by one, letting the main looper deliver each result before the next
+     */
+    private static void drain(Queue<Runnable> background) {
+        Runnable load;
+        while ((load = background.poll()) != null) {
+            load.run();
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, null)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private TaskPager.PageSource allTasks() {
+        return TaskPager.forStore(store, userId, null, TaskSortOrder.OLDEST_FIRST);
+    }
+
+    private void seedTasks(int count) {
+        db.runInTransaction(() -> {
+            List<Task> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < count; i++) {
+                batch.add(new Task("Task " + i, "Generated task " + i, TaskStatus.TO_DO, userId));
+                if (batch.size() == INSERT_BATCH) {
+                    taskDao.insert(batch.toArray(new Task[0]));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                taskDao.insert(batch.toArray(new Task[0]));
+            }
+        });
+    }
+
+    /**
+     * page source wrapper that counts range reloads
+     */
+    private static final class CountingSource implements TaskPager.PageSource {
+        private final TaskPager.PageSource delegate;
+        int rangeLoads;
+
+        CountingSource(TaskPager.PageSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<TaskSummary> loadAfter(int afterTaskId, int limit) {
+            return delegate.loadAfter(afterTaskId, limit);
+        }
+
+        @Override
+        public List<TaskSummary> loadRange(int afterTaskId, int upToTaskId) {
+            rangeLoads++;
+            return delegate.loadRange(afterTaskId, upToTaskId);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tests for full-text task search
+ * checks results and the query plan; timings belong in the JMH benchmarks, not here
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskSearchBenchmarkTest {
+
+    private static final int TASK_COUNT = 10_000;
+    private static final int INSERT_BATCH = 1000;
+    private static final String[] WORDS = {"login", "crash", "report", "layout", "sync", "export", "invoice", "review"};
+
+    private TaskManagerDatabase db;
+    private TaskDAO taskDao;
+    private int userId;
+    // the last full-text search Room prepared, for its query plan
+    private String searchSql;
+    private List<Object> searchArgs;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sql, bindArgs) -> {
+                    if (sql.contains(" MATCH ")) {
+                        searchSql = sql;
+                        searchArgs = new ArrayList<>(bindArgs);
+                    }
+                }, Runnable::run)
+                .build();
+        taskDao = db.taskDAO();
+
+        db.userDAO().insert(new User("search", "password", "Search Test"));
+        userId = db.userDAO().getUserByUsernameSync("search").getId();
+        seedTasks();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void ftsSearch_findsPrefixMatchesAndRanksTitleFirst() {
+        List<TaskSummary> results = taskDao.searchTasksForUserSync(userId, null,
+                TaskSearchQuery.matchTitle("repo"), TaskSearchQuery.matchAnyColumn("repo"),
+                TaskManagerRepository.SEARCH_RESULT_LIMIT, null);
+
+        assertFalse("prefix should match 'report'", results.isEmpty());
+        assertTrue("title hits should come first",
+                results.get(0).getTitle().toLowerCase().contains("report"));
+    }
+
+    @Test
+    public void roomStoreSearch_stopsOnceCancelled() {
+        RoomTaskStore store = new RoomTaskStore(db);
+        StoreCancellation cancellation = new StoreCancellation();
+        assertFalse(store.searchTasks(userId, "repo", null, TaskManagerRepository.SEARCH_RESULT_LIMIT, cancellation).isEmpty());
+
+        // the signal handed to SQLite is cancelled as soon as the store registers it
+        cancellation.cancel();
+        assertTrue(store.searchTasks(userId, "repo", null, TaskManagerRepository.SEARCH_RESULT_LIMIT, cancellation).isEmpty());
+    }
+
+    @Test
+    public void ftsSearch_looksUpTheFullTextIndexInsteadOfScanning() {
+        taskDao.searchTasksForUserSync(userId, null,
+                TaskSearchQuery.matchTitle("escalation"), TaskSearchQuery.matchAnyColumn("escalation"),
+                TaskManagerRepository.SEARCH_RESULT_LIMIT, null);
+        assertNotNull("search should reach SQLite", searchSql);
+
+        String plan = queryPlan(searchSql, searchArgs);
+        // one full-text lookup for the title terms, one for any column
+        assertEquals("both MATCH arms should use the full-text index: " + plan,
+                2, occurrences(plan, "SCAN " + TaskManagerDatabase.TASK_FTS_TABLE + " VIRTUAL TABLE INDEX"));
+        assertTrue("hits should be joined to tasks by rowid: " + plan,
+                plan.contains("SEARCH " + TaskManagerDatabase.TASK_TABLE + " USING INTEGER PRIMARY KEY (rowid=?)"));
+        assertFalse("the task table should never be scanned like the old LIKE search did: " + plan,
+                plan.contains("SCAN " + TaskManagerDatabase.TASK_TABLE));
+    }
+
+    private String queryPlan(String sql, List<Object> args) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + sql, args.toArray()))) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static int occurrences(String text, String part) {
+        int count = 0;
+        for (int at = text.indexOf(part); at >= 0; at = text.indexOf(part, at + part.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private void seedTasks() {
+        db.runInTransaction(() -> {
+            List<Task> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < TASK_COUNT; i++) {
+                String titleWord = WORDS[i % WORDS.length];
+                String descriptionWord = WORDS[(i / WORDS.length) % WORDS.length];
+                String prefix = i % 1000 == 0 ? "Escalation: fix " : "Fix ";
+                batch.add(new Task(prefix + titleWord + " issue " + i,
+                        "Steps to reproduce the " + descriptionWord + " problem, ticket " + i,
+                        TaskStatus.TO_DO, userId));
+                if (batch.size() == INSERT_BATCH) {
+                    taskDao.insert(batch.toArray(new Task[0]));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                taskDao.insert(batch.toArray(new Task[0]));
+            }
+        });
+    }
+}
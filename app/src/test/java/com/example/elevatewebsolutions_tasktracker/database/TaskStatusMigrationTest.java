@@ -0,0 +1,163 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * tests for the integer status column and the migration that rewrites the old text values
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskStatusMigrationTest {
+
+    private SupportSQLiteOpenHelper helper;
+    private TaskManagerDatabase roomDb;
+
+    @After
+    public void tearDown() {
+        if (helper != null) {
+            helper.close();
+        }
+        if (roomDb != null) {
+            roomDb.close();
+        }
+    }
+
+    @Test
+    public void migration_rewritesTextStatusesAsCodes() {
+        SupportSQLiteDatabase db = openVersion3();
+        db.execSQL("INSERT INTO user_table (id, username) VALUES (1, 'migrated')");
+        String[] statuses = {"To Do", "In Progress", "Complete", "closed", "open", null, "Done"};
+        for (String status : statuses) {
+            db.execSQL("INSERT INTO task_table (title, description, status, assignedUserId) VALUES (?, '', ?, 1)",
+                    new Object[]{"legacy " + status, status});
+        }
+        // a deleted high id must not be handed out again after the rebuild
+        db.execSQL("INSERT INTO task_table (taskId, title, status, assignedUserId) VALUES (50, 'gone', 'To Do', 1)");
+        db.execSQL("DELETE FROM task_table WHERE taskId = 50");
+        runMigrations(db, TaskManagerDatabase.MIGRATION_3_4, TaskManagerDatabase.MIGRATION_4_5,
+                TaskManagerDatabase.MIGRATION_5_6, TaskManagerDatabase.MIGRATION_6_7, TaskManagerDatabase.MIGRATION_7_8,
+                TaskManagerDatabase.MIGRATION_8_9, TaskManagerDatabase.MIGRATION_9_10);
+        db.execSQL("INSERT INTO comment_table (taskId, authorId, text, timestamp) VALUES (1, 1, 'keep me', 1)");
+        db.execSQL("INSERT INTO archived_task_table (taskId, title, status, assignedUserId, completedAt, archivedAt)"
+                + " VALUES (40, 'archived', 'Complete', 1, 1, 2)");
+
+        runMigrations(db, TaskManagerDatabase.MIGRATION_10_11);
+
+        int[] expected = {0, 1, 2, 2, 0, 0, 2};
+        try (Cursor cursor = db.query("SELECT typeof(status), status FROM task_table ORDER BY taskId")) {
+            for (int code : expected) {
+                assertTrue(cursor.moveToNext());
+                assertEquals("integer", cursor.getString(0));
+                assertEquals(code, cursor.getInt(1));
+            }
+            assertFalse(cursor.moveToNext());
+        }
+        assertEquals(TaskStatus.COMPLETE.getCode(), longQuery(db, "SELECT status FROM archived_task_table WHERE taskId = 40"));
+        assertEquals("comments survive the table rebuild", 1, longQuery(db, "SELECT COUNT(*) FROM comment_table"));
+
+        db.execSQL("INSERT INTO task_table (title, description, status, assignedUserId) VALUES ('fresh', '', 0, 1)");
+        assertEquals(51, longQuery(db, "SELECT MAX(taskId) FROM task_table"));
+        assertEquals("sync triggers were recreated", 51,
+                longQuery(db, "SELECT docid FROM task_fts WHERE task_fts MATCH 'fresh'"));
+        assertEquals(1, longQuery(db, "SELECT COUNT(*) FROM sqlite_master WHERE name = 'index_task_table_assignedUserId_status_taskId'"));
+    }
+
+    @Test
+    public void openWork_isAnIntegerRangeOnTheStatusIndex() {
+        roomDb = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        roomDb.userDAO().insert(new User("range", "password", "Range Test"));
+        int userId = roomDb.userDAO().getUserByUsernameSync("range").getId();
+        for (TaskStatus status : TaskStatus.values()) {
+            roomDb.taskDAO().insert(new Task(status.getLabel(), "", status, userId));
+        }
+
+        assertEquals(2, roomDb.taskDAO().countTasksForUserBeforeStatus(userId, TaskStatus.COMPLETE));
+        assertEquals(TaskStatus.IN_PROGRESS, roomDb.taskDAO().getTaskSummariesPageByUserIdAndStatus(
+                userId, TaskStatus.IN_PROGRESS, 0, 10).get(0).getStatus());
+
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = roomDb.query("EXPLAIN QUERY PLAN SELECT COUNT(*) FROM " + TaskManagerDatabase.TASK_TABLE
+                + " WHERE assignedUserId = " + userId + " AND status < " + TaskStatus.COMPLETE.getCode(), null)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        assertTrue("open work should be a range on the status index: " + plan,
+                plan.toString().contains("index_task_table_assignedUserId_status_taskId (assignedUserId=? AND status<?)"));
+    }
+
+    @Test
+    public void labels_roundTrip() {
+        for (TaskStatus status : TaskStatus.values()) {
+            assertSame(status, TaskStatus.fromLabel(status.getLabel()));
+            assertSame(status, TaskStatusConverter.fromCode(TaskStatusConverter.toCode(status)));
+        }
+        assertSame(TaskStatus.IN_PROGRESS, TaskStatus.fromLabel(" in progress "));
+        assertNull("\"All\" is not a status", TaskStatus.fromLabel("All"));
+    }
+
+    /**
+     * Opens an in-memory database with the task table as it was at version 3, status stored as text
+     */
+    private SupportSQLiteDatabase openVersion3() {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration
+                .builder(ApplicationProvider.getApplicationContext())
+                .name(null)
+                .callback(new SupportSQLiteOpenHelper.Callback(3) {
+                    @Override
+                    public void onCreate(SupportSQLiteDatabase db) {
+                        db.execSQL("CREATE TABLE user_table (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, username TEXT)");
+                        db.execSQL("CREATE TABLE task_table (taskId INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,"
+                                + " title TEXT, description TEXT, status TEXT, assignedUserId INTEGER NOT NULL,"
+                                + " FOREIGN KEY(assignedUserId) REFERENCES user_table(id) ON UPDATE NO ACTION ON DELETE CASCADE )");
+                    }
+
+                    @Override
+                    public void onUpgrade(SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        helper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        return helper.getWritableDatabase();
+    }
+
+    private static void runMigrations(SupportSQLiteDatabase db, Migration... migrations) {
+        for (Migration migration : migrations) {
+            db.beginTransaction();
+            try {
+                migration.migrate(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    private static long longQuery(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+}
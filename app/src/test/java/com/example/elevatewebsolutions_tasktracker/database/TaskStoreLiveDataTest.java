@@ -0,0 +1,87 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Observer;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * tests that superseded TaskStore loads are skipped or cancelled and never posted
+ * reads run on a queue the test drains, so loads can pile up like they do behind a busy lane
+ */
+public class TaskStoreLiveDataTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final InMemoryTaskStore store = new InMemoryTaskStore();
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    @Test
+    public void onlyTheNewestLoadReadsTheStore() {
+        List<Integer> reads = new ArrayList<>();
+        TaskStoreLiveData<Integer> count = new TaskStoreLiveData<>(store, queued::add, taskStore -> {
+            int size = taskStore.getTaskPage(1, null, TaskSortOrder.OLDEST_FIRST, 0, 100).size();
+            reads.add(size);
+            return size;
+        });
+        List<Integer> posted = new ArrayList<>();
+        count.observeForever(posted::add);
+
+        for (int i = 0; i < 3; i++) {
+            store.insertTasks(Collections.singletonList(new Task("Task " + i, "", TaskStatus.TO_DO, 1)));
+        }
+        assertEquals("one load from observing, one per write", 4, queued.size());
+        drain();
+
+        assertEquals(Collections.singletonList(3), reads);
+        assertEquals(Collections.singletonList(3), posted);
+    }
+
+    @Test
+    public void losingTheLastObserver_cancelsPendingAndRunningLoads() {
+        store.insertTasks(Collections.singletonList(new Task("Quarterly report", "", TaskStatus.TO_DO, 1)));
+        List<Boolean> cancelledWhileReading = new ArrayList<>();
+        List<List<TaskSummary>> posted = new ArrayList<>();
+        Observer<List<TaskSummary>> observer = posted::add;
+        AtomicReference<TaskStoreLiveData<List<TaskSummary>>> search = new AtomicReference<>();
+        search.set(new TaskStoreLiveData<>(store, queued::add, (taskStore, cancellation) -> {
+            // the user types on while the search runs
+            search.get().removeObserver(observer);
+            cancelledWhileReading.add(cancellation.isCancelled());
+            return taskStore.searchTasks(1, "rep", null, 10, cancellation);
+        }));
+
+        search.get().observeForever(observer);
+        drain();
+        assertEquals(Collections.singletonList(true), cancelledWhileReading);
+        assertTrue("a superseded result is never posted", posted.isEmpty());
+
+        search.get().observeForever(observer);
+        search.get().removeObserver(observer);
+        drain();
+        assertEquals("a load queued before the last observer left never runs", 1, cancelledWhileReading.size());
+        assertTrue(posted.isEmpty());
+    }
+
+    private void drain() {
+        Runnable next;
+        while ((next = queued.poll()) != null) {
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * compares the heap held by full task rows and by list summaries at 50k rows
+ * with long, log-like descriptions
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class TaskSummaryMemoryTest {
+
+    private static final int ROW_COUNT = 50_000;
+    private static final int DESCRIPTION_LENGTH = 1_024;
+    private static final int INSERT_BATCH = 1000;
+    private static final int READ_PAGE = 500;
+
+    private TaskManagerDatabase db;
+    private TaskDAO taskDao;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        taskDao = db.taskDAO();
+        db.userDAO().insert(new User("heap", "password", "Heap Test"));
+        userId = db.userDAO().getUserByUsernameSync("heap").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void summaries_holdOnlyThePreview() {
+        seedTasks();
+
+        TaskSummary summary = taskDao.getTaskSummariesPageByUserId(userId, 0, 1).get(0);
+        Task full = taskDao.getTaskByIdSync(summary.getTaskId());
+        assertEquals(TaskSummary.PREVIEW_LENGTH, summary.getDescriptionPreview().length());
+        assertEquals(TaskSummary.of(full), summary);
+    }
+
+    @Test
+    public void heapAt50kRows_summariesVsFullRows() {
+        seedTasks();
+
+        // the IDs are read first, so only the full rows are counted below
+        int[] taskIds = new int[ROW_COUNT];
+        int read = 0;
+        int after = 0;
+        List<TaskSummary> summaryPage;
+        while (!(summaryPage = taskDao.getTaskSummariesPageByUserId(userId, after, READ_PAGE)).isEmpty()) {
+            for (TaskSummary summary : summaryPage) {
+                taskIds[read++] = summary.getTaskId();
+            }
+            after = summaryPage.get(summaryPage.size() - 1).getTaskId();
+        }
+
+        long before = usedHeap();
+        List<Task> fullRows = db.runInTransaction(() -> {
+            List<Task> rows = new ArrayList<>(ROW_COUNT);
+            for (int taskId : taskIds) {
+                rows.add(taskDao.getTaskByIdSync(taskId));
+            }
+            return rows;
+        });
+        long fullBytes = usedHeap() - before;
+        long fullChars = 0;
+        for (Task task : fullRows) {
+            fullChars += task.getDescription().length();
+        }
+        assertEquals(ROW_COUNT, fullRows.size());
+        fullRows = null;
+
+        before = usedHeap();
+        List<TaskSummary> summaries = new ArrayList<>(ROW_COUNT);
+        after = 0;
+        while (!(summaryPage = taskDao.getTaskSummariesPageByUserId(userId, after, READ_PAGE)).isEmpty()) {
+            summaries.addAll(summaryPage);
+            after = summaryPage.get(summaryPage.size() - 1).getTaskId();
+        }
+        long summaryBytes = usedHeap() - before;
+        long summaryChars = 0;
+        for (TaskSummary task : summaries) {
+            summaryChars += task.getDescriptionPreview().length();
+        }
+        assertEquals(ROW_COUNT, summaries.size());
+
+        // heap deltas are only reported, a GC in between makes them too noisy to assert on
+        assertEquals("full tasks held " + fullBytes / 1024 + "KB of heap",
+                (long) ROW_COUNT * DESCRIPTION_LENGTH, fullChars);
+        assertEquals("summaries held " + summaryBytes / 1024 + "KB of heap",
+                (long) ROW_COUNT * TaskSummary.PREVIEW_LENGTH, summaryChars);
+    }
+
+    private void seedTasks() {
+        char[] log = new char[DESCRIPTION_LENGTH];
+        Arrays.fill(log, 'x');
+        String description = new String(log);
+        db.runInTransaction(() -> {
+            List<Task> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < ROW_COUNT; i++) {
+                batch.add(new Task("Task " + i, description, TaskStatus.TO_DO, userId));
+                if (batch.size() == INSERT_BATCH) {
+                    taskDao.insert(batch.toArray(new Task[0]));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                taskDao.insert(batch.toArray(new Task[0]));
+            }
+        });
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * tests for the unique case-insensitive username index and the login lookup that uses it
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class UsernameIndexTest {
+
+    private static final int USER_COUNT = 1_000;
+    private static final int INSERT_BATCH = 1000;
+
+    private TaskManagerDatabase db;
+    private UserDAO userDao;
+    private SupportSQLiteOpenHelper helper;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        userDao = db.userDAO();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+        if (helper != null) {
+            helper.close();
+        }
+    }
+
+    @Test
+    public void usernames_areUniqueIgnoringCase() {
+        userDao.insert(new User("Alice", "password", "First"));
+
+        assertEquals("a name taken in another case is rejected", -1, userDao.insertIfAbsent(new User("alice", "x", "Second")));
+        assertTrue(userDao.insertIfAbsent(new User("bob", "x", "Bob")) > 0);
+        assertEquals("Alice", userDao.getUserByUsernameSync("ALICE").getUsername());
+
+        List<Long> ids = userDao.insertUsers(Arrays.asList(new User("carol", "x", "C"), new User("BOB", "x", "B2")));
+        assertTrue(ids.get(0) > 0);
+        assertEquals("bulk inserts skip taken names", Long.valueOf(-1), ids.get(1));
+        assertEquals("First", userDao.getUserByUsernameSync("alice").getTitle());
+    }
+
+    @Test
+    public void migration_renamesCaseDuplicatesAndAddsTheIndex() {
+        SupportSQLiteDatabase legacy = openVersion11();
+        for (String name : new String[]{"dana", "Dana", "DANA", "erin", "Dana_2"}) {
+            legacy.execSQL("INSERT INTO user_table (username, createdTimestamp) VALUES (?, 1)", new Object[]{name});
+        }
+        legacy.beginTransaction();
+        try {
+            TaskManagerDatabase.MIGRATION_11_12.migrate(legacy);
+            legacy.setTransactionSuccessful();
+        } finally {
+            legacy.endTransaction();
+        }
+
+        List<String> names = new ArrayList<>();
+        try (Cursor cursor = legacy.query("SELECT username FROM user_table ORDER BY id")) {
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(0));
+            }
+        }
+        // the oldest keeps the name; "Dana_2" then clashes with the renamed "Dana" and moves on again
+        assertEquals(Arrays.asList("dana", "Dana_2", "DANA_3", "erin", "Dana_2_5"), names);
+        try (Cursor cursor = legacy.query("SELECT id FROM user_table WHERE username = 'ERIN'")) {
+            assertTrue("lookups ignore case after the migration", cursor.moveToFirst());
+        }
+        try (Cursor cursor = legacy.query("PRAGMA index_list(`user_table`)")) {
+            boolean unique = false;
+            while (cursor.moveToNext()) {
+                if ("index_user_table_username".equals(cursor.getString(cursor.getColumnIndexOrThrow("name")))) {
+                    unique = cursor.getInt(cursor.getColumnIndexOrThrow("unique")) == 1;
+                }
+            }
+            assertTrue("username index should exist and be unique", unique);
+        }
+    }
+
+    @Test
+    public void loginLookup_searchesTheNocaseIndex() {
+        seedUsers();
+        // logins arrive in whatever case the user typed
+        assertEquals("user_7", userDao.getUserByUsernameSync("USER_7").getUsername());
+        assertEquals("user_7", userDao.getUserByUsernameSync("user_7").getUsername());
+
+        try (Cursor cursor = db.query("PRAGMA index_xinfo(`index_user_table_username`)", null)) {
+            String collation = null;
+            while (cursor.moveToNext()) {
+                if ("username".equals(cursor.getString(cursor.getColumnIndexOrThrow("name")))) {
+                    collation = cursor.getString(cursor.getColumnIndexOrThrow("coll"));
+                }
+            }
+            assertEquals("the index should compare usernames ignoring case", "NOCASE", collation);
+        }
+
+        // the same WHERE clause as UserDAO.getUserByUsernameSync
+        String plan = queryPlan("SELECT * FROM " + TaskManagerDatabase.USER_TABLE + " WHERE username = 'USER_7' COLLATE NOCASE");
+        assertTrue("login should search the username index: " + plan,
+                plan.contains("SEARCH " + TaskManagerDatabase.USER_TABLE + " USING INDEX index_user_table_username (username=?)"));
+        assertFalse("login should not scan the user table: " + plan, plan.contains("SCAN " + TaskManagerDatabase.USER_TABLE));
+    }
+
+    private void seedUsers() {
+        db.runInTransaction(() -> {
+            List<User> batch = new ArrayList<>(INSERT_BATCH);
+            for (int i = 0; i < USER_COUNT; i++) {
+                batch.add(new User("user_" + i, "hash", "Provisioned"));
+                if (batch.size() == INSERT_BATCH) {
+                    userDao.insertUsers(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                userDao.insertUsers(batch);
+            }
+        });
+    }
+
+    /**
+     * Opens an in-memory database with user_table as it was at version 11, no index or collation on username
+     */
+    private SupportSQLiteDatabase openVersion11() {
+        SupportSQLiteOpenHelper.Configuration configuration = SupportSQLiteOpenHelper.Configuration
+                .builder(ApplicationProvider.getApplicationContext())
+                .name(null)
+                .callback(new SupportSQLiteOpenHelper.Callback(11) {
+                    @Override
+                    public void onCreate(SupportSQLiteDatabase db) {
+                        db.execSQL("CREATE TABLE user_table (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, username TEXT,"
+                                + " password TEXT, passwordSalt TEXT, title TEXT, isAdmin INTEGER, createdTimestamp INTEGER NOT NULL)");
+                    }
+
+                    @Override
+                    public void onUpgrade(SupportSQLiteDatabase db, int oldVersion, int newVersion) {
+                    }
+                })
+                .build();
+        helper = new FrameworkSQLiteOpenHelperFactory().create(configuration);
+        return helper.getWritableDatabase();
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql, null)) {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(cursor.getColumnIndexOrThrow("detail"))).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Comment;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tests for group-committing single-row writes
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class WriteCoalescerTest {
+
+    private TaskManagerDatabase db;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        db.userDAO().insert(new User("writer", "password", "Writer Test"));
+        userId = db.userDAO().getUserByUsernameSync("writer").getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void burstOfWrites_isCommittedInFewBatches() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(db, 50, 32);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("Task " + i, "", TaskStatus.TO_DO, userId);
+            futures.add(coalescer.submit(() -> {
+                db.taskDAO().insert(task);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        WriteCoalescer.Metrics metrics = coalescer.getMetrics();
+        assertEquals(100, metrics.getWriteCount());
+        assertTrue("batches should respect the maximum size", metrics.getLargestBatchSize() <= 32);
+        assertTrue("writes should be grouped, got " + metrics, metrics.getBatchCount() <= 10);
+        assertEquals(100, db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 200).size());
+        coalescer.close();
+    }
+
+    @Test
+    public void failingWrite_failsOnlyItsOwnFuture() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(db, 50, 32);
+        Task task = new Task("parent", "", TaskStatus.TO_DO, userId);
+        db.taskDAO().insert(task);
+        int taskId = db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 1).get(0).getTaskId();
+
+        CompletableFuture<Void> before = coalescer.submit(() -> {
+            db.commentDAO().insert(new Comment(taskId, userId, "before"));
+            return null;
+        });
+        CompletableFuture<Void> bad = coalescer.submit(() -> {
+            // no such task, violates the foreign key
+            db.commentDAO().insert(new Comment(Integer.MAX_VALUE, userId, "broken"));
+            return null;
+        });
+        CompletableFuture<Void> after = coalescer.submit(() -> {
+            db.commentDAO().insert(new Comment(taskId, userId, "after"));
+            return null;
+        });
+
+        before.get(5, TimeUnit.SECONDS);
+        after.get(5, TimeUnit.SECONDS);
+        try {
+            bad.get(5, TimeUnit.SECONDS);
+            fail("write with a bad foreign key should fail");
+        } catch (ExecutionException expected) {
+            // the batch was rolled back and replayed without it
+        }
+        assertEquals("only the replayed batch is committed", 1, coalescer.getMetrics().getBatchCount());
+        assertEquals(2, coalescer.getMetrics().getWriteCount());
+        List<String> committed = new ArrayList<>();
+        for (Comment comment : db.commentDAO().getRecentCommentsPage(Integer.MAX_VALUE, 10)) {
+            committed.add(comment.getText());
+        }
+        assertEquals(Arrays.asList("after", "before"), committed);
+        coalescer.close();
+    }
+
+    @Test
+    public void everyWriteFailing_failsEveryFutureAndCommitsNothing() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(db, 50, 32);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(coalescer.submit(() -> {
+                db.commentDAO().insert(new Comment(Integer.MAX_VALUE, userId, "broken"));
+                return null;
+            }));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("every write should fail");
+            } catch (ExecutionException expected) {
+                // each failure is reported to its own caller
+            }
+        }
+        assertEquals(0, coalescer.getMetrics().getBatchCount());
+        assertTrue(db.commentDAO().getRecentCommentsPage(Integer.MAX_VALUE, 10).isEmpty());
+        coalescer.close();
+    }
+
+    @Test
+    public void fullBatch_doesNotWaitForWindow() throws Exception {
+        WriteCoalescer coalescer = new WriteCoalescer(db, TimeUnit.MINUTES.toMillis(1), 5);
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int value = i;
+            futures.add(coalescer.submit(() -> value));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        coalescer.close();
+    }
+
+    @Test
+    public void repositoryWrites_stayFireAndForget() throws Exception {
+        TaskManagerRepository repository = new TaskManagerRepository(db, 20, 64);
+        for (int i = 0; i < 40; i++) {
+            repository.insertTask(new Task("Task " + i, "", TaskStatus.TO_DO, userId));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.getWriteMetrics().getWriteCount() < 40 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(40, db.taskDAO().getTaskSummariesPageByUserId(userId, 0, 100).size());
+        assertTrue("single-row inserts should share transactions",
+                repository.getWriteMetrics().getBatchCount() < 40);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.elevatewebsolutions_tasktracker.executor;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tests for priority ordering and stats of an executor lane
+ */
+public class PriorityLaneExecutorTest {
+
+    private PriorityLaneExecutor lane;
+
+    @Before
+    public void setUp() {
+        lane = new PriorityLaneExecutor("test", 1);
+    }
+
+    @After
+    public void tearDown() {
+        lane.shutdownNow();
+    }
+
+    @Test
+    public void uiWork_jumpsAheadOfQueuedBackgroundWork() throws Exception {
+        CountDownLatch release = blockLane();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        lane.execute(() -> order.add("background-1"), TaskPriority.BACKGROUND);
+        lane.execute(() -> order.add("normal"));
+        lane.execute(() -> order.add("background-2"), TaskPriority.BACKGROUND);
+        lane.execute(() -> order.add("ui"), TaskPriority.UI);
+
+        assertEquals(4, lane.getStats().getQueueDepth());
+        release.countDown();
+        drain();
+
+        assertEquals(List.of("ui", "normal", "background-1", "background-2"), order);
+    }
+
+    @Test
+    public void submitWithPriority_returnsResult() throws Exception {
+        Future<Integer> future = lane.submit(() -> 42, TaskPriority.UI);
+        assertEquals(Integer.valueOf(42), future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void stats_recordWaitAndRunTimes() throws Exception {
+        CountDownLatch release = blockLane();
+        lane.execute(() -> sleep(20));
+        Thread.sleep(30);
+        release.countDown();
+        drain();
+
+        LaneStats stats = lane.getStats();
+        // the blocker, the sleeper and the drain marker
+        assertEquals(3, stats.getCompletedCount());
+        assertEquals(0, stats.getQueueDepth());
+        assertTrue("queued work should report its wait, got " + stats, stats.getMaxWaitMillis() >= 25);
+        assertTrue("run time should be recorded, got " + stats, stats.getMaxRunMillis() >= 15);
+    }
+
+    /**
+     * occupies the lane's only thread until the returned latch is released
+     */
+    private CountDownLatch blockLane() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        lane.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, TaskPriority.UI);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    /**
+     * waits until everything queued so far has run
+     */
+    private void drain() throws Exception {
+        lane.submit(() -> null, TaskPriority.BACKGROUND).get(5, TimeUnit.SECONDS);
+        // the marker's own stats are recorded just after its future completes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lane.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
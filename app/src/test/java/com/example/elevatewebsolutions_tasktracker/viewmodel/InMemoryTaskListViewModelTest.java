@@ -0,0 +1,23 @@
+package com.example.elevatewebsolutions_tasktracker.viewmodel;
+
+import com.example.elevatewebsolutions_tasktracker.database.InMemoryTaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.TaskStore;
+
+/**
+ * task list viewmodel tests over the in-memory store, on the plain JVM without Robolectric
+ */
+public class InMemoryTaskListViewModelTest extends TaskListViewModelContractTest {
+
+    private int lastUserId;
+
+    @Override
+    protected TaskStore openStore() {
+        return new InMemoryTaskStore();
+    }
+
+    @Override
+    protected int addUser(String username) {
+        // the in-memory store has no user table, any ID will do
+        return ++lastUserId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.elevatewebsolutions_tasktracker.viewmodel;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.elevatewebsolutions_tasktracker.database.RoomTaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
+import com.example.elevatewebsolutions_tasktracker.database.TaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.entities.User;
+
+import org.junit.After;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * task list viewmodel tests over Room, the same cases as the in-memory run
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class RoomTaskListViewModelTest extends TaskListViewModelContractTest {
+
+    private TaskManagerDatabase db;
+
+    @Override
+    protected TaskStore openStore() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), TaskManagerDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        return new RoomTaskStore(db);
+    }
+
+    @Override
+    protected int addUser(String username) {
+        db.userDAO().insert(new User(username, "password", "ViewModel Test"));
+        return db.userDAO().getUserByUsernameSync(username).getId();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.elevatewebsolutions_tasktracker.viewmodel;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import android.app.Application;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskListUpdate;
+import com.example.elevatewebsolutions_tasktracker.database.TaskManagerRepository;
+import com.example.elevatewebsolutions_tasktracker.database.TaskSortOrder;
+import com.example.elevatewebsolutions_tasktracker.database.TaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * task list viewmodel tests shared by every TaskStore
+ * subclasses supply the store; the viewmodel must behave the same over each of them
+ */
+public abstract class TaskListViewModelContractTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    protected TaskStore store;
+    private TaskListViewModel viewModel;
+    private int userId;
+    private int otherUserId;
+
+    /**
+     * @return an empty store the test owns
+     */
+    protected abstract TaskStore openStore();
+
+    /**
+     * Creates a user tasks can be assigned to
+     * @return the user's ID
+     */
+    protected abstract int addUser(String username);
+
+    @Before
+    public void setUpViewModel() {
+        store = openStore();
+        userId = addUser("owner");
+        otherUserId = addUser("other");
+        store.insertTasks(Arrays.asList(
+                new Task("Quarterly report", "numbers for the board", TaskStatus.TO_DO, userId),
+                new Task("Deploy website", "after the report is signed off", TaskStatus.IN_PROGRESS, userId),
+                new Task("Budget review", "", TaskStatus.COMPLETE, userId),
+                new Task("Someone else's report", "", TaskStatus.TO_DO, otherUserId)));
+        viewModel = new TaskListViewModel(mock(Application.class), new TaskManagerRepository(store, Runnable::run));
+    }
+
+    @Test
+    public void loadTasksForUser_listsOnlyTheirTasksInOrder() throws Exception {
+        viewModel.loadTasksForUser(userId);
+
+        assertEquals(Arrays.asList("Quarterly report", "Deploy website", "Budget review"),
+                titles(awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3)));
+    }
+
+    @Test
+    public void statusFilterAndSortOrder_changeTheList() throws Exception {
+        viewModel.loadTasksForUser(userId);
+        viewModel.setSortOrder(TaskSortOrder.NEWEST_FIRST);
+        assertEquals(Arrays.asList("Budget review", "Deploy website", "Quarterly report"),
+                titles(awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3
+                        && tasks.get(0).getTitle().equals("Budget review"))));
+
+        viewModel.setStatusFilter(TaskStatus.IN_PROGRESS);
+        assertEquals(Arrays.asList("Deploy website"),
+                titles(awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 1)));
+    }
+
+    @Test
+    public void search_ranksTitleHitsFirst() throws Exception {
+        viewModel.loadTasksForUser(userId);
+        viewModel.setSearchQuery("rep");
+
+        assertEquals(Arrays.asList("Quarterly report", "Deploy website"),
+                titles(awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 2)));
+
+        viewModel.setSearchQuery("");
+        assertEquals(3, awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3).size());
+    }
+
+    @Test
+    public void createTask_showsUpInTheList() throws Exception {
+        viewModel.loadTasksForUser(userId);
+        awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3);
+
+        viewModel.createTask("Plan launch", "", TaskStatus.TO_DO, userId);
+
+        List<TaskSummary> tasks = awaitValue(viewModel.getUserTasks(), list -> list.size() == 4);
+        assertEquals("Plan launch", tasks.get(3).getTitle());
+    }
+
+    @Test
+    public void editingOneTask_reachesTheAdapterAsOneChangedRow() throws Exception {
+        List<TaskListUpdate> updates = Collections.synchronizedList(new ArrayList<>());
+        Observer<TaskListUpdate> observer = updates::add;
+        viewModel.getTaskListUpdates().observeForever(observer);
+        try {
+            viewModel.loadTasksForUser(userId);
+            awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3);
+            List<TaskSummary> shown;
+            int seen;
+            synchronized (updates) {
+                shown = updates.get(updates.size() - 1).getTasks();
+                seen = updates.size();
+            }
+
+            store.updateStatus(shown.get(1).getTaskId(), TaskStatus.COMPLETE, System.currentTimeMillis());
+            awaitValue(viewModel.getUserTasks(), tasks -> tasks.size() == 3 && tasks.get(1).getStatus() == TaskStatus.COMPLETE);
+
+            List<TaskListUpdate> sinceEdit;
+            synchronized (updates) {
+                sinceEdit = new ArrayList<>(updates.subList(seen, updates.size()));
+            }
+            int changes = 0;
+            for (TaskListUpdate update : sinceEdit) {
+                if (update.getTasks() == shown) {
+                    continue;
+                }
+                assertTrue("every update should apply to the list before it, without a full diff", update.appliesTo(shown));
+                changes += update.getChangeCount();
+                shown = update.getTasks();
+            }
+            assertEquals(1, changes);
+        } finally {
+            viewModel.getTaskListUpdates().removeObserver(observer);
+        }
+    }
+
+    private static List<String> titles(List<TaskSummary> tasks) {
+        List<String> titles = new ArrayList<>();
+        for (TaskSummary task : tasks) {
+            titles.add(task.getTitle());
+        }
+        return titles;
+    }
+
+    /**
+     * Observes a LiveData until it holds a value the predicate accepts; store notifications
+     * may arrive on another thread
+     */
+    private static <T> T awaitValue(LiveData<T> liveData, Predicate<T> ready) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<T> accepted = new AtomicReference<>();
+        Observer<T> observer = value -> {
+            if (value != null && ready.test(value) && accepted.compareAndSet(null, value)) {
+                latch.countDown();
+            }
+        };
+        liveData.observeForever(observer);
+        try {
+            assertTrue("no matching value within 5s, last was " + liveData.getValue(), latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            liveData.removeObserver(observer);
+        }
+        return accepted.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.database.InMemoryTaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.TaskSortOrder;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory TaskStore at up to a million rows: point reads, list pages and column
+ * updates against a filled store, and filling a store from scratch. Renames and fills
+ * include keeping the search index up to date.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InMemoryTaskStoreBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private List<Task> rows;
+    private InMemoryTaskStore store;
+    private String[] titles;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        rows = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            rows.add(new Task(Inputs.words(random, 2 + random.nextInt(6)),
+                    Inputs.words(random, 10 + random.nextInt(20)),
+                    statuses[random.nextInt(statuses.length)], 1 + random.nextInt(USERS)));
+        }
+        store = new InMemoryTaskStore(tasks);
+        store.insertTasks(rows);
+        titles = new String[Inputs.CORPUS_SIZE];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = Inputs.words(random, 2 + random.nextInt(6));
+        }
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return store.getTask(1 + ThreadLocalRandom.current().nextInt(tasks));
+    }
+
+    @Benchmark
+    public List<TaskSummary> firstPage() {
+        return store.getTaskPage(1 + ThreadLocalRandom.current().nextInt(USERS), null,
+                TaskSortOrder.NEWEST_FIRST, Integer.MAX_VALUE, 50);
+    }
+
+    @Benchmark
+    public List<TaskSummary> statusPage() {
+        return store.getTaskPage(1 + ThreadLocalRandom.current().nextInt(USERS), TaskStatus.IN_PROGRESS,
+                TaskSortOrder.OLDEST_FIRST, 0, 50);
+    }
+
+    @Benchmark
+    public int updateStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return store.updateStatus(1 + random.nextInt(tasks), TaskStatus.values()[random.nextInt(3)], 0);
+    }
+
+    @Benchmark
+    public int renameTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return store.updateTitle(1 + random.nextInt(tasks), titles[random.nextInt(titles.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int fill() {
+        InMemoryTaskStore empty = new InMemoryTaskStore(tasks);
+        empty.insertTasks(rows);
+        return empty.getTaskCount();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import java.util.Random;
+
+/**
+ * Seeded input generation shared by the benchmarks, so every run measures the same strings
+ */
+final class Inputs {
+
+    // inputs per benchmark invocation; enough variety that branch prediction cannot learn one string
+    static final int CORPUS_SIZE = 64;
+
+    static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    static final String DIGITS = "0123456789";
+    static final String SPECIAL = "!@#$%^&*()_+-=[]{};':\",.<>/?";
+
+    // words users put in task titles and searches
+    static final String[] WORDS = {
+            "report", "review", "deploy", "invoice", "client", "meeting", "budget", "design",
+            "update", "release", "backup", "server", "schedule", "draft", "contract", "audit",
+            "website", "landing", "page", "campaign", "email", "follow", "up", "quarterly",
+            "onboarding", "training", "migration", "database", "feedback", "survey", "proposal", "launch"};
+
+    private Inputs() {
+        // Static helpers only
+    }
+
+    /**
+     * @param alphabet characters to draw from
+     * @return length characters drawn uniformly from alphabet
+     */
+    static String randomString(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Password of the given length drawing on one to four character classes, the way real
+     * passwords range from all lower case to fully mixed
+     */
+    static String randomPassword(Random random, int length) {
+        String[] classes = {LOWER, UPPER, DIGITS, SPECIAL};
+        StringBuilder alphabet = new StringBuilder(LOWER);
+        int extraClasses = random.nextInt(classes.length);
+        for (int i = 1; i <= extraClasses; i++) {
+            alphabet.append(classes[i]);
+        }
+        return randomString(random, alphabet.toString(), length);
+    }
+
+    /**
+     * @return count words from WORDS separated by single spaces
+     */
+    static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.auth.utils.PasswordUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of hashing and checking a password, paid on every login and account creation.
+ * The iteration count dominates; the password length only changes the first digest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PasswordHashBenchmark {
+
+    // shortest accepted, typical, long passphrase, longest InputValidator accepts
+    @Param({"6", "12", "32", "128"})
+    public int passwordLength;
+
+    private String password;
+    private String wrongPassword;
+    private String salt;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        password = Inputs.randomPassword(random, passwordLength);
+        // same length, last character differs, so the two hashes cost the same
+        char last = password.charAt(passwordLength - 1);
+        wrongPassword = password.substring(0, passwordLength - 1) + (last == 'a' ? 'b' : 'a');
+        // a fixed salt in the format generateSalt returns
+        salt = "q2Tt0GfXzR7hW1mYpVb3Ck8sJ5nLdA9eUoIuE4yH6wM=";
+        storedHash = PasswordUtils.hashPassword(password, salt);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(password, salt);
+    }
+
+    @Benchmark
+    public boolean verifyPassword_correct() {
+        return PasswordUtils.verifyPassword(password, storedHash, salt);
+    }
+
+    @Benchmark
+    public boolean verifyPassword_wrong() {
+        return PasswordUtils.verifyPassword(wrongPassword, storedHash, salt);
+    }
+}
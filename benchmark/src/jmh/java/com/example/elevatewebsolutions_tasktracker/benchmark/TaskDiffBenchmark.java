@@ -0,0 +1,94 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskListUpdate;
+import com.example.elevatewebsolutions_tasktracker.adapter.TaskSummaryDiff;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The row comparisons DiffUtil makes when TaskAdapter.updateTasks gets a refreshed list.
+ * For a refresh where rows keep their positions DiffUtil walks the diagonal: one identity
+ * check per row, then a contents check for each matched pair, which is what is replayed here.
+ * pageUpdate is what the paged list does instead: it only walks the one page that was reloaded,
+ * so its cost should not grow with the number of rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskDiffBenchmark {
+
+    // one page, a long scroll, everything a heavy user has
+    @Param({"50", "500", "5000"})
+    public int rows;
+
+    // share of rows whose displayed contents changed between the two lists
+    @Param({"0", "10"})
+    public int changedPercent;
+
+    private static final int PAGE_SIZE = 50;
+
+    private List<TaskSummary> oldList;
+    private List<TaskSummary> newList;
+    private int lastPage;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        oldList = new ArrayList<>(rows);
+        newList = new ArrayList<>(rows);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < rows; i++) {
+            TaskSummary row = new TaskSummary(i + 1, Inputs.words(random, 2 + random.nextInt(6)),
+                    statuses[random.nextInt(statuses.length)], 1 + random.nextInt(100),
+                    Inputs.words(random, 15), random.nextInt(5), 1_700_000_000_000L + i);
+            oldList.add(row);
+            // fresh objects with equal values, the way a new query result arrives
+            boolean changed = random.nextInt(100) < changedPercent;
+            newList.add(new TaskSummary(row.getTaskId(), new String(row.getTitle()), row.getStatus(),
+                    row.getAssignedUserId(), new String(row.getDescriptionPreview()),
+                    changed ? row.getCommentCount() + 1 : row.getCommentCount(),
+                    changed ? row.getLastCommentTimestamp() + 1 : row.getLastCommentTimestamp()));
+        }
+        lastPage = Math.max(0, rows - PAGE_SIZE);
+    }
+
+    /**
+     * @return number of rows that would be rebound
+     */
+    @Benchmark
+    public int refresh() {
+        int changed = 0;
+        for (int i = 0; i < rows; i++) {
+            TaskSummary before = oldList.get(i);
+            TaskSummary after = newList.get(i);
+            if (TaskSummaryDiff.areItemsTheSame(before, after)
+                    && !TaskSummaryDiff.areContentsTheSame(before, after)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return number of change ranges for a reload of the last page
+     */
+    @Benchmark
+    public int pageUpdate() {
+        return TaskListUpdate.forRun(oldList, newList, lastPage,
+                oldList.subList(lastPage, rows), newList.subList(lastPage, rows), false).getChangeCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.database.InMemoryTaskStore;
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches through the in-memory store's inverted index, one user's whole list, the same
+ * inputs as TaskQueryBenchmark's substring scan. Every query should stay well under a millisecond
+ * at 50k tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskSearchIndexBenchmark {
+
+    private static final int LIMIT = 200;
+
+    @Param({"1000", "10000", "50000"})
+    public int tasks;
+
+    // first keystroke, a whole word, two words, two prefixes, text no task contains
+    @Param({"re", "report", "quarterly report", "r d", "zzz"})
+    public String text;
+
+    private InMemoryTaskStore store;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Task> taskList = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            taskList.add(new Task(Inputs.words(random, 2 + random.nextInt(6)),
+                    Inputs.words(random, 10 + random.nextInt(40)),
+                    statuses[random.nextInt(statuses.length)], 1));
+        }
+        store = new InMemoryTaskStore(tasks);
+        store.insertTasks(taskList);
+    }
+
+    @Benchmark
+    public List<TaskSummary> search() {
+        return store.searchTasks(1, text, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<TaskSummary> searchWithStatus() {
+        return store.searchTasks(1, text, TaskStatus.IN_PROGRESS, LIMIT);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.database.TaskSearchQuery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The task list filter runs in SQL now; what is left on the CPU for every change to the search
+ * box is turning the typed text into the two MATCH expressions the repository binds.
+ * Queries mix case and punctuation the way typed text does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TaskSearchQueryBenchmark {
+
+    // a single word, a short phrase, a pasted sentence
+    @Param({"1", "3", "12"})
+    public int queryWords;
+
+    private final String[] queries = new String[Inputs.CORPUS_SIZE];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] separators = {" ", "  ", ", ", "-", "/"};
+        for (int i = 0; i < Inputs.CORPUS_SIZE; i++) {
+            StringBuilder query = new StringBuilder();
+            for (int w = 0; w < queryWords; w++) {
+                if (w > 0) {
+                    query.append(separators[random.nextInt(separators.length)]);
+                }
+                String word = Inputs.WORDS[random.nextInt(Inputs.WORDS.length)];
+                // still typing: the last word is often cut short
+                if (w == queryWords - 1 && random.nextBoolean()) {
+                    word = word.substring(0, 1 + random.nextInt(word.length()));
+                }
+                query.append(random.nextInt(4) == 0 ? word.toUpperCase() : word);
+            }
+            queries[i] = query.toString();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void tokenize(Blackhole blackhole) {
+        for (String query : queries) {
+            blackhole.consume(TaskSearchQuery.tokenize(query));
+        }
+    }
+
+    /**
+     * Both expressions, as the repository builds them for one search
+     */
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void buildSearchExpressions(Blackhole blackhole) {
+        for (String query : queries) {
+            blackhole.consume(TaskSearchQuery.matchAnyColumn(query));
+            blackhole.consume(TaskSearchQuery.matchTitle(query));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.elevatewebsolutions_tasktracker.benchmark;
+
+import com.example.elevatewebsolutions_tasktracker.auth.utils.PasswordUtils;
+import com.example.elevatewebsolutions_tasktracker.auth.validation.InputValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Input checks that run as the user types on the login and account screens.
+ * Each invocation validates a whole corpus of inputs of one length, valid and invalid mixed,
+ * and the score is per input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    // typical field, longest username, longest password, pasted text past every limit
+    @Param({"8", "50", "128", "512"})
+    public int inputLength;
+
+    private final String[] usernames = new String[Inputs.CORPUS_SIZE];
+    private final String[] passwords = new String[Inputs.CORPUS_SIZE];
+    private final String[] emails = new String[Inputs.CORPUS_SIZE];
+    private final String[] rawInputs = new String[Inputs.CORPUS_SIZE];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String usernameChars = Inputs.LOWER + Inputs.UPPER + Inputs.DIGITS + "_";
+        for (int i = 0; i < Inputs.CORPUS_SIZE; i++) {
+            // one in four usernames carries a character the pattern rejects
+            String username = Inputs.randomString(random, usernameChars, inputLength);
+            usernames[i] = i % 4 == 0 ? username.substring(1) + "." : username;
+            passwords[i] = Inputs.randomPassword(random, inputLength);
+            String local = Inputs.randomString(random, Inputs.LOWER + Inputs.DIGITS + ".", Math.max(1, inputLength - 12));
+            emails[i] = i % 4 == 0 ? local + "@example" + "@com" : "a" + local + "@example.com";
+            // control characters scattered through otherwise plain text
+            StringBuilder raw = new StringBuilder(Inputs.randomString(random, Inputs.LOWER + " ", inputLength));
+            for (int c = 0; c < inputLength / 16; c++) {
+                raw.setCharAt(random.nextInt(inputLength), (char) random.nextInt(0x20));
+            }
+            rawInputs[i] = raw.toString();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void getPasswordStrength(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(PasswordUtils.getPasswordStrength(password));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void isValidUsername(Blackhole blackhole) {
+        for (String username : usernames) {
+            blackhole.consume(PasswordUtils.isValidUsername(username));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void validateUsername(Blackhole blackhole) {
+        for (String username : usernames) {
+            blackhole.consume(InputValidator.validateUsername(username));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void validatePassword(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(InputValidator.validatePassword(password));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void validateLoginRequest(Blackhole blackhole) {
+        for (int i = 0; i < Inputs.CORPUS_SIZE; i++) {
+            blackhole.consume(InputValidator.validateLoginRequest(usernames[i], passwords[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void validateEmail(Blackhole blackhole) {
+        for (String email : emails) {
+            blackhole.consume(InputValidator.validateEmail(email));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Inputs.CORPUS_SIZE)
+    public void sanitizeInput(Blackhole blackhole) {
+        for (String raw : rawInputs) {
+            blackhole.consume(InputValidator.sanitizeInput(raw));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.elevatewebsolutions_tasktracker.adapter;
+
+import androidx.annotation.Nullable;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A new task list together with the row changes that turn the list before it into it, so
+ * {@code TaskAdapter} can notify the RecyclerView without diffing the whole list again.
+ *
+ * <p>Changes are dispatched in ListUpdateCallback order: every position already counts the
+ * changes dispatched before it. They only hold for the exact list instance they were worked
+ * out against, so neither list may be modified afterwards. An update from
+ * {@link #replacing(List)} carries no changes and has to be diffed in full.
+ */
+public final class TaskListUpdate {
+
+    /**
+     * Receives the changes of an update, the pure-Java side of a ListUpdateCallback
+     */
+    public interface Callback {
+        void onInserted(int position, int count);
+
+        void onRemoved(int position, int count);
+
+        void onChanged(int position, int count);
+    }
+
+    private static final int INSERTED = 0;
+    private static final int REMOVED = 1;
+    private static final int CHANGED = 2;
+
+    @Nullable
+    private final List<TaskSummary> previous;
+    private final List<TaskSummary> tasks;
+    // (kind, position, count) triples in dispatch order
+    private final int[] changes;
+    private final int changeCount;
+
+    private TaskListUpdate(@Nullable List<TaskSummary> previous, List<TaskSummary> tasks, int[] changes, int changeCount) {
+        this.previous = previous;
+        this.tasks = tasks;
+        this.changes = changes;
+        this.changeCount = changeCount;
+    }
+
+    /**
+     * Update with no known relation to any earlier list, e.g. a new search result
+     * @param tasks list to show
+     * @return an update that applies to no list, so it is diffed in full
+     */
+    public static TaskListUpdate replacing(List<TaskSummary> tasks) {
+        return new TaskListUpdate(null, tasks, new int[0], 0);
+    }
+
+    /**
+     * Update between two lists that only differ in one run of rows, such as one reloaded page.
+     * Both runs are ordered by taskId in list order, so a single merge walk finds the rows
+     * removed, inserted and changed without looking at the rest of the list.
+     * @param previous list before the change
+     * @param tasks list after the change
+     * @param position index of the run's first row, the same in both lists
+     * @param oldRows the run as it was in previous
+     * @param newRows the run as it is in tasks
+     * @param descending true if taskIds descend through the list
+     * @return an update that applies to previous
+     */
+    public static TaskListUpdate forRun(List<TaskSummary> previous, List<TaskSummary> tasks, int position,
+                                        List<TaskSummary> oldRows, List<TaskSummary> newRows, boolean descending) {
+        Builder changes = new Builder();
+        int oldIndex = 0;
+        int newIndex = 0;
+        // position in the list as it stands after the changes found so far
+        int at = position;
+        while (oldIndex < oldRows.size() || newIndex < newRows.size()) {
+            if (newIndex == newRows.size()) {
+                changes.add(REMOVED, at, 1);
+                oldIndex++;
+            } else if (oldIndex == oldRows.size()) {
+                changes.add(INSERTED, at++, 1);
+                newIndex++;
+            } else {
+                TaskSummary before = oldRows.get(oldIndex);
+                TaskSummary after = newRows.get(newIndex);
+                if (TaskSummaryDiff.areItemsTheSame(before, after)) {
+                    if (!TaskSummaryDiff.areContentsTheSame(before, after)) {
+                        changes.add(CHANGED, at, 1);
+                    }
+                    at++;
+                    oldIndex++;
+                    newIndex++;
+                } else if (descending == before.getTaskId() > after.getTaskId()) {
+                    // the old row comes first in list order, so nothing replaced it
+                    changes.add(REMOVED, at, 1);
+                    oldIndex++;
+                } else {
+                    changes.add(INSERTED, at++, 1);
+                    newIndex++;
+                }
+            }
+        }
+        return new TaskListUpdate(previous, tasks, changes.changes, changes.size);
+    }
+
+    /**
+     * @return the list to show
+     */
+    public List<TaskSummary> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @param shown the list currently shown
+     * @return true if this update's changes turn exactly that list into {@link #getTasks()}
+     */
+    public boolean appliesTo(List<TaskSummary> shown) {
+        return previous != null && previous == shown;
+    }
+
+    /**
+     * @return number of insert, remove and change ranges, 0 if nothing visible changed
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Sends every change range, in order
+     */
+    public void dispatchTo(Callback callback) {
+        for (int i = 0; i < changeCount * 3; i += 3) {
+            int position = changes[i + 1];
+            int count = changes[i + 2];
+            switch (changes[i]) {
+                case INSERTED:
+                    callback.onInserted(position, count);
+                    break;
+                case REMOVED:
+                    callback.onRemoved(position, count);
+                    break;
+                default:
+                    callback.onChanged(position, count);
+            }
+        }
+    }
+
+    /**
+     * Collects change ranges, joining a change onto the previous range when they are adjacent
+     */
+    private static final class Builder {
+        int[] changes = new int[12];
+        int size;
+
+        void add(int kind, int position, int count) {
+            if (size > 0) {
+                int last = (size - 1) * 3;
+                int lastEnd = changes[last + 1] + (kind == REMOVED ? 0 : changes[last + 2]);
+                if (changes[last] == kind && position == lastEnd) {
+                    changes[last + 2] += count;
+                    return;
+                }
+            }
+            if (size * 3 == changes.length) {
+                changes = Arrays.copyOf(changes, changes.length * 2);
+            }
+            changes[size * 3] = kind;
+            changes[size * 3 + 1] = position;
+            changes[size * 3 + 2] = count;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.elevatewebsolutions_tasktracker.adapter;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.Objects;
+
+/**
+ * Row comparisons behind {@code TaskAdapter.updateTasks} in the app.
+ * DiffUtil calls these once per pair of rows it visits, so they stay free of Android classes
+ * and allocation; that also lets the benchmark module measure them on the JVM.
+ */
+public final class TaskSummaryDiff {
+
+    private TaskSummaryDiff() {
+        // Static helpers only
+    }
+
+    /**
+     * @return true if both rows show the same task
+     */
+    public static boolean areItemsTheSame(TaskSummary a, TaskSummary b) {
+        return a.getTaskId() == b.getTaskId();
+    }
+
+    /**
+     * @return true if nothing the row displays has changed
+     */
+    public static boolean areContentsTheSame(TaskSummary a, TaskSummary b) {
+        return Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getDescriptionPreview(), b.getDescriptionPreview())
+                && a.getStatus() == b.getStatus()
+                && a.getAssignedUserId() == b.getAssignedUserId()
+                && a.getCommentCount() == b.getCommentCount()
+                && a.getLastCommentTimestamp() == b.getLastCommentTimestamp();
+    }
+}
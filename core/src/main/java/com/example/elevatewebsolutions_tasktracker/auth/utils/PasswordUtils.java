@@ -1,7 +1,5 @@
 package com.example.elevatewebsolutions_tasktracker.auth.utils;
 
-import android.util.Log;
-
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -14,9 +12,9 @@ import java.util.Base64;
 /**
  * Utility class for secure password hashing and verification
  * Uses SHA-256 with salt for password security
+ * Plain Java, no Android classes, so it can be benchmarked on the JVM
  */
 public class PasswordUtils {
-    private static final String TAG = "PasswordUtils";
     private static final String HASH_ALGORITHM = "SHA-256";
     private static final int SALT_LENGTH = 32; // 32 bytes = 256 bits
     private static final int HASH_ITERATIONS = 10000; // Number of iterations for additional security
@@ -55,8 +53,7 @@ public class PasswordUtils {
 
             return Base64.getEncoder().encodeToString(hash);
         } catch (NoSuchAlgorithmException e) {
-            Log.e(TAG, "Hash algorithm not available: " + HASH_ALGORITHM, e);
-            throw new RuntimeException("Password hashing failed", e);
+            throw new RuntimeException("Password hashing failed, " + HASH_ALGORITHM + " not available", e);
         }
     }
 
@@ -86,8 +83,7 @@ public class PasswordUtils {
         try {
             String hashedInput = hashPassword(password, salt);
             return constantTimeEquals(hashedInput, storedHash);
-        } catch (Exception e) {
-            Log.e(TAG, "Error verifying password", e);
+        } catch (RuntimeException e) {
             return false;
         }
     }
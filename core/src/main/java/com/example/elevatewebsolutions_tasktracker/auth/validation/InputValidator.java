@@ -1,7 +1,5 @@
 package com.example.elevatewebsolutions_tasktracker.auth.validation;
 
-import android.util.Patterns;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -20,6 +18,15 @@ public class InputValidator {
 
     // Regex patterns
     private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]{3,50}$");
+    // same expression as android.util.Patterns.EMAIL_ADDRESS, kept here so this class runs on a plain JVM
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "[a-zA-Z0-9\\+\\.\\_\\%\\-\\+]{1,256}" +
+            "\\@" +
+            "[a-zA-Z0-9][a-zA-Z0-9\\-]{0,64}" +
+            "(" +
+            "\\." +
+            "[a-zA-Z0-9][a-zA-Z0-9\\-]{0,25}" +
+            ")+");
 
     /**
      * Basic validation result class
@@ -133,7 +140,7 @@ public class InputValidator {
 
         String trimmedEmail = email.trim();
 
-        if (!Patterns.EMAIL_ADDRESS.matcher(trimmedEmail).matches()) {
+        if (!EMAIL_PATTERN.matcher(trimmedEmail).matches()) {
             errors.add("Invalid email format");
         }
 
@@ -0,0 +1,417 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.annotation.Nullable;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * TaskStore held entirely in memory, for tests and benchmarks that should not need SQLite.
+ *
+ * <p>Tasks are kept in an int-keyed map by taskId, and each user's task IDs in a sorted int
+ * array, so keyset pages are a binary search and a short walk. Searches read a per-user
+ * inverted index of title and description words, updated with every write. Reads share a read lock and
+ * writes take the write lock; a transaction holds the write lock throughout and keeps the
+ * previous version of every row it touches, to put back if the work throws. Listeners are
+ * told once the outermost write lock is released.
+ *
+ * <p>Stored tasks are copies, so callers can keep editing the objects they passed in.
+ * There are no comments, so summaries always show a comment count of 0.
+ */
+public class InMemoryTaskStore implements TaskStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // guarded by lock
+    private final IntObjectMap<Task> tasks;
+    private final IntObjectMap<SortedIntSet> taskIdsByUser = new IntObjectMap<>();
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private int lastTaskId;
+    private boolean changed;
+    // rows as they were before the running transaction touched them, ABSENT for new rows
+    private IntObjectMap<Task> undo;
+    private int undoLastTaskId;
+
+    private static final Task ABSENT = new Task(null, null, TaskStatus.TO_DO, 0);
+
+    public InMemoryTaskStore() {
+        this(16);
+    }
+
+    /**
+     * @param expectedTasks tasks the store holds before its maps grow
+     */
+    public InMemoryTaskStore(int expectedTasks) {
+        tasks = new IntObjectMap<>(expectedTasks);
+    }
+
+    /**
+     * @return number of tasks stored
+     */
+    public int getTaskCount() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> insertTasks(List<Task> newTasks) {
+        return write(() -> {
+            List<Long> ids = new ArrayList<>(newTasks.size());
+            for (Task task : newTasks) {
+                if (task.getTaskId() != 0 && tasks.get(task.getTaskId()) != null) {
+                    // the write's transaction puts back the rows stored before this one
+                    throw new IllegalArgumentException("Task " + task.getTaskId() + " already exists");
+                }
+                int taskId = task.getTaskId() != 0 ? task.getTaskId() : lastTaskId + 1;
+                lastTaskId = Math.max(lastTaskId, taskId);
+                store(copyOf(task, taskId));
+                ids.add((long) taskId);
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public int updateTasks(List<Task> updated) {
+        return write(() -> {
+            int count = 0;
+            for (Task task : updated) {
+                if (tasks.get(task.getTaskId()) != null) {
+                    store(copyOf(task, task.getTaskId()));
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    @Override
+    public int deleteTasks(List<Task> deleted) {
+        return write(() -> {
+            int count = 0;
+            for (Task task : deleted) {
+                count += delete(task.getTaskId());
+            }
+            return count;
+        });
+    }
+
+    @Override
+    public int deleteTaskById(int taskId) {
+        return write(() -> delete(taskId));
+    }
+
+    @Nullable
+    @Override
+    public Task getTask(int taskId) {
+        lock.readLock().lock();
+        try {
+            Task task = tasks.get(taskId);
+            return task != null ? copyOf(task, taskId) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateStatus(int taskId, TaskStatus status, long completedAt) {
+        return write(() -> {
+            Task current = tasks.get(taskId);
+            if (current == null || current.getStatus() == status) {
+                return 0;
+            }
+            Task edited = copyOf(current, taskId);
+            edited.setStatus(status);
+            edited.setCompletedAt(completedAt);
+            store(edited);
+            return 1;
+        });
+    }
+
+    @Override
+    public int updateTitle(int taskId, String title) {
+        return write(() -> {
+            Task current = tasks.get(taskId);
+            if (current == null || Objects.equals(current.getTitle(), title)) {
+                return 0;
+            }
+            Task edited = copyOf(current, taskId);
+            edited.setTitle(title);
+            store(edited);
+            return 1;
+        });
+    }
+
+    @Override
+    public int updateDescription(int taskId, String description) {
+        return write(() -> {
+            Task current = tasks.get(taskId);
+            if (current == null || Objects.equals(current.getDescription(), description)) {
+                return 0;
+            }
+            Task edited = copyOf(current, taskId);
+            edited.setDescription(description);
+            store(edited);
+            return 1;
+        });
+    }
+
+    @Override
+    public int reassign(int taskId, int userId) {
+        return write(() -> {
+            Task current = tasks.get(taskId);
+            if (current == null || current.getAssignedUserId() == userId) {
+                return 0;
+            }
+            Task edited = copyOf(current, taskId);
+            edited.setAssignedUserId(userId);
+            store(edited);
+            return 1;
+        });
+    }
+
+    @Override
+    public List<TaskSummary> getTaskPage(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                         int afterTaskId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TaskSummary> page = new ArrayList<>(Math.min(limit, 64));
+            SortedIntSet ids = taskIdsByUser.get(userId);
+            if (ids == null) {
+                return page;
+            }
+            boolean descending = sortOrder == TaskSortOrder.NEWEST_FIRST;
+            int step = descending ? -1 : 1;
+            for (int i = descending ? ids.indexBelow(afterTaskId) : ids.indexAbove(afterTaskId);
+                 i >= 0 && i < ids.size() && page.size() < limit; i += step) {
+                addIfStatus(page, ids.get(i), status);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskSummary> getTaskRange(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                          int afterTaskId, int upToTaskId) {
+        lock.readLock().lock();
+        try {
+            List<TaskSummary> range = new ArrayList<>();
+            SortedIntSet ids = taskIdsByUser.get(userId);
+            if (ids == null) {
+                return range;
+            }
+            if (sortOrder == TaskSortOrder.NEWEST_FIRST) {
+                // below afterTaskId, down to and including upToTaskId
+                for (int i = ids.indexBelow(afterTaskId); i >= 0 && ids.get(i) >= upToTaskId; i--) {
+                    addIfStatus(range, ids.get(i), status);
+                }
+            } else {
+                for (int i = ids.indexAbove(afterTaskId); i < ids.size() && ids.get(i) <= upToTaskId; i++) {
+                    addIfStatus(range, ids.get(i), status);
+                }
+            }
+            return range;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit) {
+        return searchTasks(userId, query, status, limit, new StoreCancellation());
+    }
+
+    /**
+     * Checks for cancellation at every match, so a superseded search lets go of the read lock early
+     */
+    @Override
+    public List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit,
+                                         StoreCancellation cancellation) {
+        List<String> terms = TaskSearchQuery.tokenize(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            List<TaskSummary> hits = new ArrayList<>(Math.min(limit, 64));
+            if (limit <= 0) {
+                return hits;
+            }
+            searchIndex.forEachTitleMatch(userId, terms, taskId -> {
+                addIfStatus(hits, taskId, status);
+                return hits.size() < limit && !cancellation.isCancelled();
+            });
+            if (hits.size() < limit && !cancellation.isCancelled()) {
+                // every title match was visited, so the ones kept are the ones to skip now
+                int[] titleHits = new int[hits.size()];
+                for (int i = 0; i < titleHits.length; i++) {
+                    titleHits[i] = hits.get(i).getTaskId();
+                }
+                searchIndex.forEachMatch(userId, terms, taskId -> {
+                    if (Arrays.binarySearch(titleHits, taskId) < 0) {
+                        addIfStatus(hits, taskId, status);
+                    }
+                    return hits.size() < limit && !cancellation.isCancelled();
+                });
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> T runInTransaction(Callable<T> work) {
+        lock.writeLock().lock();
+        boolean outermost = undo == null;
+        if (outermost) {
+            undo = new IntObjectMap<>();
+            undoLastTaskId = lastTaskId;
+        }
+        boolean succeeded = false;
+        try {
+            T result = work.call();
+            succeeded = true;
+            return result;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (outermost) {
+                if (!succeeded) {
+                    rollBack();
+                    changed = false;
+                }
+                undo = null;
+            }
+            unlockWrite();
+        }
+    }
+
+    @Override
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private <T> T write(Callable<T> work) {
+        // a single write is a transaction of its own, so a failing batch leaves nothing behind
+        return runInTransaction(work);
+    }
+
+    private void unlockWrite() {
+        boolean notify = lock.getWriteHoldCount() == 1 && changed;
+        if (notify) {
+            changed = false;
+        }
+        lock.writeLock().unlock();
+        if (notify) {
+            for (ChangeListener listener : listeners) {
+                listener.onTasksChanged();
+            }
+        }
+    }
+
+    // write lock held for the methods below
+
+    private void store(Task task) {
+        int taskId = task.getTaskId();
+        Task previous = tasks.put(taskId, task);
+        remember(taskId, previous);
+        if (previous == null) {
+            searchIndex.add(task);
+        } else if (!TaskSearchIndex.sameWords(previous, task)) {
+            searchIndex.remove(previous);
+            searchIndex.add(task);
+        }
+        if (previous != null && previous.getAssignedUserId() != task.getAssignedUserId()) {
+            removeFromUser(previous.getAssignedUserId(), taskId);
+        }
+        if (previous == null || previous.getAssignedUserId() != task.getAssignedUserId()) {
+            SortedIntSet ids = taskIdsByUser.get(task.getAssignedUserId());
+            if (ids == null) {
+                ids = new SortedIntSet();
+                taskIdsByUser.put(task.getAssignedUserId(), ids);
+            }
+            ids.add(taskId);
+        }
+        changed = true;
+    }
+
+    private int delete(int taskId) {
+        Task previous = tasks.remove(taskId);
+        if (previous == null) {
+            return 0;
+        }
+        remember(taskId, previous);
+        searchIndex.remove(previous);
+        removeFromUser(previous.getAssignedUserId(), taskId);
+        changed = true;
+        return 1;
+    }
+
+    private void removeFromUser(int userId, int taskId) {
+        SortedIntSet ids = taskIdsByUser.get(userId);
+        if (ids != null) {
+            ids.remove(taskId);
+            if (ids.isEmpty()) {
+                taskIdsByUser.remove(userId);
+            }
+        }
+    }
+
+    private void remember(int taskId, @Nullable Task previous) {
+        if (undo.get(taskId) == null) {
+            undo.put(taskId, previous != null ? previous : ABSENT);
+        }
+    }
+
+    private void rollBack() {
+        IntObjectMap<Task> touched = undo;
+        // restoring goes through store and delete, which must not record into the same log
+        undo = new IntObjectMap<>();
+        touched.forEach((taskId, before) -> {
+            if (before == ABSENT) {
+                delete(taskId);
+            } else {
+                store(before);
+            }
+        });
+        lastTaskId = undoLastTaskId;
+    }
+
+    private void addIfStatus(List<TaskSummary> out, int taskId, @Nullable TaskStatus status) {
+        Task task = tasks.get(taskId);
+        if (status == null || task.getStatus() == status) {
+            out.add(TaskSummary.of(task));
+        }
+    }
+
+    private static Task copyOf(Task task, int taskId) {
+        Task copy = new Task(task.getTitle(), task.getDescription(), task.getStatus(), task.getAssignedUserId());
+        copy.setTaskId(taskId);
+        copy.setCompletedAt(task.getCompletedAt());
+        return copy;
+    }
+}
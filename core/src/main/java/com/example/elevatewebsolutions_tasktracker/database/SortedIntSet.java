@@ -0,0 +1,81 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of ints in one growable array. Adding a value larger than every other one,
+ * the usual case for new task IDs, is an append; other changes shift the tail. Not thread-safe.
+ */
+final class SortedIntSet {
+
+    private int[] values = new int[8];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return true if the value was not in the set
+     */
+    boolean add(int value) {
+        int index;
+        if (size == 0 || value > values[size - 1]) {
+            index = size;
+        } else {
+            int found = Arrays.binarySearch(values, 0, size, value);
+            if (found >= 0) {
+                return false;
+            }
+            index = -found - 1;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the value was in the set
+     */
+    boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * @return index of the first value greater than {@code value}, or size if there is none
+     */
+    int indexAbove(int value) {
+        int found = Arrays.binarySearch(values, 0, size, value);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    /**
+     * @return index of the last value less than {@code value}, or -1 if there is none
+     */
+    int indexBelow(int value) {
+        int found = Arrays.binarySearch(values, 0, size, value);
+        return found >= 0 ? found - 1 : -found - 2;
+    }
+}
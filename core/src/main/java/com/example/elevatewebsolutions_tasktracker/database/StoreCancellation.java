@@ -0,0 +1,55 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+/**
+ * Cancels a TaskStore read that is already running, the pure-Java side of a CancellationSignal.
+ *
+ * <p>Cancelling both flips {@link #isCancelled()}, for stores that poll between rows, and runs
+ * the listener a store registered, so one that hands the query to SQLite can interrupt it there.
+ * Cancellation is one-way and may come from any thread.
+ */
+public class StoreCancellation {
+
+    private boolean cancelled;
+    private Runnable onCancel;
+
+    /**
+     * Cancels the read; calling it again does nothing
+     */
+    public void cancel() {
+        Runnable listener;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            listener = onCancel;
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @return true once {@link #cancel()} has been called
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sets what to run on cancel, replacing any earlier listener. Runs it right away if the
+     * read is already cancelled.
+     * @param listener action to run, or null for none
+     */
+    public void setOnCancelListener(Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                onCancel = listener;
+                return;
+            }
+        }
+        if (listener != null) {
+            listener.run();
+        }
+    }
+}
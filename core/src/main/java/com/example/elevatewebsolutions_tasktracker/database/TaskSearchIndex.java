@@ -0,0 +1,211 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index from words to task IDs, per user, for InMemoryTaskStore searches.
+ *
+ * <p>Each user has two sorted dictionaries, title words and all words, whose values are
+ * sorted int posting lists. A query term is a prefix, so it reads the dictionary range of
+ * words starting with it; a multi-term query intersects those unions in taskId order.
+ * Tasks are added and removed as they change, so a query never looks at task text.
+ * Not thread-safe.
+ */
+final class TaskSearchIndex {
+
+    private final IntObjectMap<UserIndex> users = new IntObjectMap<>();
+
+    void add(Task task) {
+        UserIndex index = users.get(task.getAssignedUserId());
+        if (index == null) {
+            index = new UserIndex();
+            users.put(task.getAssignedUserId(), index);
+        }
+        int taskId = task.getTaskId();
+        for (String word : TaskSearchQuery.tokenize(task.getTitle())) {
+            post(index.titleWords, word, taskId);
+            post(index.allWords, word, taskId);
+        }
+        for (String word : TaskSearchQuery.tokenize(task.getDescription())) {
+            post(index.allWords, word, taskId);
+        }
+    }
+
+    void remove(Task task) {
+        UserIndex index = users.get(task.getAssignedUserId());
+        if (index == null) {
+            return;
+        }
+        int taskId = task.getTaskId();
+        for (String word : TaskSearchQuery.tokenize(task.getTitle())) {
+            unpost(index.titleWords, word, taskId);
+            unpost(index.allWords, word, taskId);
+        }
+        for (String word : TaskSearchQuery.tokenize(task.getDescription())) {
+            unpost(index.allWords, word, taskId);
+        }
+        if (index.allWords.isEmpty()) {
+            users.remove(task.getAssignedUserId());
+        }
+    }
+
+    /**
+     * @return true if both tasks index the same words for the same user
+     */
+    static boolean sameWords(Task a, Task b) {
+        return a.getAssignedUserId() == b.getAssignedUserId()
+                && Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+
+    /**
+     * Visits the user's tasks where every term prefixes a title word, by ascending taskId
+     * @param terms lower-cased query terms, at least one
+     * @param visitor gets each taskId, returns false to stop
+     */
+    void forEachTitleMatch(int userId, List<String> terms, IntPredicate visitor) {
+        UserIndex index = users.get(userId);
+        if (index != null) {
+            forEachMatch(index.titleWords, terms, visitor);
+        }
+    }
+
+    /**
+     * Visits the user's tasks where every term prefixes a title or description word, by ascending taskId
+     * @param terms lower-cased query terms, at least one
+     * @param visitor gets each taskId, returns false to stop
+     */
+    void forEachMatch(int userId, List<String> terms, IntPredicate visitor) {
+        UserIndex index = users.get(userId);
+        if (index != null) {
+            forEachMatch(index.allWords, terms, visitor);
+        }
+    }
+
+    /**
+     * Walks the rarest term's IDs in order and keeps those every other term also matches,
+     * so a search that only needs its first page stops early and never builds whole unions.
+     */
+    private static void forEachMatch(NavigableMap<String, SortedIntSet> words, List<String> terms, IntPredicate visitor) {
+        List<SortedIntSet[]> matches = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            SortedIntSet[] lists = withPrefix(words, term);
+            if (lists.length == 0) {
+                return;
+            }
+            matches.add(lists);
+        }
+        matches.sort(Comparator.comparingInt(TaskSearchIndex::totalSize));
+        SortedIntSet[] rarest = matches.get(0);
+        List<SortedIntSet[]> others = matches.subList(1, matches.size());
+        new Merge(rarest).forEach(taskId -> {
+            for (SortedIntSet[] other : others) {
+                if (!anyContains(other, taskId)) {
+                    return true;
+                }
+            }
+            return visitor.test(taskId);
+        });
+    }
+
+    /**
+     * @return posting lists of every word starting with prefix
+     */
+    private static SortedIntSet[] withPrefix(NavigableMap<String, SortedIntSet> words, String prefix) {
+        // words are letters and digits only, so every word with the prefix sorts below prefix + MAX_VALUE
+        Collection<SortedIntSet> lists = words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        return lists.toArray(new SortedIntSet[0]);
+    }
+
+    private static int totalSize(SortedIntSet[] lists) {
+        int total = 0;
+        for (SortedIntSet list : lists) {
+            total += list.size();
+        }
+        return total;
+    }
+
+    private static boolean anyContains(SortedIntSet[] lists, int taskId) {
+        for (SortedIntSet list : lists) {
+            if (list.contains(taskId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ascending walk over the union of sorted lists, each ID once
+     */
+    private static final class Merge {
+        private final SortedIntSet[] lists;
+        private final int[] positions;
+
+        Merge(SortedIntSet[] lists) {
+            this.lists = lists;
+            this.positions = new int[lists.length];
+        }
+
+        void forEach(IntPredicate action) {
+            if (lists.length == 1) {
+                SortedIntSet list = lists[0];
+                for (int i = 0; i < list.size(); i++) {
+                    if (!action.test(list.get(i))) {
+                        return;
+                    }
+                }
+                return;
+            }
+            // prefixes span a handful of words, so a linear pick of the smallest head is enough
+            while (true) {
+                int next = Integer.MAX_VALUE;
+                for (int l = 0; l < lists.length; l++) {
+                    if (positions[l] < lists[l].size()) {
+                        next = Math.min(next, lists[l].get(positions[l]));
+                    }
+                }
+                if (next == Integer.MAX_VALUE) {
+                    return;
+                }
+                for (int l = 0; l < lists.length; l++) {
+                    if (positions[l] < lists[l].size() && lists[l].get(positions[l]) == next) {
+                        positions[l]++;
+                    }
+                }
+                if (!action.test(next)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void post(NavigableMap<String, SortedIntSet> words, String word, int taskId) {
+        SortedIntSet ids = words.get(word);
+        if (ids == null) {
+            ids = new SortedIntSet();
+            words.put(word, ids);
+        }
+        ids.add(taskId);
+    }
+
+    private static void unpost(NavigableMap<String, SortedIntSet> words, String word, int taskId) {
+        SortedIntSet ids = words.get(word);
+        if (ids != null && ids.remove(taskId) && ids.isEmpty()) {
+            words.remove(word);
+        }
+    }
+
+    private static final class UserIndex {
+        final NavigableMap<String, SortedIntSet> titleWords = new TreeMap<>();
+        final NavigableMap<String, SortedIntSet> allWords = new TreeMap<>();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns free text typed by the user into FTS4 MATCH expressions.
+ * Every token becomes a prefix term, so "rep bug" matches "report" and "bugs".
+ */
+public final class TaskSearchQuery {
+
+    private TaskSearchQuery() {
+        // Static helpers only
+    }
+
+    /**
+     * Splits user input on anything that is not a letter or digit
+     * @param userQuery raw search text
+     * @return lower-cased tokens, empty if there is nothing searchable
+     */
+    public static List<String> tokenize(String userQuery) {
+        List<String> tokens = new ArrayList<>();
+        if (userQuery == null) {
+            return tokens;
+        }
+        // same tokens as splitting on [^\p{L}\p{N}]+, without the regex; the in-memory search
+        // index tokenizes every task it stores through here
+        String text = userQuery.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (isWordChar(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start));
+        }
+        return tokens;
+    }
+
+    private static boolean isWordChar(int codePoint) {
+        if (codePoint < 0x80) {
+            return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= '0' && codePoint <= '9')
+                    || (codePoint >= 'A' && codePoint <= 'Z');
+        }
+        switch (Character.getType(codePoint)) {
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+                return true;
+            default:
+                return Character.isLetter(codePoint);
+        }
+    }
+
+    /**
+     * Builds a MATCH expression where every token must prefix-match some indexed column
+     * @param userQuery raw search text
+     * @return MATCH expression, or null if the query has no searchable tokens
+     */
+    public static String matchAnyColumn(String userQuery) {
+        return buildMatch(userQuery, null);
+    }
+
+    /**
+     * Builds a MATCH expression restricted to the title column, used to rank title hits first
+     * @param userQuery raw search text
+     * @return MATCH expression, or null if the query has no searchable tokens
+     */
+    public static String matchTitle(String userQuery) {
+        return buildMatch(userQuery, "title");
+    }
+
+    private static String buildMatch(String userQuery, String column) {
+        List<String> tokens = tokenize(userQuery);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String token : tokens) {
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            if (column != null) {
+                match.append(column).append(':');
+            }
+            match.append(token).append('*');
+        }
+        return match.toString();
+    }
+}
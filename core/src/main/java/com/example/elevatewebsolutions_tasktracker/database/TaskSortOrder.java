@@ -0,0 +1,10 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+/**
+ * Order of the task list. Tasks are keyed by taskId, so creation order is the only
+ * order the keyset queries can page through without a sort step.
+ */
+public enum TaskSortOrder {
+    OLDEST_FIRST,
+    NEWEST_FIRST
+}
@@ -0,0 +1,127 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import androidx.annotation.Nullable;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Storage for tasks, between the repository and whatever holds the rows.
+ *
+ * <p>Every method is synchronous and may block, so callers run them on a background lane.
+ * Writes follow the Room DAO semantics: inserting a taskId that is already stored fails, and the
+ * column updates match no row when the value is already set. Pages and ranges are keyset
+ * queries on taskId, as used by {@link TaskSortOrder} lists.
+ */
+public interface TaskStore {
+
+    /**
+     * Told after a write changed tasks, or anything shown in their summaries
+     */
+    interface ChangeListener {
+        void onTasksChanged();
+    }
+
+    /**
+     * @param tasks tasks to insert; a taskId of 0 gets a new ID. A taskId that is already
+     *              stored fails the whole call, use {@link #updateTasks(List)} to change a task
+     * @return the task IDs, in the order of the input
+     */
+    List<Long> insertTasks(List<Task> tasks);
+
+    /**
+     * @param tasks tasks to update, matched by taskId
+     * @return number of rows updated
+     */
+    int updateTasks(List<Task> tasks);
+
+    /**
+     * @param tasks tasks to delete, matched by taskId
+     * @return number of rows deleted
+     */
+    int deleteTasks(List<Task> tasks);
+
+    /**
+     * @return number of rows deleted, 0 or 1
+     */
+    int deleteTaskById(int taskId);
+
+    /**
+     * @return a copy of the task, or null if there is none with that ID
+     */
+    @Nullable
+    Task getTask(int taskId);
+
+    /**
+     * Sets status and completion time together
+     * @return 1 if the status changed, 0 if it already had that status or the task does not exist
+     */
+    int updateStatus(int taskId, TaskStatus status, long completedAt);
+
+    /**
+     * @return 1 if the title changed, otherwise 0
+     */
+    int updateTitle(int taskId, String title);
+
+    /**
+     * @return 1 if the description changed, otherwise 0
+     */
+    int updateDescription(int taskId, String description);
+
+    /**
+     * @return 1 if the assignee changed, otherwise 0
+     */
+    int reassign(int taskId, int userId);
+
+    /**
+     * Keyset page of a user's tasks
+     * @param status status to keep, or null for every status
+     * @param afterTaskId last taskId of the previous page; 0 ascending or Integer.MAX_VALUE descending for the first
+     * @return up to {@code limit} summaries that come after {@code afterTaskId} in list order
+     */
+    List<TaskSummary> getTaskPage(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                  int afterTaskId, int limit);
+
+    /**
+     * Every summary after {@code afterTaskId}, up to and including {@code upToTaskId}, in list order
+     * @param status status to keep, or null for every status
+     */
+    List<TaskSummary> getTaskRange(int userId, @Nullable TaskStatus status, TaskSortOrder sortOrder,
+                                   int afterTaskId, int upToTaskId);
+
+    /**
+     * Full-text search of a user's tasks. Every word of the query must prefix-match a word of
+     * the title or description; tasks matching on the title alone come first, then by taskId.
+     * @param query text typed by the user
+     * @param status status to keep, or null for every status
+     * @return at most {@code limit} summaries, empty if the query has no searchable words
+     */
+    List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit);
+
+    /**
+     * Search that gives up once the caller no longer wants the result, e.g. because the user
+     * typed on. A store stops the running search when it is cancelled, as soon as it cheaply
+     * can; this default only checks before starting.
+     * @param cancellation cancelled once the result will be dropped
+     * @return the matches found, which may be incomplete if cancelled
+     */
+    default List<TaskSummary> searchTasks(int userId, String query, @Nullable TaskStatus status, int limit,
+                                          StoreCancellation cancellation) {
+        return cancellation.isCancelled() ? new ArrayList<>() : searchTasks(userId, query, status, limit);
+    }
+
+    /**
+     * Runs work atomically: other writers wait, and if it throws its writes are undone
+     * @return what the work returned
+     */
+    <T> T runInTransaction(Callable<T> work);
+
+    void addChangeListener(ChangeListener listener);
+
+    void removeChangeListener(ChangeListener listener);
+}
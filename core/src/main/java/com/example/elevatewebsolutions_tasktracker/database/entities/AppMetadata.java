@@ -0,0 +1,40 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+
+/**
+ * Key/value facts about the database itself, such as which seed version has been applied
+ */
+@Entity(tableName = Tables.METADATA_TABLE)
+public class AppMetadata {
+
+    @PrimaryKey
+    @NonNull
+    private String key;
+    private String value;
+
+    public AppMetadata(@NonNull String key, String value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @NonNull
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(@NonNull String key) {
+        this.key = key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
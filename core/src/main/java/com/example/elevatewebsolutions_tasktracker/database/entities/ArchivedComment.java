@@ -0,0 +1,81 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+
+/**
+ * A comment of an archived task. Same columns as {@link Comment}, keeping its original commentId.
+ */
+@Entity(tableName = Tables.ARCHIVED_COMMENT_TABLE,
+        foreignKeys = {
+                @ForeignKey(entity = ArchivedTask.class,
+                        parentColumns = "taskId",
+                        childColumns = "taskId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = User.class,
+                        parentColumns = "id",
+                        childColumns = "authorId",
+                        onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index(value = {"taskId", "timestamp"}), @Index(value = "authorId")})
+public class ArchivedComment {
+
+    @PrimaryKey
+    private int commentId;
+    private int taskId;
+    private int authorId;
+    private String text;
+    private long timestamp;
+
+    public ArchivedComment(int commentId, int taskId, int authorId, String text, long timestamp) {
+        this.commentId = commentId;
+        this.taskId = taskId;
+        this.authorId = authorId;
+        this.text = text;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public int getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(int commentId) {
+        this.commentId = commentId;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public int getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(int authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+
+import java.util.Objects;
+
+/**
+ * A completed task moved out of task_table by the archiver.
+ * Same columns as {@link Task}, keeping its original taskId, plus the time it was archived.
+ */
+@Entity(tableName = Tables.ARCHIVED_TASK_TABLE,
+        foreignKeys = @ForeignKey(entity = User.class,
+                parentColumns = "id",
+                childColumns = "assignedUserId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index(value = "assignedUserId")})
+public class ArchivedTask {
+
+    @PrimaryKey
+    private int taskId;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private int assignedUserId;
+    private long completedAt;
+    private long archivedAt;
+
+    public ArchivedTask(int taskId, String title, String description, TaskStatus status, int assignedUserId,
+                        long completedAt, long archivedAt) {
+        this.taskId = taskId;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.assignedUserId = assignedUserId;
+        this.completedAt = completedAt;
+        this.archivedAt = archivedAt;
+    }
+
+    // Getters and Setters
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public int getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public void setAssignedUserId(int assignedUserId) {
+        this.assignedUserId = assignedUserId;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public long getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(long archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedTask that = (ArchivedTask) o;
+        return taskId == that.taskId &&
+                assignedUserId == that.assignedUserId &&
+                completedAt == that.completedAt &&
+                archivedAt == that.archivedAt &&
+                Objects.equals(title, that.title) &&
+                Objects.equals(description, that.description) &&
+                Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, title, description, status, assignedUserId, completedAt, archivedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedTask{" +
+                "taskId=" + taskId +
+                ", title='" + title + '\'' +
+                ", status=" + status +
+                ", assignedUserId=" + assignedUserId +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+
+/**
+ * Full-text index over archived task titles and descriptions.
+ * External-content table: rows live in archived_task_table and Room keeps this index in sync with triggers.
+ */
+@Fts4(contentEntity = ArchivedTask.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = Tables.ARCHIVED_TASK_FTS_TABLE)
+public class ArchivedTaskFts {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowid;
+    private String title;
+    private String description;
+
+    public ArchivedTaskFts(String title, String description) {
+        this.title = title;
+        this.description = description;
+    }
+
+    public int getRowid() {
+        return rowid;
+    }
+
+    public void setRowid(int rowid) {
+        this.rowid = rowid;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -5,11 +5,10 @@ import androidx.room.ForeignKey;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 
 import java.util.Objects;
 
-@Entity(tableName = TaskManagerDatabase.COMMENT_TABLE,
+@Entity(tableName = Tables.COMMENT_TABLE,
         foreignKeys = {
                 @ForeignKey(entity = Task.class,
                         parentColumns = "taskId",
@@ -20,7 +19,7 @@ import java.util.Objects;
                         childColumns = "authorId",
                         onDelete = ForeignKey.CASCADE)
         },
-        indices = {@Index(value = "taskId"), @Index(value = "authorId")})
+        indices = {@Index(value = {"taskId", "timestamp"}), @Index(value = "authorId")})
 public class Comment {
 
     @PrimaryKey(autoGenerate = true)
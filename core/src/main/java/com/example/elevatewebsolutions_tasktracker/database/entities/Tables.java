@@ -0,0 +1,22 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+/**
+ * Table names of the task database. They live next to the entities, which name their tables
+ * with them, so the model compiles without the Android database classes.
+ * {@code TaskManagerDatabase} in the app re-exports them.
+ */
+public final class Tables {
+
+    private Tables() {
+        // Constants only
+    }
+
+    public static final String USER_TABLE = "user_table";
+    public static final String TASK_TABLE = "task_table";
+    public static final String COMMENT_TABLE = "comment_table";
+    public static final String TASK_FTS_TABLE = "task_fts";
+    public static final String METADATA_TABLE = "app_metadata";
+    public static final String ARCHIVED_TASK_TABLE = "archived_task_table";
+    public static final String ARCHIVED_COMMENT_TABLE = "archived_comment_table";
+    public static final String ARCHIVED_TASK_FTS_TABLE = "archived_task_fts";
+}
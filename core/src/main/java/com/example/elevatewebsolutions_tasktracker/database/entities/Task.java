@@ -1,30 +1,35 @@
 package com.example.elevatewebsolutions_tasktracker.database.entities;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.ForeignKey;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 
 import java.util.Objects;
 
-@Entity(tableName = TaskManagerDatabase.TASK_TABLE,
+@Entity(tableName = Tables.TASK_TABLE,
         foreignKeys = @ForeignKey(entity = User.class,
                 parentColumns = "id",
                 childColumns = "assignedUserId",
                 onDelete = ForeignKey.CASCADE),
-        indices = {@Index(value = "assignedUserId")})
+        indices = {@Index(value = "assignedUserId"),
+                @Index(value = {"assignedUserId", "status", "taskId"}),
+                @Index(value = {"status", "completedAt"})})
 public class Task {
 
     @PrimaryKey(autoGenerate = true)
     private int taskId;
     private String title;
     private String description;
-    private String status;
+    private TaskStatus status;
     private int assignedUserId;
+    // when the task was marked complete, 0 while it is open; drives archiving
+    @ColumnInfo(defaultValue = "0")
+    private long completedAt;
 
-    public Task(String title, String description, String status, int assignedUserId) {
+    public Task(String title, String description, TaskStatus status, int assignedUserId) {
         this.title = title;
         this.description = description;
         this.status = status;
@@ -56,11 +61,11 @@ public class Task {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
@@ -72,6 +77,14 @@ public class Task {
         this.assignedUserId = assignedUserId;
     }
 
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(long completedAt) {
+        this.completedAt = completedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -79,6 +92,7 @@ public class Task {
         Task task = (Task) o;
         return taskId == task.taskId &&
                 assignedUserId == task.assignedUserId &&
+                completedAt == task.completedAt &&
                 Objects.equals(title, task.title) &&
                 Objects.equals(description, task.description) &&
                 Objects.equals(status, task.status);
@@ -86,7 +100,7 @@ public class Task {
 
     @Override
     public int hashCode() {
-        return Objects.hash(taskId, title, description, status, assignedUserId);
+        return Objects.hash(taskId, title, description, status, assignedUserId, completedAt);
     }
 
     @Override
@@ -95,7 +109,7 @@ public class Task {
                 "taskId=" + taskId +
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 ", assignedUserId=" + assignedUserId +
                 '}';
     }
@@ -0,0 +1,89 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Workflow state of a task, stored as a small integer code.
+ *
+ * <p>Codes follow the order a task moves through, so "still open" is {@code status < COMPLETE}
+ * and can be answered as an integer range on the status indices. Codes are persisted:
+ * never renumber one, only append.
+ */
+public enum TaskStatus {
+    TO_DO(0, "To Do"),
+    IN_PROGRESS(1, "In Progress"),
+    COMPLETE(2, "Complete");
+
+    /**
+     * SQL CASE expression turning the old free-form status text in {@code column} into a code.
+     * Matches the labels and the legacy "open"/"closed" values, anything else becomes To Do.
+     * @param column column or expression holding the text
+     * @return expression usable in a SELECT list
+     */
+    public static String codeFromTextSql(String column) {
+        String text = "lower(trim(" + column + "))";
+        return "CASE"
+                + " WHEN " + text + " IN ('in progress', 'in_progress', 'doing') THEN " + IN_PROGRESS.code
+                + " WHEN " + text + " IN ('complete', 'completed', 'done', 'closed') THEN " + COMPLETE.code
+                + " ELSE " + TO_DO.code + " END";
+    }
+
+    private final int code;
+    private final String label;
+
+    TaskStatus(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Looks up a status by its stored code
+     * @param code value read from the status column
+     * @return the matching status, To Do for unknown codes
+     */
+    public static TaskStatus fromCode(int code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        return TO_DO;
+    }
+
+    /**
+     * Looks up a status by its display label, ignoring case and surrounding spaces
+     * @param label label such as "In Progress"
+     * @return the matching status, or null if the label names none (e.g. "All")
+     */
+    @Nullable
+    public static TaskStatus fromLabel(@Nullable String label) {
+        if (label == null) {
+            return null;
+        }
+        String clean = label.trim().toLowerCase(Locale.ROOT);
+        for (TaskStatus status : values()) {
+            if (status.label.toLowerCase(Locale.ROOT).equals(clean)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the display label, so spinners backed by this enum show readable text
+     */
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.elevatewebsolutions_tasktracker.database.entities;
+
+
+import java.util.Objects;
+
+/**
+ * List row for a task: everything the task list shows, without the full description.
+ * The preview is cut in SQL, so long descriptions never leave the database for a list query.
+ * Comment count and latest comment time come from the (taskId, timestamp) comment index,
+ * so no comment text is read either.
+ */
+public class TaskSummary {
+
+    // characters of the description kept for the list preview
+    public static final int PREVIEW_LENGTH = 120;
+
+    // Comment badge columns: correlated subqueries answered from the (taskId, timestamp)
+    // comment index alone, once per row of the page being read.
+    private static final String COMMENT_COUNT_FOR = "(SELECT COUNT(*) FROM " + Tables.COMMENT_TABLE + " c WHERE c.taskId = ";
+    private static final String LAST_COMMENT_FOR = "(SELECT IFNULL(MAX(c.timestamp), 0) FROM " + Tables.COMMENT_TABLE + " c WHERE c.taskId = ";
+
+    // select list for queries on task_table that return TaskSummary
+    public static final String COLUMNS = "taskId, title, status, assignedUserId, "
+            + "substr(description, 1, " + PREVIEW_LENGTH + ") AS descriptionPreview, "
+            + COMMENT_COUNT_FOR + Tables.TASK_TABLE + ".taskId) AS commentCount, "
+            + LAST_COMMENT_FOR + Tables.TASK_TABLE + ".taskId) AS lastCommentTimestamp";
+
+    // same select list for queries that alias task_table as t
+    public static final String COLUMNS_T = "t.taskId, t.title, t.status, t.assignedUserId, "
+            + "substr(t.description, 1, " + PREVIEW_LENGTH + ") AS descriptionPreview, "
+            + COMMENT_COUNT_FOR + "t.taskId) AS commentCount, "
+            + LAST_COMMENT_FOR + "t.taskId) AS lastCommentTimestamp";
+
+    // select list for archived_task_table aliased as t, counting archived comments
+    public static final String ARCHIVED_COLUMNS_T = "t.taskId, t.title, t.status, t.assignedUserId, "
+            + "substr(t.description, 1, " + PREVIEW_LENGTH + ") AS descriptionPreview, "
+            + "(SELECT COUNT(*) FROM " + Tables.ARCHIVED_COMMENT_TABLE + " c WHERE c.taskId = t.taskId) AS commentCount, "
+            + "(SELECT IFNULL(MAX(c.timestamp), 0) FROM " + Tables.ARCHIVED_COMMENT_TABLE + " c WHERE c.taskId = t.taskId) AS lastCommentTimestamp";
+
+    private final int taskId;
+    private final String title;
+    private final TaskStatus status;
+    private final int assignedUserId;
+    private final String descriptionPreview;
+    private final int commentCount;
+    private final long lastCommentTimestamp;
+
+    public TaskSummary(int taskId, String title, TaskStatus status, int assignedUserId, String descriptionPreview,
+                       int commentCount, long lastCommentTimestamp) {
+        this.taskId = taskId;
+        this.title = title;
+        this.status = status;
+        this.assignedUserId = assignedUserId;
+        this.descriptionPreview = descriptionPreview;
+        this.commentCount = commentCount;
+        this.lastCommentTimestamp = lastCommentTimestamp;
+    }
+
+    /**
+     * @param task full task row
+     * @return the summary a list query would return for this task, counting no comments
+     */
+    public static TaskSummary of(Task task) {
+        String description = task.getDescription();
+        String preview = description != null && description.length() > PREVIEW_LENGTH
+                ? description.substring(0, PREVIEW_LENGTH)
+                : description;
+        return new TaskSummary(task.getTaskId(), task.getTitle(), task.getStatus(), task.getAssignedUserId(), preview, 0, 0);
+    }
+
+    // Getters
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public int getAssignedUserId() {
+        return assignedUserId;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    /**
+     * @return time of the newest comment in milliseconds, or 0 if the task has no comments
+     */
+    public long getLastCommentTimestamp() {
+        return lastCommentTimestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskSummary that = (TaskSummary) o;
+        return taskId == that.taskId &&
+                assignedUserId == that.assignedUserId &&
+                commentCount == that.commentCount &&
+                lastCommentTimestamp == that.lastCommentTimestamp &&
+                Objects.equals(title, that.title) &&
+                Objects.equals(status, that.status) &&
+                Objects.equals(descriptionPreview, that.descriptionPreview);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, title, status, assignedUserId, descriptionPreview, commentCount, lastCommentTimestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSummary{" +
+                "taskId=" + taskId +
+                ", title='" + title + '\'' +
+                ", status=" + status +
+                ", assignedUserId=" + assignedUserId +
+                ", commentCount=" + commentCount +
+                '}';
+    }
+}
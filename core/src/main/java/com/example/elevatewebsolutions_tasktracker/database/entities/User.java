@@ -1,19 +1,24 @@
 package com.example.elevatewebsolutions_tasktracker.database.entities;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
 import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-import com.example.elevatewebsolutions_tasktracker.database.TaskManagerDatabase;
 import com.example.elevatewebsolutions_tasktracker.auth.models.UserRole;
 
 import java.util.Objects;
 
-@Entity(tableName = TaskManagerDatabase.USER_TABLE)
+@Entity(tableName = Tables.USER_TABLE,
+        indices = {@Index(value = "username", unique = true)})
 public class User {
 
     @PrimaryKey(autoGenerate = true)
     private int id;
+    // NOCASE collation: "Admin" and "admin" are the same account, and the unique index
+    // answers login lookups in either case
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
     private String username;
     private String password; // This will store the hashed password
     private String passwordSalt; // Salt for password hashing
@@ -0,0 +1,158 @@
+package com.example.elevatewebsolutions_tasktracker.adapter;
+
+import static org.junit.Assert.*;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * tests for the row changes worked out between two versions of one page, on the plain JVM
+ */
+public class TaskListUpdateTest {
+
+    private static TaskSummary row(int taskId, String title) {
+        return new TaskSummary(taskId, title, TaskStatus.TO_DO, 1, "", 0, 0);
+    }
+
+    @Test
+    public void forRun_reportsOnlyTheRowsThatChanged() {
+        List<TaskSummary> before = Arrays.asList(row(1, "a"), row(2, "b"), row(3, "c"), row(4, "d"), row(6, "f"));
+        List<TaskSummary> after = Arrays.asList(row(1, "a"), row(3, "c"), row(4, "D"), row(5, "e"), row(6, "f"));
+
+        // the run is everything after the first row
+        TaskListUpdate update = TaskListUpdate.forRun(before, after, 1,
+                before.subList(1, before.size()), after.subList(1, after.size()), false);
+
+        assertEquals(Arrays.asList("removed 1+1", "changed 2+1", "inserted 3+1"), changes(update));
+        assertTrue(update.appliesTo(before));
+        assertFalse("only the exact list instance", update.appliesTo(new ArrayList<>(before)));
+        assertSame(after, update.getTasks());
+    }
+
+    @Test
+    public void forRun_joinsAdjacentChangesIntoRanges() {
+        List<TaskSummary> appended = Arrays.asList(row(9, "i"), row(8, "h"), row(7, "g"));
+        TaskListUpdate append = TaskListUpdate.forRun(Collections.emptyList(), appended, 0,
+                Collections.emptyList(), appended, true);
+        assertEquals(Collections.singletonList("inserted 0+3"), changes(append));
+
+        TaskListUpdate clear = TaskListUpdate.forRun(appended, Collections.emptyList(), 0,
+                appended, Collections.emptyList(), true);
+        assertEquals(Collections.singletonList("removed 0+3"), changes(clear));
+
+        TaskListUpdate same = TaskListUpdate.forRun(appended, new ArrayList<>(appended), 0,
+                appended, new ArrayList<>(appended), true);
+        assertEquals(0, same.getChangeCount());
+    }
+
+    @Test
+    public void replacing_appliesToNoList() {
+        TaskListUpdate update = TaskListUpdate.replacing(Collections.singletonList(row(1, "a")));
+        assertFalse(update.appliesTo(Collections.emptyList()));
+        assertEquals(0, update.getChangeCount());
+    }
+
+    @Test
+    public void dispatchedChanges_turnTheOldListIntoTheNewOne() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            boolean descending = random.nextBoolean();
+            List<TaskSummary> before = randomRows(random, descending);
+            List<TaskSummary> after = randomRows(random, descending);
+            int head = random.nextInt(3);
+            List<TaskSummary> prefix = new ArrayList<>();
+            for (int i = 0; i < head; i++) {
+                prefix.add(row(descending ? 1000 - i : -i, "head"));
+            }
+            List<TaskSummary> previous = concat(prefix, before);
+            List<TaskSummary> tasks = concat(prefix, after);
+
+            TaskListUpdate update = TaskListUpdate.forRun(previous, tasks, head, before, after, descending);
+
+            assertEquals("round " + round, render(tasks), render(apply(previous, update)));
+        }
+    }
+
+    /**
+     * Replays the changes the way RecyclerView does, copying changed and inserted rows from the new list
+     */
+    private static List<TaskSummary> apply(List<TaskSummary> previous, TaskListUpdate update) {
+        List<TaskSummary> shown = new ArrayList<>(previous);
+        List<TaskSummary> tasks = update.getTasks();
+        update.dispatchTo(new TaskListUpdate.Callback() {
+            @Override
+            public void onInserted(int position, int count) {
+                shown.addAll(position, tasks.subList(position, position + count));
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                shown.subList(position, position + count).clear();
+            }
+
+            @Override
+            public void onChanged(int position, int count) {
+                for (int i = position; i < position + count; i++) {
+                    shown.set(i, tasks.get(i));
+                }
+            }
+        });
+        return shown;
+    }
+
+    private static List<TaskSummary> randomRows(Random random, boolean descending) {
+        List<TaskSummary> rows = new ArrayList<>();
+        for (int id = 1; id <= 12; id++) {
+            if (random.nextInt(3) > 0) {
+                rows.add(row(id, random.nextBoolean() ? "x" : "y"));
+            }
+        }
+        if (descending) {
+            Collections.reverse(rows);
+        }
+        return rows;
+    }
+
+    private static List<TaskSummary> concat(List<TaskSummary> first, List<TaskSummary> second) {
+        List<TaskSummary> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    private static List<String> render(List<TaskSummary> rows) {
+        List<String> rendered = new ArrayList<>();
+        for (TaskSummary row : rows) {
+            rendered.add(row.getTaskId() + ":" + row.getTitle());
+        }
+        return rendered;
+    }
+
+    private static List<String> changes(TaskListUpdate update) {
+        List<String> changes = new ArrayList<>();
+        update.dispatchTo(new TaskListUpdate.Callback() {
+            @Override
+            public void onInserted(int position, int count) {
+                changes.add("inserted " + position + "+" + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                changes.add("removed " + position + "+" + count);
+            }
+
+            @Override
+            public void onChanged(int position, int count) {
+                changes.add("changed " + position + "+" + count);
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.elevatewebsolutions_tasktracker.auth.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * tests for password hashing and scoring, on the plain JVM
+ */
+public class PasswordUtilsTest {
+
+    @Test
+    public void hashPassword_isDeterministicPerSalt() {
+        String salt = PasswordUtils.generateSalt();
+        assertEquals(PasswordUtils.hashPassword("secret1", salt), PasswordUtils.hashPassword("secret1", salt));
+        assertNotEquals(PasswordUtils.hashPassword("secret1", salt),
+                PasswordUtils.hashPassword("secret1", PasswordUtils.generateSalt()));
+    }
+
+    @Test
+    public void verifyPassword_acceptsOnlyTheOriginal() {
+        String[] hashAndSalt = PasswordUtils.hashPasswordWithNewSalt("correct horse");
+        assertTrue(PasswordUtils.verifyPassword("correct horse", hashAndSalt[0], hashAndSalt[1]));
+        assertFalse(PasswordUtils.verifyPassword("correct horsf", hashAndSalt[0], hashAndSalt[1]));
+        assertFalse(PasswordUtils.verifyPassword(null, hashAndSalt[0], hashAndSalt[1]));
+        assertFalse(PasswordUtils.verifyPassword("correct horse", "short", hashAndSalt[1]));
+    }
+
+    @Test
+    public void getPasswordStrength_scoresLengthAndVariety() {
+        assertEquals(0, PasswordUtils.getPasswordStrength(""));
+        assertEquals(10, PasswordUtils.getPasswordStrength("abc"));
+        assertEquals(35, PasswordUtils.getPasswordStrength("abcdefgh"));
+        assertEquals(100, PasswordUtils.getPasswordStrength("Abcdefgh1234!"));
+    }
+
+    @Test
+    public void isValidUsername_allowsWordCharactersOnly() {
+        assertTrue(PasswordUtils.isValidUsername("janaye_j"));
+        assertFalse(PasswordUtils.isValidUsername("jj"));
+        assertFalse(PasswordUtils.isValidUsername("jan aye"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.elevatewebsolutions_tasktracker.auth.validation;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * tests for login and account input validation, on the plain JVM
+ */
+public class InputValidatorTest {
+
+    @Test
+    public void validateUsername_reportsEachProblem() {
+        assertTrue(InputValidator.validateUsername("  admin_1 ").isValid());
+        assertEquals("Username cannot be empty", InputValidator.validateUsername(" ").getFirstError());
+        InputValidator.ValidationResult shortAndBad = InputValidator.validateUsername("a!");
+        assertFalse(shortAndBad.isValid());
+        assertEquals(2, shortAndBad.getErrors().size());
+    }
+
+    @Test
+    public void validatePassword_checksLengthBounds() {
+        assertTrue(InputValidator.validatePassword("123456").isValid());
+        assertFalse(InputValidator.validatePassword("12345").isValid());
+        assertFalse(InputValidator.validatePassword(new String(new char[129]).replace('\0', 'x')).isValid());
+    }
+
+    @Test
+    public void validateLoginRequest_collectsBothFields() {
+        InputValidator.ValidationResult result = InputValidator.validateLoginRequest("", "");
+        assertEquals(2, result.getErrors().size());
+    }
+
+    @Test
+    public void validateEmail_matchesTheAndroidPattern() {
+        assertTrue(InputValidator.validateEmail("first.last+tag@mail.example.com").isValid());
+        assertFalse(InputValidator.validateEmail("no-at-sign.example.com").isValid());
+        assertFalse(InputValidator.validateEmail("two@@example.com").isValid());
+        assertFalse(InputValidator.validateEmail("nodot@example").isValid());
+    }
+
+    @Test
+    public void sanitizeInput_dropsControlCharacters() {
+        assertEquals("ab\tc", InputValidator.sanitizeInput(" a\u0000b\tc\u007f "));
+        assertNull(InputValidator.sanitizeInput(null));
+    }
+}
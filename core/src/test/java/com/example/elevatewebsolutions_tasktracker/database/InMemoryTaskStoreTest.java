@@ -0,0 +1,309 @@
+package com.example.elevatewebsolutions_tasktracker.database;
+
+import static org.junit.Assert.*;
+
+import com.example.elevatewebsolutions_tasktracker.database.entities.Task;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskStatus;
+import com.example.elevatewebsolutions_tasktracker.database.entities.TaskSummary;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * tests for the in-memory task store, on the plain JVM
+ */
+public class InMemoryTaskStoreTest {
+
+    private final InMemoryTaskStore store = new InMemoryTaskStore();
+
+    private static Task task(String title, String description, TaskStatus status, int userId) {
+        return new Task(title, description, status, userId);
+    }
+
+    private static List<Integer> ids(List<TaskSummary> summaries) {
+        List<Integer> ids = new ArrayList<>();
+        for (TaskSummary summary : summaries) {
+            ids.add(summary.getTaskId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void insert_assignsSequentialIdsAndRejectsExistingOnes() {
+        List<Long> ids = store.insertTasks(Arrays.asList(
+                task("One", "", TaskStatus.TO_DO, 1), task("Two", "", TaskStatus.TO_DO, 1)));
+        assertEquals(Arrays.asList(1L, 2L), ids);
+
+        Task replacement = task("Two again", "", TaskStatus.COMPLETE, 2);
+        replacement.setTaskId(2);
+        try {
+            store.insertTasks(Arrays.asList(task("Three", "", TaskStatus.TO_DO, 1), replacement));
+            fail("taskId 2 is already stored");
+        } catch (IllegalArgumentException expected) {
+            // the whole call is rolled back
+        }
+        assertEquals(2, store.getTaskCount());
+        assertEquals("Two", store.getTask(2).getTitle());
+        assertEquals(Collections.singletonList(3L), store.insertTasks(Collections.singletonList(task("Three", "", TaskStatus.TO_DO, 1))));
+    }
+
+    @Test
+    public void storedTasks_areCopies() {
+        Task original = task("Draft", "", TaskStatus.TO_DO, 1);
+        store.insertTasks(Collections.singletonList(original));
+        original.setTitle("edited after insert");
+        store.getTask(1).setTitle("edited after read");
+
+        assertEquals("Draft", store.getTask(1).getTitle());
+        assertEquals("the caller's object keeps taskId 0", 0, original.getTaskId());
+    }
+
+    @Test
+    public void columnUpdates_matchNothingWhenUnchanged() {
+        store.insertTasks(Collections.singletonList(task("Plan", "first", TaskStatus.TO_DO, 1)));
+
+        assertEquals(1, store.updateStatus(1, TaskStatus.COMPLETE, 42));
+        assertEquals(0, store.updateStatus(1, TaskStatus.COMPLETE, 99));
+        assertEquals(42, store.getTask(1).getCompletedAt());
+        assertEquals(1, store.updateTitle(1, "Plan B"));
+        assertEquals(0, store.updateTitle(1, "Plan B"));
+        assertEquals(1, store.updateDescription(1, null));
+        assertEquals(0, store.updateDescription(1, null));
+        assertEquals(1, store.reassign(1, 7));
+        assertEquals(0, store.reassign(1, 7));
+        assertEquals(0, store.updateTitle(99, "missing"));
+
+        assertEquals(Collections.singletonList(1), ids(store.getTaskPage(7, null, TaskSortOrder.OLDEST_FIRST, 0, 10)));
+        assertTrue(store.getTaskPage(1, null, TaskSortOrder.OLDEST_FIRST, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void pagesAndRanges_walkEitherDirectionWithTheStatusFilter() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(task("Task " + i, "", i % 2 == 0 ? TaskStatus.COMPLETE : TaskStatus.TO_DO, i <= 8 ? 1 : 2));
+        }
+        store.insertTasks(tasks);
+
+        assertEquals(Arrays.asList(1, 2, 3), ids(store.getTaskPage(1, null, TaskSortOrder.OLDEST_FIRST, 0, 3)));
+        assertEquals(Arrays.asList(4, 5, 6), ids(store.getTaskPage(1, null, TaskSortOrder.OLDEST_FIRST, 3, 3)));
+        assertEquals(Arrays.asList(8, 7, 6), ids(store.getTaskPage(1, null, TaskSortOrder.NEWEST_FIRST, Integer.MAX_VALUE, 3)));
+        assertEquals(Arrays.asList(4, 2), ids(store.getTaskPage(1, TaskStatus.COMPLETE, TaskSortOrder.NEWEST_FIRST, 6, 10)));
+
+        assertEquals(Arrays.asList(3, 4, 5), ids(store.getTaskRange(1, null, TaskSortOrder.OLDEST_FIRST, 2, 5)));
+        assertEquals(Arrays.asList(5, 4, 3), ids(store.getTaskRange(1, null, TaskSortOrder.NEWEST_FIRST, 6, 3)));
+        assertEquals(Arrays.asList(3, 5), ids(store.getTaskRange(1, TaskStatus.TO_DO, TaskSortOrder.OLDEST_FIRST, 2, 6)));
+        assertTrue(store.getTaskPage(3, null, TaskSortOrder.OLDEST_FIRST, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void search_needsEveryWordAndRanksTitleHitsFirst() {
+        store.insertTasks(Arrays.asList(
+                task("Weekly sync", "prepare the quarterly report", TaskStatus.TO_DO, 1),
+                task("Quarterly report", "", TaskStatus.TO_DO, 1),
+                task("Report bugs", "from the beta", TaskStatus.COMPLETE, 1),
+                task("Quarterly report", "someone else's", TaskStatus.TO_DO, 2)));
+
+        assertEquals(Arrays.asList(2, 1), ids(store.searchTasks(1, "quart REP", null, 10)));
+        assertEquals(Arrays.asList(2, 3, 1), ids(store.searchTasks(1, "rep", null, 10)));
+        assertEquals(Collections.singletonList(3), ids(store.searchTasks(1, "rep", TaskStatus.COMPLETE, 10)));
+        assertEquals(Arrays.asList(2, 3), ids(store.searchTasks(1, "rep", null, 2)));
+        assertTrue("words must start with the term", store.searchTasks(1, "port", null, 10).isEmpty());
+        assertTrue(store.searchTasks(1, " ,. ", null, 10).isEmpty());
+    }
+
+    @Test
+    public void search_stopsOnceCancelled() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(task("Report " + i, "", TaskStatus.TO_DO, 1));
+        }
+        store.insertTasks(tasks);
+        StoreCancellation cancelledAfterThreeChecks = new StoreCancellation() {
+            private int checks;
+
+            @Override
+            public boolean isCancelled() {
+                return ++checks > 3;
+            }
+        };
+        StoreCancellation cancelled = new StoreCancellation();
+        cancelled.cancel();
+
+        List<TaskSummary> hits = store.searchTasks(1, "rep", null, 10, cancelledAfterThreeChecks);
+
+        assertEquals("gives up at the check that says cancelled", Arrays.asList(1, 2, 3, 4), ids(hits));
+        assertTrue(store.searchTasks(1, "rep", null, 10, cancelled).size() <= 1);
+        assertEquals(10, store.searchTasks(1, "rep", null, 10, new StoreCancellation()).size());
+    }
+
+    @Test
+    public void search_matchesAWordByWordScanThroughRandomEdits() {
+        String[] vocabulary = {"report", "reports", "review", "deploy", "budget", "Plan", "planning", "q3", "\u00e9t\u00e9"};
+        Random random = new Random(7);
+        for (int round = 0; round < 400; round++) {
+            int taskId = 1 + random.nextInt(60);
+            switch (random.nextInt(4)) {
+                case 0:
+                    store.deleteTaskById(taskId);
+                    break;
+                case 1:
+                    store.reassign(taskId, 1 + random.nextInt(3));
+                    break;
+                case 2:
+                    store.updateDescription(taskId, randomText(random, vocabulary));
+                    break;
+                default:
+                    Task task = task(randomText(random, vocabulary), randomText(random, vocabulary),
+                            TaskStatus.values()[random.nextInt(3)], 1 + random.nextInt(3));
+                    task.setTaskId(taskId);
+                    if (store.getTask(taskId) != null) {
+                        store.updateTasks(Collections.singletonList(task));
+                    } else {
+                        store.insertTasks(Collections.singletonList(task));
+                    }
+            }
+            if (round % 50 == 0) {
+                try {
+                    store.runInTransaction(() -> {
+                        store.updateTitle(taskId, "rolled back");
+                        throw new IllegalStateException("undo");
+                    });
+                } catch (IllegalStateException expected) {
+                    // the index must be rolled back too
+                }
+            }
+        }
+
+        String[] queries = {"r", "re", "rep", "report", "reports", "rev", "plan", "PLAN re", "q", "q3 b", "\u00c9T", "rolled", "zzz", "re de bu"};
+        for (int userId = 1; userId <= 3; userId++) {
+            for (String query : queries) {
+                for (TaskStatus status : new TaskStatus[]{null, TaskStatus.COMPLETE}) {
+                    assertEquals(query + " for user " + userId, scan(userId, query, status, 20),
+                            ids(store.searchTasks(userId, query, status, 20)));
+                }
+            }
+        }
+    }
+
+    private static String randomText(Random random, String[] vocabulary) {
+        StringBuilder text = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)]).append(i % 2 == 0 ? " " : ", ");
+        }
+        return text.toString();
+    }
+
+    /**
+     * the search contract checked the slow way, tokenizing every task
+     */
+    private List<Integer> scan(int userId, String query, TaskStatus status, int limit) {
+        List<String> terms = TaskSearchQuery.tokenize(query);
+        List<Integer> titleHits = new ArrayList<>();
+        List<Integer> otherHits = new ArrayList<>();
+        for (TaskSummary summary : store.getTaskPage(userId, status, TaskSortOrder.OLDEST_FIRST, 0, Integer.MAX_VALUE)) {
+            Task task = store.getTask(summary.getTaskId());
+            List<String> titleWords = TaskSearchQuery.tokenize(task.getTitle());
+            List<String> allWords = new ArrayList<>(titleWords);
+            allWords.addAll(TaskSearchQuery.tokenize(task.getDescription()));
+            if (everyTermPrefixes(terms, titleWords)) {
+                titleHits.add(task.getTaskId());
+            } else if (everyTermPrefixes(terms, allWords)) {
+                otherHits.add(task.getTaskId());
+            }
+        }
+        titleHits.addAll(otherHits);
+        return titleHits.subList(0, Math.min(limit, titleHits.size()));
+    }
+
+    private static boolean everyTermPrefixes(List<String> terms, List<String> words) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : words) {
+                found |= word.startsWith(term);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void failedTransaction_undoesItsWrites() {
+        store.insertTasks(Collections.singletonList(task("Keep", "", TaskStatus.TO_DO, 1)));
+        try {
+            store.runInTransaction(() -> {
+                store.updateTitle(1, "Changed");
+                store.insertTasks(Collections.singletonList(task("Added", "", TaskStatus.TO_DO, 1)));
+                store.deleteTaskById(1);
+                throw new IllegalStateException("boom");
+            });
+            fail("expected the exception to propagate");
+        } catch (IllegalStateException expected) {
+            // rolled back
+        }
+
+        assertEquals(1, store.getTaskCount());
+        assertEquals("Keep", store.getTask(1).getTitle());
+        assertEquals("IDs are handed out again", Collections.singletonList(2L),
+                store.insertTasks(Collections.singletonList(task("Next", "", TaskStatus.TO_DO, 1))));
+    }
+
+    @Test
+    public void listeners_hearOncePerOutermostWrite() {
+        AtomicInteger calls = new AtomicInteger();
+        TaskStore.ChangeListener listener = calls::incrementAndGet;
+        store.addChangeListener(listener);
+
+        store.runInTransaction(() -> store.insertTasks(Arrays.asList(
+                task("A", "", TaskStatus.TO_DO, 1), task("B", "", TaskStatus.TO_DO, 1))).size()
+                + store.updateTitle(1, "A2"));
+        assertEquals(1, calls.get());
+
+        store.updateTitle(1, "A2");
+        assertEquals("a no-op write is not a change", 1, calls.get());
+
+        store.removeChangeListener(listener);
+        store.deleteTaskById(1);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void heavyChurn_keepsEveryLookupConsistent() {
+        int count = 5_000;
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(task("Task " + i, "", TaskStatus.TO_DO, i % 7));
+        }
+        store.insertTasks(tasks);
+        for (int taskId = 1; taskId <= count; taskId += 3) {
+            assertEquals(1, store.deleteTaskById(taskId));
+        }
+        for (int taskId = 2; taskId <= count; taskId += 3) {
+            store.reassign(taskId, 100);
+        }
+
+        int seen = 0;
+        for (int userId = 0; userId <= 100; userId++) {
+            int after = 0;
+            for (List<TaskSummary> page; !(page = store.getTaskPage(userId, null, TaskSortOrder.OLDEST_FIRST, after, 50)).isEmpty(); ) {
+                for (TaskSummary summary : page) {
+                    assertTrue(summary.getTaskId() > after);
+                    assertNotEquals(1, summary.getTaskId() % 3);
+                    assertEquals(userId, store.getTask(summary.getTaskId()).getAssignedUserId());
+                    after = summary.getTaskId();
+                    seen++;
+                }
+            }
+        }
+        assertEquals(store.getTaskCount(), seen);
+        assertEquals(count - (count + 2) / 3, seen);
+    }
+}